@@ -0,0 +1,39 @@
+package com.trustwallet.benchmarks;
+
+import com.trustwallet.utils.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of configuration lookups, which happen on every driver setup and in every wait.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+public class ConfigBenchmark {
+
+    @Benchmark
+    public String getProperty() {
+        return ConfigManager.getInstance().getProperty("explicit.wait");
+    }
+
+    @Benchmark
+    public Duration getDurationProperty() {
+        return ConfigManager.getInstance().getDurationProperty("wait.poll.max", Duration.ofMillis(500));
+    }
+
+    @Benchmark
+    public String forEnvironment() {
+        return ConfigManager.getInstance().forEnvironment("dev").getString("app.package");
+    }
+}
@@ -0,0 +1,54 @@
+package com.trustwallet.benchmarks;
+
+import com.trustwallet.utils.ElementUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and sending gestures through {@link ElementUtils}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Thread)
+public class GestureBenchmark {
+    private static final By NEXT_BUTTON = By.id("com.wallet.crypto.trustapp:id/next_button");
+    private static final By SEED_WORD = By.id("com.wallet.crypto.trustapp:id/seed_word");
+    private static final By WORD_OPTION = By.id("com.wallet.crypto.trustapp:id/word_option");
+
+    private ElementUtils elementUtils;
+
+    @Setup(Level.Trial)
+    public void setUp(StubDriverState state) {
+        elementUtils = new ElementUtils(state.driver);
+    }
+
+    @Benchmark
+    public void tap() {
+        elementUtils.tap(NEXT_BUTTON);
+    }
+
+    @Benchmark
+    public void swipeUp() {
+        elementUtils.swipeUp();
+    }
+
+    @Benchmark
+    public void swipeFromElementToElement() {
+        elementUtils.swipeFromElementToElement(SEED_WORD, WORD_OPTION);
+    }
+}
@@ -0,0 +1,29 @@
+package com.trustwallet.benchmarks;
+
+import com.trustwallet.pages.CreateWalletPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of constructing a page object. Locators are generated at compile time, so this stays flat
+ * as pages gain fields; it used to be dominated by PageFactory proxy creation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+public class PageBenchmark {
+
+    @Benchmark
+    public CreateWalletPage createWalletPage(StubDriverState state) {
+        return new CreateWalletPage(state.driver);
+    }
+}
@@ -0,0 +1,59 @@
+package com.trustwallet.benchmarks;
+
+import com.trustwallet.utils.ScreenshotUtils;
+import com.trustwallet.utils.ScreenshotWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of handling a full-resolution screenshot once the device has returned it: base64 decoding,
+ * downscaling and writing to the screenshot directory and Allure results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Thread)
+public class ScreenshotBenchmark {
+    private ScreenshotUtils screenshotUtils;
+
+    @Setup(Level.Trial)
+    public void setUp(StubDriverState state) {
+        screenshotUtils = new ScreenshotUtils(state.driver);
+    }
+
+    @Benchmark
+    public byte[] captureAsBytes() {
+        return screenshotUtils.captureScreenshotAsBytes();
+    }
+
+    /**
+     * Time the test thread spends handing a failure screenshot to the writer.
+     */
+    @Benchmark
+    public String captureToFile() {
+        return screenshotUtils.captureScreenshotOnFailure("benchmark");
+    }
+
+    /**
+     * End-to-end cost including the background decode, downscale and write.
+     */
+    @Benchmark
+    public boolean captureToFileAndWrite() {
+        screenshotUtils.captureScreenshotOnFailure("benchmark");
+        return ScreenshotWriter.getInstance().awaitIdle(Duration.ofSeconds(10));
+    }
+}
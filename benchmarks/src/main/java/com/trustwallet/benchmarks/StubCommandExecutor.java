@@ -0,0 +1,119 @@
+package com.trustwallet.benchmarks;
+
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command executor that answers every command in-process with canned values,
+ * so benchmarks measure only the framework and client library, never the network or a device.
+ */
+public class StubCommandExecutor extends AppiumCommandExecutor {
+    private static final SessionId SESSION_ID = new SessionId("stub-session");
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 2340;
+
+    private final String screenshotBase64 = Base64.getEncoder().encodeToString(renderScreenshot());
+
+    /**
+     * Constructor for StubCommandExecutor.
+     */
+    public StubCommandExecutor() {
+        super(MobileCommand.commandRepository, localUrl());
+    }
+
+    @Override
+    public Response execute(Command command) {
+        Response response = new Response(SESSION_ID);
+        response.setStatus(ErrorCodes.SUCCESS);
+        response.setState("success");
+        response.setValue(valueFor(command));
+        return response;
+    }
+
+    private Object valueFor(Command command) {
+        switch (command.getName()) {
+            case DriverCommand.NEW_SESSION:
+                Map<String, Object> capabilities = new HashMap<>();
+                capabilities.put("platformName", "Android");
+                capabilities.put("automationName", "UiAutomator2");
+                return capabilities;
+            case DriverCommand.FIND_ELEMENT:
+            case DriverCommand.FIND_CHILD_ELEMENT:
+                return element("1");
+            case DriverCommand.FIND_ELEMENTS:
+            case DriverCommand.FIND_CHILD_ELEMENTS:
+                List<Object> elements = Arrays.asList(element("1"), element("2"));
+                return elements;
+            case DriverCommand.IS_ELEMENT_DISPLAYED:
+            case DriverCommand.IS_ELEMENT_ENABLED:
+                return Boolean.TRUE;
+            case DriverCommand.GET_ELEMENT_TEXT:
+                return "abandon";
+            case DriverCommand.GET_ELEMENT_LOCATION:
+            case DriverCommand.GET_ELEMENT_SIZE:
+            case DriverCommand.GET_ELEMENT_RECT:
+                Map<String, Object> rect = new HashMap<>();
+                rect.put("x", 40);
+                rect.put("y", 300);
+                rect.put("width", 480);
+                rect.put("height", 100);
+                return rect;
+            case DriverCommand.GET_CURRENT_WINDOW_SIZE:
+                Map<String, Object> size = new HashMap<>();
+                size.put("width", SCREEN_WIDTH);
+                size.put("height", SCREEN_HEIGHT);
+                return size;
+            case DriverCommand.SCREENSHOT:
+                return screenshotBase64;
+            default:
+                return null;
+        }
+    }
+
+    private static Map<String, Object> element(String id) {
+        return Collections.singletonMap(ELEMENT_KEY, id);
+    }
+
+    private static byte[] renderScreenshot() {
+        BufferedImage image = new BufferedImage(SCREEN_WIDTH, SCREEN_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < SCREEN_HEIGHT; y++) {
+            for (int x = 0; x < SCREEN_WIDTH; x++) {
+                image.setRGB(x, y, (x * 255 / SCREEN_WIDTH) << 16 | (y * 255 / SCREEN_HEIGHT) << 8 | (x ^ y) & 0xFF);
+            }
+        }
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static URL localUrl() {
+        try {
+            return new URL("http://127.0.0.1:4723/wd/hub");
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
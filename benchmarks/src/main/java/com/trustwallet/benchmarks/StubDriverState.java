@@ -0,0 +1,45 @@
+package com.trustwallet.benchmarks;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import io.appium.java_client.android.AndroidDriver;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark state holding an Android driver backed by a {@link StubCommandExecutor}.
+ * Screenshots are redirected to a temporary directory that is removed after the trial.
+ */
+@State(Scope.Thread)
+public class StubDriverState {
+    AppiumDriver<MobileElement> driver;
+    Path screenshotDir;
+
+    @Setup
+    public void setUp() throws IOException {
+        screenshotDir = Files.createTempDirectory("benchmark-screenshots");
+        // Set before the first ConfigManager call so the default configuration picks it up
+        System.setProperty("screenshot.path", screenshotDir.toString() + "/");
+
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        driver = new AndroidDriver<>(new StubCommandExecutor(), capabilities);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        driver.quit();
+        try (Stream<Path> files = Files.walk(screenshotDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.trustwallet.benchmarks;
+
+import com.trustwallet.utils.Presence;
+import com.trustwallet.utils.WaitUtils;
+import io.appium.java_client.MobileElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of a wait whose condition is met on the first poll, i.e. pure framework overhead
+ * (call site lookup, statistics, condition evaluation) on top of the driver commands.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+@State(Scope.Thread)
+public class WaitBenchmark {
+    private static final By NEXT_BUTTON = By.id("com.wallet.crypto.trustapp:id/next_button");
+    private static final By TERMS_TEXT = By.xpath("//*[@text='Terms of Service']");
+
+    private WaitUtils waitUtils;
+    private Presence presence;
+
+    @Setup(Level.Trial)
+    public void setUp(StubDriverState state) {
+        waitUtils = new WaitUtils(state.driver);
+        presence = new Presence(state.driver);
+    }
+
+    @Benchmark
+    public MobileElement waitForVisible() {
+        return waitUtils.waitForElementToBeVisible(TERMS_TEXT);
+    }
+
+    @Benchmark
+    public MobileElement waitForClickableById() {
+        return waitUtils.waitForElementToBeClickable(NEXT_BUTTON);
+    }
+
+    @Benchmark
+    public boolean presenceIsDisplayed() {
+        return presence.isDisplayed(NEXT_BUTTON);
+    }
+}
@@ -4,10 +4,12 @@
 usage() {
     echo "Usage: $0 [options]"
     echo "Options:"
-    echo "  -m, --mode <local|browserstack>  Test mode (default: local)"
+    echo "  -m, --mode <local|browserstack|simulator>  Test mode (default: local); simulator needs no Appium server or device"
     echo "  -d, --device <device_name>       Device name for local testing"
     echo "  -v, --version <platform_version> Platform version for local testing"
-    echo "  -u, --udid <device_udid>         Device UDID for local testing"
+    echo "  -u, --udid <device_udid>[,...]   Device UDID(s) for local testing; several UDIDs shard the suite"
+    echo "  -s, --shard <index>/<count>      Run one of <count> balanced shards of the suite, e.g. 0/4"
+    echo "  -c, --changed-since <revision>   Run only the tests affected by changes since <revision>, e.g. origin/main"
     echo "  -h, --help                       Display this help message"
     exit 1
 }
@@ -17,6 +19,8 @@ MODE="local"
 DEVICE_NAME="Android Device"
 PLATFORM_VERSION="11.0"
 UDID=""
+SHARD_ARGS=""
+IMPACT_ARGS=""
 
 # Parse command line arguments
 while [[ $# -gt 0 ]]; do
@@ -42,6 +46,16 @@ while [[ $# -gt 0 ]]; do
             shift
             shift
             ;;
+        -s|--shard)
+            SHARD_ARGS="-Dshard.index=${2%/*} -Dshard.count=${2#*/}"
+            shift
+            shift
+            ;;
+        -c|--changed-since)
+            IMPACT_ARGS="-Dimpact.base=$2"
+            shift
+            shift
+            ;;
         -h|--help)
             usage
             ;;
@@ -59,7 +73,7 @@ update_config() {
 
 # Update testng.xml
 update_testng() {
-    if [ "$MODE" = "local" ]; then
+    if [ "$MODE" = "local" ] || [ "$MODE" = "simulator" ]; then
         sed -i '' 's/Create Wallet Test - Local" enabled="false"/Create Wallet Test - Local" enabled="true"/' testng.xml
         sed -i '' 's/Create Wallet Test - BrowserStack" enabled="true"/Create Wallet Test - BrowserStack" enabled="false"/' testng.xml
     else
@@ -154,9 +168,9 @@ run_tests() {
         ANDROID_HOME=~/Library/Android/sdk \
         ANDROID_SDK_ROOT=~/Library/Android/sdk \
         PATH=$PATH:$ANDROID_HOME/cmdline-tools/latest/bin:$ANDROID_HOME/platform-tools \
-        mvn clean test -DdeviceName="$DEVICE_NAME" -DplatformVersion="$PLATFORM_VERSION" -Dudid="$UDID"
+        mvn clean test -Ddevice.name="$DEVICE_NAME" -Ddevice.version="$PLATFORM_VERSION" -Ddevices="$UDID" $SHARD_ARGS $IMPACT_ARGS
     else
-        mvn clean test
+        mvn clean test $SHARD_ARGS $IMPACT_ARGS
     fi
 }
 
@@ -0,0 +1,253 @@
+package com.trustwallet.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Page>Locators} class for every page object with {@code @AndroidFindBy} or
+ * {@code @iOSXCUITFindBy} fields, so pages use plain {@code By} constants instead of the reflective
+ * proxies of PageFactory. For a field {@code termsCheckbox} it generates the constants
+ * {@code TERMS_CHECKBOX} (Android) and {@code TERMS_CHECKBOX_IOS} (iOS), for the platforms that are annotated,
+ * and an accessor {@code termsCheckbox()} returning the locator for the platform of the driver.
+ * Each annotation must use exactly one strategy; {@code @AndroidFindBys} and similar chains are not supported.
+ */
+@SupportedAnnotationTypes({LocatorProcessor.ANDROID_FIND_BY, LocatorProcessor.IOS_FIND_BY})
+public class LocatorProcessor extends AbstractProcessor {
+    static final String ANDROID_FIND_BY = "io.appium.java_client.pagefactory.AndroidFindBy";
+    static final String IOS_FIND_BY = "io.appium.java_client.pagefactory.iOSXCUITFindBy";
+    private static final Map<String, String> FACTORIES = new LinkedHashMap<>();
+
+    static {
+        FACTORIES.put("id", "By.id");
+        FACTORIES.put("accessibility", "MobileBy.AccessibilityId");
+        FACTORIES.put("className", "By.className");
+        FACTORIES.put("tagName", "By.tagName");
+        FACTORIES.put("xpath", "By.xpath");
+        FACTORIES.put("uiAutomator", "MobileBy.AndroidUIAutomator");
+        FACTORIES.put("androidDataMatcher", "MobileBy.androidDataMatcher");
+        FACTORIES.put("androidViewMatcher", "MobileBy.androidViewMatcher");
+        FACTORIES.put("iOSClassChain", "MobileBy.iOSClassChain");
+        FACTORIES.put("iOSNsPredicate", "MobileBy.iOSNsPredicateString");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Map<TypeElement, Map<String, Field>> pages = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            boolean ios = annotation.getQualifiedName().contentEquals(IOS_FIND_BY);
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.FIELD) {
+                    continue;
+                }
+                String locator = locatorOf(element, annotation);
+                if (locator == null) {
+                    continue;
+                }
+                TypeElement page = (TypeElement) element.getEnclosingElement();
+                String name = element.getSimpleName().toString();
+                Field field = pages.computeIfAbsent(page, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(name, Field::new);
+                if (ios) {
+                    field.ios = locator;
+                } else {
+                    field.android = locator;
+                }
+            }
+        }
+        for (Map.Entry<TypeElement, Map<String, Field>> page : pages.entrySet()) {
+            write(page.getKey(), sorted(page.getKey(), page.getValue()));
+        }
+        return true;
+    }
+
+    /**
+     * Build the locator expression of one annotation, reporting an error if it does not use exactly one strategy.
+     *
+     * @param field      annotated field
+     * @param annotation AndroidFindBy or iOSXCUITFindBy
+     * @return Java expression creating the locator, null on error
+     */
+    private String locatorOf(Element field, TypeElement annotation) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().asElement().equals(annotation)) {
+                continue;
+            }
+            List<String> strategies = new ArrayList<>();
+            String expression = null;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                    : mirror.getElementValues().entrySet()) {
+                String strategy = value.getKey().getSimpleName().toString();
+                if ("priority".equals(strategy)) {
+                    continue;
+                }
+                strategies.add(strategy);
+                expression = FACTORIES.get(strategy) + "(" + literal(String.valueOf(value.getValue().getValue())) + ")";
+            }
+            if (strategies.size() != 1) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Locator must use exactly one strategy, found " + strategies, field, mirror);
+                return null;
+            }
+            return expression;
+        }
+        return null;
+    }
+
+    /**
+     * Order fields as they are declared, which round elements do not guarantee.
+     */
+    private static List<Field> sorted(TypeElement page, Map<String, Field> fields) {
+        List<Field> ordered = new ArrayList<>();
+        for (Element member : page.getEnclosedElements()) {
+            if (member instanceof VariableElement && fields.containsKey(member.getSimpleName().toString())) {
+                ordered.add(fields.get(member.getSimpleName().toString()));
+            }
+        }
+        return ordered;
+    }
+
+    private void write(TypeElement page, List<Field> fields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(page);
+        String packageName = pkg.getQualifiedName().toString();
+        String className = page.getSimpleName() + "Locators";
+        boolean anyIos = fields.stream().anyMatch(f -> f.ios != null);
+        boolean anyMobileBy = fields.stream().anyMatch(f -> f.usesMobileBy());
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("import io.appium.java_client.AppiumDriver;\n");
+        if (anyMobileBy) {
+            out.append("import io.appium.java_client.MobileBy;\n");
+        }
+        if (anyIos) {
+            out.append("import io.appium.java_client.ios.IOSDriver;\n");
+        }
+        out.append("import org.openqa.selenium.By;\n\n");
+        out.append("import javax.annotation.processing.Generated;\n\n");
+        out.append("/**\n * Locators of {@link ").append(page.getSimpleName())
+                .append("}, generated from its annotated fields. Do not edit.\n */\n");
+        out.append("@Generated(\"").append(LocatorProcessor.class.getName()).append("\")\n");
+        out.append("public final class ").append(className).append(" {\n");
+        for (Field field : fields) {
+            if (field.android != null) {
+                constant(out, field.constant(), field.android);
+            }
+            if (field.ios != null) {
+                constant(out, field.constant() + "_IOS", field.ios);
+            }
+        }
+        out.append("\n    private final boolean ios;\n\n");
+        out.append("    /**\n     * Constructor for ").append(className).append(".\n     *\n");
+        out.append("     * @param driver driver whose platform selects the locators\n     */\n");
+        out.append("    public ").append(className).append("(AppiumDriver<?> driver) {\n");
+        out.append(anyIos ? "        this.ios = driver instanceof IOSDriver;\n" : "        this.ios = false;\n");
+        out.append("    }\n");
+        for (Field field : fields) {
+            out.append("\n    /**\n     * Get the locator of {@code ").append(field.name)
+                    .append("} for the platform of the driver.\n     *\n     * @return locator\n     */\n");
+            out.append("    public By ").append(field.name).append("() {\n");
+            if (field.android != null && field.ios != null) {
+                out.append("        return ios ? ").append(field.constant()).append("_IOS : ")
+                        .append(field.constant()).append(";\n");
+            } else {
+                out.append("        return ").append(field.constant()).append(field.android == null ? "_IOS" : "")
+                        .append(";\n");
+            }
+            out.append("    }\n");
+        }
+        out.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, page);
+            try (Writer writer = file.openWriter()) {
+                writer.write(out.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + qualifiedName + ": " + e.getMessage(), page);
+        }
+    }
+
+    private static void constant(StringBuilder out, String name, String expression) {
+        out.append("    public static final By ").append(name).append(" = ").append(expression).append(";\n");
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                default:
+                    literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Locators of one page field.
+     */
+    private static final class Field {
+        final String name;
+        String android;
+        String ios;
+
+        Field(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Check whether a locator of this field is created through MobileBy.
+         *
+         * @return true if the generated class must import MobileBy
+         */
+        boolean usesMobileBy() {
+            return android != null && android.startsWith("MobileBy.") || ios != null && ios.startsWith("MobileBy.");
+        }
+
+        /**
+         * Get the constant name, e.g. TERMS_CHECKBOX for termsCheckbox.
+         *
+         * @return upper snake case name
+         */
+        String constant() {
+            return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+        }
+    }
+}
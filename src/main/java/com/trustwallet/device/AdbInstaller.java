@@ -0,0 +1,108 @@
+package com.trustwallet.device;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DeviceInstaller} that runs {@code adb}. The checksum of the installed APK is kept in
+ * {@code /data/local/tmp/<package>.sha256} on the device, so it survives across CI runs and hosts.
+ */
+public class AdbInstaller implements DeviceInstaller {
+    private static final Logger log = LoggerFactory.getLogger(AdbInstaller.class);
+
+    private final String adb;
+    private final Duration timeout;
+
+    /**
+     * Constructor for AdbInstaller.
+     *
+     * @param adb     adb executable
+     * @param timeout maximum time for one adb command
+     */
+    public AdbInstaller(String adb, Duration timeout) {
+        this.adb = adb;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String installedChecksum(Device device, String appPackage) {
+        Result result = run(device, "shell", "pm path " + appPackage + " >/dev/null && cat " + marker(appPackage));
+        return result.exitCode == 0 && !result.output.trim().isEmpty() ? result.output.trim() : null;
+    }
+
+    @Override
+    public void install(Device device, String apkPath, String appPackage, String checksum) {
+        Result install = run(device, "install", "-r", apkPath);
+        if (install.exitCode != 0 || !install.output.contains("Success")) {
+            throw new IllegalStateException("adb install on " + device + " failed: " + install.output.trim());
+        }
+        Result record = run(device, "shell", "echo " + checksum + " > " + marker(appPackage));
+        if (record.exitCode != 0) {
+            log.warn("Installed {} on {} but could not record its checksum: {}", apkPath, device, record.output.trim());
+        }
+    }
+
+    private static String marker(String appPackage) {
+        return "/data/local/tmp/" + appPackage + ".sha256";
+    }
+
+    private Result run(Device device, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(adb);
+        if (!device.getUdid().isEmpty()) {
+            command.add("-s");
+            command.add(device.getUdid());
+        }
+        command.addAll(Arrays.asList(args));
+        log.debug("Running {}", command);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            Thread reader = new Thread(() -> copy(process.getInputStream(), output), "adb-output");
+            reader.setDaemon(true);
+            reader.start();
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("adb timed out after " + timeout + ": " + command);
+            }
+            reader.join(TimeUnit.SECONDS.toMillis(1));
+            return new Result(process.exitValue(), new String(output.toByteArray(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to run " + command, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running " + command, e);
+        }
+    }
+
+    private static void copy(InputStream in, ByteArrayOutputStream out) {
+        try {
+            in.transferTo(out);
+        } catch (IOException e) {
+            log.debug("Stopped reading adb output", e);
+        }
+    }
+
+    /**
+     * Exit code and combined output of one adb command.
+     */
+    private static final class Result {
+        final int exitCode;
+        final String output;
+
+        Result(int exitCode, String output) {
+            this.exitCode = exitCode;
+            this.output = output;
+        }
+    }
+}
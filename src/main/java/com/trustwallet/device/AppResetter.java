@@ -0,0 +1,111 @@
+package com.trustwallet.device;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Brings an app back to its start screen with the cheapest reset that works.
+ * Tiers are tried from the requested one upwards: relaunch the app, clear its data, reinstall it.
+ * After each tier the readiness check decides whether the app is back; if not, or if the tier
+ * fails, the next one is tried. Reinstalling is skipped when no APK is known.
+ */
+public class AppResetter {
+    private static final Logger log = LoggerFactory.getLogger(AppResetter.class);
+
+    /**
+     * Reset tiers, cheapest first.
+     */
+    public enum Tier {
+        /** Stop and relaunch the app, keeping its data. */
+        RELAUNCH,
+        /** Delete the app's data and launch it. */
+        CLEAR_DATA,
+        /** Uninstall, install from the APK and launch the app. */
+        REINSTALL;
+
+        /**
+         * Parse a tier name, e.g. relaunch or clear-data.
+         *
+         * @param name tier name, case-insensitive
+         * @return tier
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Tier parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final DeviceShell shell;
+    private final String appPackage;
+    private final String appPath;
+    private final BooleanSupplier ready;
+
+    /**
+     * Constructor for AppResetter.
+     *
+     * @param shell      app management commands of the device
+     * @param appPackage package name of the app
+     * @param appPath    APK used for reinstalling, null or empty to never reinstall
+     * @param ready      check returning true once the app shows its start screen
+     */
+    public AppResetter(DeviceShell shell, String appPackage, String appPath, BooleanSupplier ready) {
+        this.shell = shell;
+        this.appPackage = appPackage;
+        this.appPath = appPath == null ? "" : appPath;
+        this.ready = ready;
+    }
+
+    /**
+     * Reset the app, starting at a tier and escalating until the app is ready.
+     *
+     * @param first cheapest tier to try
+     * @return tier that brought the app back
+     * @throws IllegalStateException if no tier brought the app back
+     */
+    public Tier reset(Tier first) {
+        for (Tier tier : Tier.values()) {
+            if (tier.compareTo(first) < 0) {
+                continue;
+            }
+            if (tier == Tier.REINSTALL && appPath.isEmpty()) {
+                log.warn("Cannot reinstall {}: no APK configured", appPackage);
+                break;
+            }
+            long start = System.nanoTime();
+            try {
+                apply(tier);
+                if (ready.getAsBoolean()) {
+                    log.info("Reset {} with {} in {}ms", appPackage, tier,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return tier;
+                }
+                log.warn("App {} not on its start screen after {}, escalating", appPackage, tier);
+            } catch (RuntimeException e) {
+                log.warn("Reset {} with {} failed, escalating", appPackage, tier, e);
+            }
+        }
+        throw new IllegalStateException("App " + appPackage + " did not return to its start screen after resetting from "
+                + first);
+    }
+
+    private void apply(Tier tier) {
+        switch (tier) {
+            case RELAUNCH:
+                shell.terminateApp(appPackage);
+                break;
+            case CLEAR_DATA:
+                shell.clearAppData(appPackage);
+                break;
+            case REINSTALL:
+                shell.reinstallApp(appPackage, appPath);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown reset tier " + tier);
+        }
+        shell.activateApp(appPackage);
+    }
+}
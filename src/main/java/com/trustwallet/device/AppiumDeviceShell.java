@@ -0,0 +1,43 @@
+package com.trustwallet.device;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+
+import java.util.Collections;
+
+/**
+ * {@link DeviceShell} backed by the app management commands of an Appium session.
+ */
+public class AppiumDeviceShell implements DeviceShell {
+    private final AppiumDriver<MobileElement> driver;
+
+    /**
+     * Constructor for AppiumDeviceShell.
+     *
+     * @param driver session on the device
+     */
+    public AppiumDeviceShell(AppiumDriver<MobileElement> driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void terminateApp(String appPackage) {
+        driver.terminateApp(appPackage);
+    }
+
+    @Override
+    public void activateApp(String appPackage) {
+        driver.activateApp(appPackage);
+    }
+
+    @Override
+    public void clearAppData(String appPackage) {
+        driver.executeScript("mobile: clearApp", Collections.singletonMap("appId", appPackage));
+    }
+
+    @Override
+    public void reinstallApp(String appPackage, String appPath) {
+        driver.removeApp(appPackage);
+        driver.installApp(appPath);
+    }
+}
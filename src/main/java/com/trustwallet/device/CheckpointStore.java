@@ -0,0 +1,178 @@
+package com.trustwallet.device;
+
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Named checkpoints of a flow, kept as emulator snapshots, so a test can start mid-flow instead of
+ * driving the UI there again. Next to each snapshot the store keeps the data captured on the way,
+ * such as the seed words, in {@code <root>/<device>/<checkpoint>.properties}.
+ * Snapshot names contain the APK checksum and a checkpoint saved with another build is deleted
+ * instead of restored, so checkpoints are invalidated when the app changes.
+ */
+public class CheckpointStore {
+    private static final Logger log = LoggerFactory.getLogger(CheckpointStore.class);
+    private static final String SNAPSHOT_PREFIX = "tw";
+
+    private final Path root;
+    private final String apkChecksum;
+
+    /**
+     * Constructor for CheckpointStore.
+     *
+     * @param root        directory of the checkpoint metadata
+     * @param apkChecksum checksum of the APK under test
+     */
+    public CheckpointStore(Path root, String apkChecksum) {
+        this.root = root;
+        this.apkChecksum = apkChecksum;
+    }
+
+    /**
+     * Create a store for the configured APK and {@code checkpoint.path}.
+     *
+     * @param apk APK of the app under test
+     * @return checkpoint store
+     */
+    public static CheckpointStore forApk(Path apk) {
+        ConfigSnapshot config = ConfigManager.getInstance().getConfig();
+        return new CheckpointStore(Paths.get(config.getString("checkpoint.path", "./checkpoints")),
+                InstallCache.getInstance().checksum(apk));
+    }
+
+    /**
+     * Save the current emulator state as a checkpoint.
+     *
+     * @param console    console of the emulator
+     * @param device     emulator device
+     * @param checkpoint checkpoint name, e.g. seed-revealed
+     * @param seedWords  seed words of the wallet in this state
+     */
+    public void save(EmulatorConsole console, Device device, String checkpoint, List<String> seedWords) {
+        String snapshot = snapshotName(checkpoint);
+        long start = System.nanoTime();
+        console.saveSnapshot(snapshot);
+
+        Properties metadata = new Properties();
+        metadata.setProperty("apk", apkChecksum);
+        metadata.setProperty("snapshot", snapshot);
+        metadata.setProperty("seed.words", String.join(" ", seedWords));
+        metadata.setProperty("saved", Instant.now().toString());
+        Path file = metadataPath(device, checkpoint);
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                metadata.store(out, "Checkpoint " + checkpoint);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+        log.info("Saved checkpoint {} on {} as snapshot {} in {}ms", checkpoint, device, snapshot,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Check whether a checkpoint of the current build exists. A checkpoint of another build is deleted.
+     *
+     * @param console    console of the emulator
+     * @param device     emulator device
+     * @param checkpoint checkpoint name
+     * @return true if the checkpoint can be restored
+     */
+    public boolean exists(EmulatorConsole console, Device device, String checkpoint) {
+        return read(console, device, checkpoint) != null;
+    }
+
+    /**
+     * Restore a checkpoint. A checkpoint of another build, or whose snapshot is gone, is deleted.
+     *
+     * @param console    console of the emulator
+     * @param device     emulator device
+     * @param checkpoint checkpoint name
+     * @return seed words captured with the checkpoint, null if there was no valid checkpoint to restore
+     */
+    public List<String> restore(EmulatorConsole console, Device device, String checkpoint) {
+        Properties metadata = read(console, device, checkpoint);
+        if (metadata == null) {
+            return null;
+        }
+        String snapshot = metadata.getProperty("snapshot");
+        long start = System.nanoTime();
+        try {
+            console.loadSnapshot(snapshot);
+        } catch (IllegalStateException e) {
+            log.warn("Snapshot {} of checkpoint {} could not be loaded, deleting it", snapshot, checkpoint, e);
+            delete(console, metadataPath(device, checkpoint), snapshot);
+            return null;
+        }
+        log.info("Restored checkpoint {} on {} in {}ms", checkpoint, device, (System.nanoTime() - start) / 1_000_000);
+        String words = metadata.getProperty("seed.words", "").trim();
+        return words.isEmpty() ? Collections.emptyList() : Arrays.asList(words.split(" "));
+    }
+
+    /**
+     * Get the snapshot name of a checkpoint for the current APK.
+     *
+     * @param checkpoint checkpoint name
+     * @return snapshot name, e.g. tw-3fa1b2c4d5e6-seed-revealed
+     */
+    String snapshotName(String checkpoint) {
+        return SNAPSHOT_PREFIX + "-" + apkChecksum.substring(0, Math.min(12, apkChecksum.length())) + "-"
+                + checkpoint.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private Properties read(EmulatorConsole console, Device device, String checkpoint) {
+        Path file = metadataPath(device, checkpoint);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties metadata = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            metadata.load(in);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable checkpoint {}", file, e);
+            delete(console, file, null);
+            return null;
+        }
+        if (!apkChecksum.equals(metadata.getProperty("apk"))) {
+            log.info("Checkpoint {} on {} was saved with another APK, deleting it", checkpoint, device);
+            delete(console, file, metadata.getProperty("snapshot"));
+            return null;
+        }
+        return metadata;
+    }
+
+    private Path metadataPath(Device device, String checkpoint) {
+        return root.resolve(device.getUdid()).resolve(checkpoint.replaceAll("[^A-Za-z0-9_-]", "_") + ".properties");
+    }
+
+    private static void delete(EmulatorConsole console, Path file, String snapshot) {
+        if (snapshot != null) {
+            try {
+                console.deleteSnapshot(snapshot);
+            } catch (IllegalStateException e) {
+                log.debug("Snapshot {} was already gone", snapshot);
+            }
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete checkpoint {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.trustwallet.device;
+
+import java.util.Objects;
+
+/**
+ * A device registered for test execution.
+ */
+public final class Device {
+    private final String udid;
+    private final String name;
+    private final String platformVersion;
+    private final int apiLevel;
+    private final int systemPort;
+
+    /**
+     * Constructor for Device.
+     *
+     * @param udid            device UDID as reported by adb
+     * @param name            human-readable device name, empty to use the configured one
+     * @param platformVersion Android version, e.g. 11.0, empty to use the configured one
+     * @param apiLevel        Android API level, or 0 if unknown
+     * @param systemPort      UiAutomator2 system port reserved for this device
+     */
+    public Device(String udid, String name, String platformVersion, int apiLevel, int systemPort) {
+        this.udid = Objects.requireNonNull(udid, "udid");
+        this.name = name == null ? "" : name;
+        this.platformVersion = platformVersion == null ? "" : platformVersion;
+        this.apiLevel = apiLevel;
+        this.systemPort = systemPort;
+    }
+
+    /**
+     * Get the device UDID.
+     *
+     * @return UDID, empty if Appium should pick any connected device
+     */
+    public String getUdid() {
+        return udid;
+    }
+
+    /**
+     * Get the device name.
+     *
+     * @return device name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the platform version.
+     *
+     * @return platform version
+     */
+    public String getPlatformVersion() {
+        return platformVersion;
+    }
+
+    /**
+     * Get the API level.
+     *
+     * @return API level, or 0 if unknown
+     */
+    public int getApiLevel() {
+        return apiLevel;
+    }
+
+    /**
+     * Get the UiAutomator2 system port.
+     *
+     * @return system port, or 0 to let Appium choose
+     */
+    public int getSystemPort() {
+        return systemPort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Device && udid.equals(((Device) o).udid);
+    }
+
+    @Override
+    public int hashCode() {
+        return udid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (udid.isEmpty()) {
+            return name.isEmpty() ? "default device" : name;
+        }
+        return name.isEmpty() ? udid : String.format("%s (%s)", name, udid);
+    }
+}
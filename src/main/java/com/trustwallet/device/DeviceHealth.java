@@ -0,0 +1,242 @@
+package com.trustwallet.device;
+
+import com.trustwallet.utils.ConfigSnapshot;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker per device. After {@code device.breaker.failures} consecutive transport failures,
+ * i.e. the Appium server or the device stopped answering, the device is quarantined for
+ * {@code device.breaker.quarantine} and no test is given to it. When the quarantine ends a single
+ * test probes the device: a session it creates closes the breaker, another failure opens it again.
+ */
+public class DeviceHealth {
+    private static final Logger log = LoggerFactory.getLogger(DeviceHealth.class);
+    // Errors of a dead Appium server, UiAutomator2 server or adb connection, as reported through Appium
+    private static final List<String> TRANSPORT_MARKERS = Arrays.asList(
+            "appium server has accidentally died", "instrumentation process is not running",
+            "could not proxy command to the remote server", "socket hang up", "econnrefused", "econnreset",
+            "could not find a connected android device", "was not in the list of connected devices",
+            "device offline");
+
+    /**
+     * Breaker state of a device.
+     */
+    public enum State {
+        /** Healthy; tests run on the device. */
+        CLOSED,
+        /** Quarantined; no test runs on the device. */
+        OPEN,
+        /** Quarantine over; one probing test runs on the device. */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration quarantine;
+    private final Map<Device, Breaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for DeviceHealth.
+     *
+     * @param failureThreshold consecutive transport failures that quarantine a device
+     * @param quarantine       time before a quarantined device is probed again
+     */
+    public DeviceHealth(int failureThreshold, Duration quarantine) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least 1, was " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.quarantine = quarantine;
+    }
+
+    /**
+     * Build the breakers from configuration.
+     *
+     * @param config configuration snapshot
+     * @return device health
+     */
+    public static DeviceHealth fromConfig(ConfigSnapshot config) {
+        return new DeviceHealth(config.getInt("device.breaker.failures", 3),
+                config.getDuration("device.breaker.quarantine", Duration.ofMinutes(2)));
+    }
+
+    /**
+     * Ask whether a test may run on a device. A quarantined device whose quarantine is over admits
+     * exactly one test, the probe, until the probe reports its outcome.
+     *
+     * @param device device about to be leased
+     * @return true if a test may run on the device
+     */
+    public boolean tryAcquire(Device device) {
+        return breaker(device).tryAcquire(device);
+    }
+
+    /**
+     * Check whether a quarantined device is due for its probe.
+     *
+     * @param device device
+     * @return true if the device is healthy or its quarantine is over
+     */
+    public boolean isAvailable(Device device) {
+        Breaker breaker = breaker(device);
+        synchronized (breaker) {
+            return breaker.state == State.CLOSED
+                    || breaker.state == State.OPEN && System.nanoTime() - breaker.openedAt >= quarantine.toNanos();
+        }
+    }
+
+    /**
+     * Record that a device served a session, closing its breaker.
+     *
+     * @param device device
+     */
+    public void recordSuccess(Device device) {
+        Breaker breaker = breaker(device);
+        synchronized (breaker) {
+            if (breaker.state != State.CLOSED) {
+                log.info("Device {} recovered, ending its quarantine", device);
+            }
+            breaker.state = State.CLOSED;
+            breaker.failures = 0;
+            breaker.reason = null;
+        }
+    }
+
+    /**
+     * Record a failure on a device. Only transport failures count; a failed assertion says nothing
+     * about the device. A failed probe quarantines the device again straight away.
+     *
+     * @param device  device
+     * @param failure failure of the test or of its session setup
+     * @return true if the failure counted as a transport failure
+     */
+    public boolean recordFailure(Device device, Throwable failure) {
+        if (!isTransportFailure(failure)) {
+            return false;
+        }
+        Breaker breaker = breaker(device);
+        synchronized (breaker) {
+            breaker.failures++;
+            breaker.reason = failure.getClass().getSimpleName() + ": " + firstLine(failure.getMessage());
+            if (breaker.state == State.HALF_OPEN || breaker.failures >= failureThreshold) {
+                breaker.state = State.OPEN;
+                breaker.openedAt = System.nanoTime();
+                log.warn("Quarantining device {} for {} after {} consecutive transport failure(s); last: {}",
+                        device, quarantine, breaker.failures, breaker.reason);
+            } else {
+                log.info("Transport failure {}/{} on device {}: {}", breaker.failures, failureThreshold, device,
+                        breaker.reason);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * End a probe that reported neither success nor a transport failure, e.g. because the session
+     * failed for another reason. The device stays quarantined and the next test probes it again.
+     *
+     * @param device device being released
+     */
+    public void abandonProbe(Device device) {
+        Breaker breaker = breaker(device);
+        synchronized (breaker) {
+            if (breaker.state == State.HALF_OPEN) {
+                breaker.state = State.OPEN;
+                breaker.openedAt = System.nanoTime() - quarantine.toNanos();
+            }
+        }
+    }
+
+    /**
+     * Get the breaker state of a device.
+     *
+     * @param device device
+     * @return state
+     */
+    public State getState(Device device) {
+        Breaker breaker = breaker(device);
+        synchronized (breaker) {
+            return breaker.state;
+        }
+    }
+
+    /**
+     * Describe why a device is quarantined, for failing tests with a clear reason.
+     *
+     * @param device device
+     * @return description such as {@code emulator-5554 quarantined for 85s more after 3 transport failure(s): ...}
+     */
+    public String describe(Device device) {
+        Breaker breaker = breaker(device);
+        synchronized (breaker) {
+            if (breaker.state == State.CLOSED) {
+                return device + " is healthy";
+            }
+            long left = Math.max(0, quarantine.toNanos() - (System.nanoTime() - breaker.openedAt));
+            return String.format("%s quarantined for %ds more after %d transport failure(s): %s",
+                    device, Duration.ofNanos(left).getSeconds(), breaker.failures, breaker.reason);
+        }
+    }
+
+    /**
+     * Check whether a failure means the Appium server or the device stopped answering,
+     * as opposed to the app misbehaving.
+     *
+     * @param failure failure
+     * @return true for connection errors and crashed automation servers
+     */
+    public static boolean isTransportFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof UnreachableBrowserException) {
+                return true;
+            }
+            String message = cause.getMessage() == null ? "" : firstLine(cause.getMessage()).toLowerCase();
+            if (TRANSPORT_MARKERS.stream().anyMatch(message::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Breaker breaker(Device device) {
+        return breakers.computeIfAbsent(device, d -> new Breaker());
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    /**
+     * Breaker of one device.
+     */
+    private final class Breaker {
+        State state = State.CLOSED;
+        int failures;
+        long openedAt;
+        String reason;
+
+        synchronized boolean tryAcquire(Device device) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN && System.nanoTime() - openedAt >= quarantine.toNanos()) {
+                state = State.HALF_OPEN;
+                log.info("Probing quarantined device {}", device);
+                return true;
+            }
+            return false;
+        }
+    }
+}
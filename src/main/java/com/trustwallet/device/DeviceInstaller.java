@@ -0,0 +1,27 @@
+package com.trustwallet.device;
+
+/**
+ * Installs APKs on devices outside of an Appium session and remembers, on the device itself,
+ * the checksum of the APK that was installed, as used by {@link InstallCache}.
+ */
+public interface DeviceInstaller {
+
+    /**
+     * Get the checksum of the APK installed for a package.
+     *
+     * @param device     target device
+     * @param appPackage package name
+     * @return checksum recorded at install time, null if the app is missing or was installed by other means
+     */
+    String installedChecksum(Device device, String appPackage);
+
+    /**
+     * Install an APK, replacing any installed version, and record its checksum.
+     *
+     * @param device     target device
+     * @param apkPath    path of the APK
+     * @param appPackage package name
+     * @param checksum   checksum of the APK
+     */
+    void install(Device device, String apkPath, String appPackage, String checksum);
+}
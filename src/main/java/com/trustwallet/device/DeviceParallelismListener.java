@@ -0,0 +1,39 @@
+package com.trustwallet.device;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * Sizes TestNG's method-level thread pool to the number of registered devices.
+ * With one worker per device and devices leased from {@link DeviceRegistry} per method,
+ * each device pulls the next pending method as soon as it finishes its current one.
+ */
+public class DeviceParallelismListener implements ISuiteListener {
+    private static final Logger log = LoggerFactory.getLogger(DeviceParallelismListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        int deviceCount = registry().size();
+        XmlSuite xmlSuite = suite.getXmlSuite();
+        xmlSuite.setParallel(XmlSuite.ParallelMode.METHODS);
+        xmlSuite.setThreadCount(deviceCount);
+        for (XmlTest test : xmlSuite.getTests()) {
+            test.setParallel(XmlSuite.ParallelMode.METHODS);
+            test.setThreadCount(deviceCount);
+        }
+        log.info("Running suite '{}' with {} parallel method worker(s), one per device", suite.getName(), deviceCount);
+    }
+
+    /**
+     * Get the registry whose size drives the thread count.
+     *
+     * @return device registry
+     */
+    protected DeviceRegistry registry() {
+        return DeviceRegistry.getInstance();
+    }
+}
@@ -0,0 +1,213 @@
+package com.trustwallet.device;
+
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the devices available to the suite.
+ * Test methods lease a free device for their duration; because free devices wait in a single queue,
+ * the next method always lands on whichever device finished first. Devices quarantined by their
+ * {@link DeviceHealth} breaker are parked outside the queue until they are due for a probe, so the
+ * remaining methods go to the healthy devices, and fail at once when no healthy device is left.
+ */
+public class DeviceRegistry {
+    private static final Logger log = LoggerFactory.getLogger(DeviceRegistry.class);
+    private static final int SYSTEM_PORT_BASE = 8200;
+    private static final Duration QUARANTINE_RECHECK = Duration.ofSeconds(1);
+
+    private static DeviceRegistry instance;
+
+    private final List<Device> devices;
+    private final BlockingQueue<Device> free;
+    private final Set<Device> parked = ConcurrentHashMap.newKeySet();
+    private final DeviceHealth health;
+
+    /**
+     * Constructor for DeviceRegistry, quarantining a device after 3 consecutive transport failures for 2 minutes.
+     *
+     * @param devices devices available for leasing
+     */
+    public DeviceRegistry(List<Device> devices) {
+        this(devices, new DeviceHealth(3, Duration.ofMinutes(2)));
+    }
+
+    /**
+     * Constructor for DeviceRegistry.
+     *
+     * @param devices devices available for leasing
+     * @param health  circuit breakers of the devices
+     */
+    public DeviceRegistry(List<Device> devices, DeviceHealth health) {
+        if (devices.isEmpty()) {
+            throw new IllegalArgumentException("Device registry needs at least one device");
+        }
+        this.devices = Collections.unmodifiableList(new ArrayList<>(devices));
+        this.free = new LinkedBlockingQueue<>(devices);
+        this.health = health;
+    }
+
+    /**
+     * Get the shared registry, built from the default configuration.
+     *
+     * @return DeviceRegistry instance
+     */
+    public static synchronized DeviceRegistry getInstance() {
+        if (instance == null) {
+            instance = fromConfig(ConfigManager.getInstance().getDefaultConfig());
+            log.info("Registered {} device(s): {}", instance.size(), instance.getDevices());
+        }
+        return instance;
+    }
+
+    /**
+     * Build a registry from configuration. The comma-separated {@code devices} property lists UDIDs;
+     * each may be described by {@code devices.<udid>.name}, {@code .version}, {@code .api.level} and
+     * {@code .system.port}. Without a list a single device is registered whose name and version
+     * are left empty, so the environment's {@code device.*} properties apply.
+     *
+     * @param config configuration snapshot
+     * @return device registry
+     */
+    public static DeviceRegistry fromConfig(ConfigSnapshot config) {
+        String defaultName = config.getString("device.name", "Android Device");
+        String defaultVersion = config.getString("device.version", "");
+        String list = config.getString("devices", "").trim();
+
+        List<Device> devices = new ArrayList<>();
+        if (list.isEmpty()) {
+            devices.add(new Device(config.getString("device.udid", ""), "", "", 0, 0));
+            return new DeviceRegistry(devices, DeviceHealth.fromConfig(config));
+        }
+
+        String[] udids = list.split("\\s*,\\s*");
+        for (int i = 0; i < udids.length; i++) {
+            String prefix = "devices." + udids[i] + ".";
+            devices.add(new Device(udids[i],
+                    config.getString(prefix + "name", defaultName),
+                    config.getString(prefix + "version", defaultVersion),
+                    config.getInt(prefix + "api.level", 0),
+                    config.getInt(prefix + "system.port", SYSTEM_PORT_BASE + i)));
+        }
+        return new DeviceRegistry(devices, DeviceHealth.fromConfig(config));
+    }
+
+    /**
+     * Lease the next free healthy device, waiting until one is released if all are busy.
+     * A quarantined device whose quarantine is over is leased to probe it.
+     *
+     * @param timeout maximum time to wait
+     * @return leased device
+     * @throws IllegalStateException if no device frees up in time, or at once if every device is quarantined
+     */
+    public Device acquire(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (true) {
+                unparkDueDevices();
+                if (devices.stream().allMatch(d -> health.getState(d) == DeviceHealth.State.OPEN
+                        && !health.isAvailable(d))) {
+                    throw new IllegalStateException("All devices are quarantined: " + devices.stream()
+                            .map(health::describe).collect(Collectors.joining("; ")));
+                }
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    throw new IllegalStateException("No device became free within " + timeout);
+                }
+                // Wake up regularly to return devices whose quarantine is over
+                Device device = free.poll(Math.min(left, QUARANTINE_RECHECK.toNanos()), TimeUnit.NANOSECONDS);
+                if (device == null) {
+                    continue;
+                }
+                if (health.tryAcquire(device)) {
+                    log.debug("Leased device {} on thread {}", device, Thread.currentThread().getName());
+                    return device;
+                }
+                parked.add(device);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free device", e);
+        }
+    }
+
+    /**
+     * Hand a device back so the next waiting test method can use it.
+     *
+     * @param device device to release
+     */
+    public void release(Device device) {
+        if (!devices.contains(device)) {
+            log.warn("Ignoring release of unregistered device {}", device);
+            return;
+        }
+        if (free.contains(device) || parked.contains(device)) {
+            log.warn("Device {} was released twice", device);
+            return;
+        }
+        health.abandonProbe(device);
+        if (!health.isAvailable(device)) {
+            parked.add(device);
+            log.info("Parked {}", health.describe(device));
+            return;
+        }
+        free.offer(device);
+        log.debug("Released device {}", device);
+    }
+
+    /**
+     * Get the circuit breakers of the registered devices.
+     *
+     * @return device health
+     */
+    public DeviceHealth getHealth() {
+        return health;
+    }
+
+    /**
+     * Get all registered devices.
+     *
+     * @return immutable list of devices
+     */
+    public List<Device> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Get the number of registered devices.
+     *
+     * @return device count
+     */
+    public int size() {
+        return devices.size();
+    }
+
+    /**
+     * Get the number of devices not leased right now, excluding quarantined ones.
+     *
+     * @return free device count
+     */
+    public int freeCount() {
+        return free.size();
+    }
+
+    private void unparkDueDevices() {
+        for (Device device : parked) {
+            if (health.isAvailable(device) && parked.remove(device)) {
+                free.offer(device);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.trustwallet.device;
+
+/**
+ * App management commands on one device, as used by {@link AppResetter}.
+ * Kept to the few operations a reset needs so it can be replaced by a fake in tests.
+ */
+public interface DeviceShell {
+
+    /**
+     * Stop the app if it is running.
+     *
+     * @param appPackage package name
+     */
+    void terminateApp(String appPackage);
+
+    /**
+     * Bring the app to the foreground, launching it if needed.
+     *
+     * @param appPackage package name
+     */
+    void activateApp(String appPackage);
+
+    /**
+     * Delete the app's data and stop it, as {@code pm clear} does.
+     *
+     * @param appPackage package name
+     */
+    void clearAppData(String appPackage);
+
+    /**
+     * Uninstall the app and install it again from an APK.
+     *
+     * @param appPackage package name
+     * @param appPath    path of the APK
+     */
+    void reinstallApp(String appPackage, String appPath);
+}
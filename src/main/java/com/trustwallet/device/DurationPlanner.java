@@ -0,0 +1,174 @@
+package com.trustwallet.device;
+
+import com.trustwallet.metrics.DurationHistory;
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Orders test methods longest-first by their durations in previous runs and splits them into shards.
+ * Devices pull the next pending method when they finish one, so a longest-first order makes the
+ * device workers a longest-processing-time schedule: the long methods start first and the short ones
+ * fill the gaps at the end. With {@code shard.count} above 1 the methods are spread over that many
+ * JVMs the same way and this JVM keeps the methods of {@code shard.index}; every shard computes the
+ * same plan as long as they read the same history file.
+ * Durations of the run are written back to {@code duration.history.path} when the suite finishes.
+ */
+public class DurationPlanner implements IMethodInterceptor, ITestListener, ISuiteListener {
+    private static final Logger log = LoggerFactory.getLogger(DurationPlanner.class);
+
+    private final int shardIndex;
+    private final int shardCount;
+    private final Duration fallback;
+    private DurationHistory history;
+
+    /**
+     * Constructor for DurationPlanner, reading the history file and shard from configuration.
+     */
+    public DurationPlanner() {
+        this(null, ConfigManager.getInstance().getDefaultConfig());
+    }
+
+    /**
+     * Constructor for DurationPlanner.
+     *
+     * @param history    durations of previous runs, null to load {@code duration.history.path}
+     * @param shardIndex shard kept by this JVM, from 0
+     * @param shardCount number of shards
+     */
+    protected DurationPlanner(DurationHistory history, int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Shard " + shardIndex + " is outside 0.." + (shardCount - 1));
+        }
+        this.history = history;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        this.fallback = ConfigManager.getInstance().getDefaultConfig()
+                .getDuration("duration.history.default", Duration.ofMinutes(1));
+    }
+
+    private DurationPlanner(DurationHistory history, ConfigSnapshot config) {
+        this(history, config.getInt("shard.index", 0), config.getInt("shard.count", 1));
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        DurationHistory durations = history();
+        ToLongFunction<IMethodInstance> cost = m -> durations.estimate(m.getMethod().getQualifiedName(), fallback)
+                .toMillis();
+
+        List<IMethodInstance> ordered = longestFirst(methods, cost, m -> m.getMethod().getQualifiedName());
+        if (shardCount > 1) {
+            ordered = partition(ordered, cost, shardCount).get(shardIndex);
+        }
+
+        int workers = Math.max(1, registry().size());
+        List<List<IMethodInstance>> perDevice = partition(ordered, cost, workers);
+        log.info("Planned {} of {} method(s) of '{}' longest-first{}; expected {}s on {} device(s)",
+                ordered.size(), methods.size(), context.getName(),
+                shardCount > 1 ? " for shard " + shardIndex + "/" + shardCount : "",
+                perDevice.stream().mapToLong(bin -> total(bin, cost)).max().orElse(0) / 1000, workers);
+        return ordered;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        history().save();
+    }
+
+    /**
+     * Sort items longest-first, breaking ties by name so every shard computes the same order.
+     *
+     * @param items items to sort
+     * @param cost  expected duration of an item
+     * @param name  stable name of an item
+     * @param <T>   item type
+     * @return items in descending cost
+     */
+    static <T> List<T> longestFirst(List<T> items, ToLongFunction<T> cost,
+                                    Function<T, String> name) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(cost).reversed().thenComparing(name));
+        return sorted;
+    }
+
+    /**
+     * Split items into bins with the longest-processing-time rule: each item, longest first,
+     * goes to the bin with the least total so far. The largest bin is within 4/3 of the optimum.
+     *
+     * @param longestFirst items sorted by descending cost
+     * @param cost         expected duration of an item
+     * @param bins         number of bins
+     * @param <T>          item type
+     * @return bins, each keeping the longest-first order
+     */
+    static <T> List<List<T>> partition(List<T> longestFirst, ToLongFunction<T> cost, int bins) {
+        List<List<T>> result = new ArrayList<>();
+        PriorityQueue<long[]> loads = new PriorityQueue<>(
+                Comparator.<long[]>comparingLong(load -> load[0]).thenComparingLong(load -> load[1]));
+        for (int i = 0; i < bins; i++) {
+            result.add(new ArrayList<>());
+            loads.add(new long[] {0, i});
+        }
+        for (T item : longestFirst) {
+            long[] lightest = loads.poll();
+            result.get((int) lightest[1]).add(item);
+            lightest[0] += cost.applyAsLong(item);
+            loads.add(lightest);
+        }
+        return result;
+    }
+
+    /**
+     * Get the registry whose size is the number of parallel workers.
+     *
+     * @return device registry
+     */
+    protected DeviceRegistry registry() {
+        return DeviceRegistry.getInstance();
+    }
+
+    private synchronized DurationHistory history() {
+        if (history == null) {
+            history = DurationHistory.load(Paths.get(ConfigManager.getInstance().getDefaultConfig()
+                    .getString("duration.history.path", "./test-history/durations.properties")));
+        }
+        return history;
+    }
+
+    private void record(ITestResult result) {
+        history().record(result.getMethod().getQualifiedName(),
+                Duration.ofMillis(result.getEndMillis() - result.getStartMillis()));
+    }
+
+    private static <T> long total(List<T> items, ToLongFunction<T> cost) {
+        return items.stream().mapToLong(cost).sum();
+    }
+}
@@ -0,0 +1,207 @@
+package com.trustwallet.device;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Client of the Android emulator console, used to save and load snapshots.
+ * Every reply of the console ends with a line {@code OK} or {@code KO: <reason>}.
+ */
+public class EmulatorConsole implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(EmulatorConsole.class);
+    private static final Pattern EMULATOR_UDID = Pattern.compile("emulator-(\\d+)");
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final Writer out;
+
+    /**
+     * Connect to a console and authenticate.
+     *
+     * @param host      emulator host
+     * @param port      console port, 5554 for emulator-5554
+     * @param authToken contents of ~/.emulator_console_auth_token, empty if the console needs none
+     * @param timeout   connect and read timeout
+     * @throws UncheckedIOException if the console cannot be reached
+     * @throws IllegalStateException if authentication is refused
+     */
+    public EmulatorConsole(String host, int port, String authToken, Duration timeout) {
+        socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), (int) timeout.toMillis());
+            socket.setSoTimeout((int) timeout.toMillis());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            readReply("connect");
+            if (!authToken.isEmpty()) {
+                send("auth " + authToken);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                socket.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            if (e instanceof IOException) {
+                throw new UncheckedIOException("Failed to connect to emulator console on " + host + ":" + port,
+                        (IOException) e);
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    /**
+     * Connect to the console of a local emulator.
+     *
+     * @param device    emulator device, e.g. emulator-5554
+     * @param tokenFile auth token file
+     * @param timeout   connect and read timeout
+     * @return connected console
+     * @throws IllegalArgumentException if the device is not an emulator
+     */
+    public static EmulatorConsole forDevice(Device device, Path tokenFile, Duration timeout) {
+        Matcher matcher = EMULATOR_UDID.matcher(device.getUdid());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(device + " is not an emulator");
+        }
+        String token = "";
+        try {
+            if (Files.exists(tokenFile)) {
+                token = new String(Files.readAllBytes(tokenFile), StandardCharsets.UTF_8).trim();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + tokenFile, e);
+        }
+        return new EmulatorConsole("localhost", Integer.parseInt(matcher.group(1)), token, timeout);
+    }
+
+    /**
+     * Check whether a device is an emulator with a console.
+     *
+     * @param device device to check
+     * @return true for emulator-NNNN devices
+     */
+    public static boolean isEmulator(Device device) {
+        return EMULATOR_UDID.matcher(device.getUdid()).matches();
+    }
+
+    /**
+     * Get the default auth token file.
+     *
+     * @return ~/.emulator_console_auth_token
+     */
+    public static Path defaultTokenFile() {
+        return Paths.get(System.getProperty("user.home"), ".emulator_console_auth_token");
+    }
+
+    /**
+     * Save the full emulator state under a name, replacing an existing snapshot of that name.
+     *
+     * @param name snapshot name
+     */
+    public void saveSnapshot(String name) {
+        send("avd snapshot save " + name);
+    }
+
+    /**
+     * Restore the emulator state saved under a name.
+     *
+     * @param name snapshot name
+     * @throws IllegalStateException if the snapshot does not exist or cannot be loaded
+     */
+    public void loadSnapshot(String name) {
+        send("avd snapshot load " + name);
+    }
+
+    /**
+     * Delete a snapshot.
+     *
+     * @param name snapshot name
+     */
+    public void deleteSnapshot(String name) {
+        send("avd snapshot delete " + name);
+    }
+
+    /**
+     * List the snapshot names of the emulator.
+     *
+     * @return snapshot names
+     */
+    public List<String> listSnapshots() {
+        List<String> names = new ArrayList<>();
+        for (String line : send("avd snapshot list")) {
+            // Rows look like "--  seed_revealed  297M  2024-01-01 10:00:00  00:01:02.000"
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length >= 2 && (columns[0].equals("--") || columns[0].matches("\\d+"))) {
+                names.add(columns[1]);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Send a command and read its reply.
+     *
+     * @param command console command
+     * @return reply lines before the final OK
+     * @throws IllegalStateException if the console answers KO
+     */
+    List<String> send(String command) {
+        log.debug("Emulator console <- {}", command.startsWith("auth ") ? "auth ***" : command);
+        try {
+            out.write(command + "\r\n");
+            out.flush();
+            return readReply(command.startsWith("auth ") ? "auth" : command);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Emulator console command failed: " + command, e);
+        }
+    }
+
+    private List<String> readReply(String command) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.equals("OK")) {
+                return lines;
+            }
+            if (line.startsWith("KO")) {
+                throw new IllegalStateException("Emulator console rejected " + command + ": " + line);
+            }
+            lines.add(line);
+        }
+        throw new IOException("Emulator console closed the connection during " + command);
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.write("quit\r\n");
+            out.flush();
+        } catch (IOException e) {
+            log.debug("Ignoring failure while leaving emulator console", e);
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("Ignoring failure while closing emulator console", e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.trustwallet.device;
+
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Installs the app under test once per build and device instead of once per session.
+ * The SHA-256 of the APK is compared with the checksum recorded on each device; devices that already
+ * have the build are skipped and the others are installed in parallel. Sessions on a device that is
+ * ready can then start without the {@code app} capability, so Appium neither uploads nor reinstalls the APK.
+ */
+public class InstallCache {
+    private static final Logger log = LoggerFactory.getLogger(InstallCache.class);
+
+    private static InstallCache instance;
+
+    private final DeviceInstaller installer;
+    private final int parallelism;
+    // Devices known to have a checksum installed, so later calls in this run need no adb command
+    private final Map<Device, String> installed = new ConcurrentHashMap<>();
+    private final Map<Path, Checksum> checksums = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for InstallCache.
+     *
+     * @param installer   installer used to query and install devices
+     * @param parallelism maximum number of devices installed at the same time
+     */
+    public InstallCache(DeviceInstaller installer, int parallelism) {
+        this.installer = installer;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Get the shared cache, using adb as configured in {@link ConfigManager}.
+     *
+     * @return InstallCache instance
+     */
+    public static synchronized InstallCache getInstance() {
+        if (instance == null) {
+            ConfigSnapshot config = ConfigManager.getInstance().getDefaultConfig();
+            instance = new InstallCache(
+                    new AdbInstaller(config.getString("adb.path", "adb"),
+                            config.getDuration("install.cache.timeout", Duration.ofMinutes(5))),
+                    config.getInt("install.cache.parallelism", 4));
+        }
+        return instance;
+    }
+
+    /**
+     * Make sure every device runs the given APK, installing it where the recorded checksum differs.
+     *
+     * @param devices    devices to prepare
+     * @param apk        APK of the app under test
+     * @param appPackage package name of the app
+     * @return devices that run the APK; devices whose install failed are left out
+     */
+    public synchronized Set<Device> ensureInstalled(Collection<Device> devices, Path apk, String appPackage) {
+        String checksum = checksum(apk);
+        Set<Device> ready = new LinkedHashSet<>();
+        List<Device> pending = new ArrayList<>();
+        for (Device device : devices) {
+            if (checksum.equals(installed.get(device))) {
+                ready.add(device);
+            } else {
+                pending.add(device);
+            }
+        }
+        if (pending.isEmpty()) {
+            return ready;
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, pending.size()), r -> {
+            Thread thread = new Thread(r, "apk-install-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Device device : pending) {
+                results.add(executor.submit(() -> prepare(device, apk, appPackage, checksum)));
+            }
+            int copied = 0;
+            for (int i = 0; i < pending.size(); i++) {
+                Device device = pending.get(i);
+                try {
+                    if (results.get(i).get()) {
+                        copied++;
+                    }
+                    installed.put(device, checksum);
+                    ready.add(device);
+                } catch (ExecutionException e) {
+                    log.error("Failed to install {} on {}", apk, device, e.getCause());
+                }
+            }
+            log.info("APK {} ({}) ready on {} of {} device(s), installed on {}",
+                    apk.getFileName(), checksum.substring(0, 12), ready.size(), devices.size(), copied);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while installing {}", apk, e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return ready;
+    }
+
+    /**
+     * Install the APK on one device unless it already has that build.
+     *
+     * @return true if the APK was installed, false if it was already there
+     */
+    private boolean prepare(Device device, Path apk, String appPackage, String checksum) {
+        if (checksum.equals(installer.installedChecksum(device, appPackage))) {
+            log.debug("{} already has {}", device, apk.getFileName());
+            return false;
+        }
+        long start = System.nanoTime();
+        installer.install(device, apk.toAbsolutePath().toString(), appPackage, checksum);
+        log.info("Installed {} on {} in {}ms", apk.getFileName(), device,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return true;
+    }
+
+    /**
+     * Get the SHA-256 of an APK, hashing the file again only when its size or modification time changed.
+     *
+     * @param apk APK file
+     * @return lowercase hex checksum
+     */
+    String checksum(Path apk) {
+        try {
+            long size = Files.size(apk);
+            long modified = Files.getLastModifiedTime(apk).toMillis();
+            Checksum cached = checksums.get(apk);
+            if (cached != null && cached.size == size && cached.modified == modified) {
+                return cached.value;
+            }
+            String value = sha256(apk);
+            checksums.put(apk, new Checksum(size, modified, value));
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + apk, e);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Checksum of a file at a given size and modification time.
+     */
+    private static final class Checksum {
+        final long size;
+        final long modified;
+        final String value;
+
+        Checksum(long size, long modified, String value) {
+            this.size = size;
+            this.modified = modified;
+            this.value = value;
+        }
+    }
+}
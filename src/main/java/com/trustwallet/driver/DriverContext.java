@@ -0,0 +1,54 @@
+package com.trustwallet.driver;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+
+/**
+ * Holds the Appium session owned by the current thread.
+ * Page objects and utilities resolve their driver here, so parallel test methods never share a session.
+ */
+public final class DriverContext {
+    private static final ThreadLocal<AppiumDriver<MobileElement>> DRIVER = new ThreadLocal<>();
+
+    private DriverContext() {
+    }
+
+    /**
+     * Get the driver bound to the current thread.
+     *
+     * @return AppiumDriver instance
+     * @throws IllegalStateException if no driver is bound to the current thread
+     */
+    public static AppiumDriver<MobileElement> getDriver() {
+        AppiumDriver<MobileElement> driver = DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("No driver bound to thread " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    /**
+     * Check whether a driver is bound to the current thread.
+     *
+     * @return true if a driver is bound
+     */
+    public static boolean hasDriver() {
+        return DRIVER.get() != null;
+    }
+
+    /**
+     * Bind a driver to the current thread.
+     *
+     * @param driver AppiumDriver instance
+     */
+    static void setDriver(AppiumDriver<MobileElement> driver) {
+        DRIVER.set(driver);
+    }
+
+    /**
+     * Unbind the driver from the current thread.
+     */
+    static void clear() {
+        DRIVER.remove();
+    }
+}
@@ -0,0 +1,32 @@
+package com.trustwallet.driver;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+/**
+ * Creates new Appium sessions for the {@link DriverPool}.
+ */
+@FunctionalInterface
+public interface DriverFactory {
+
+    /**
+     * Open a new session.
+     *
+     * @param key server URL and capabilities of the session
+     * @return new driver instance
+     */
+    AppiumDriver<MobileElement> create(DriverKey key);
+
+    /**
+     * Factory that opens an {@link AndroidDriver} session whose commands are timed
+     * by an {@link InstrumentedCommandExecutor}.
+     *
+     * @return Android driver factory
+     */
+    static DriverFactory android() {
+        return key -> new AndroidDriver<>(new InstrumentedCommandExecutor(key.getServerUrl()),
+                new DesiredCapabilities(key.getCapabilities()));
+    }
+}
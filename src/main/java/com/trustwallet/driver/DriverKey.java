@@ -0,0 +1,85 @@
+package com.trustwallet.driver;
+
+import org.openqa.selenium.Capabilities;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Identifies a pool of interchangeable Appium sessions.
+ * Two sessions are interchangeable when they target the same server with the same capability set.
+ */
+public final class DriverKey {
+    private final URL serverUrl;
+    private final Map<String, Object> capabilities;
+
+    /**
+     * Constructor for DriverKey.
+     *
+     * @param serverUrl    Appium server URL
+     * @param capabilities capabilities the session is created with
+     */
+    public DriverKey(URL serverUrl, Capabilities capabilities) {
+        this.serverUrl = Objects.requireNonNull(serverUrl, "serverUrl");
+        this.capabilities = Collections.unmodifiableMap(new TreeMap<>(capabilities.asMap()));
+    }
+
+    /**
+     * Get the Appium server URL.
+     *
+     * @return server URL
+     */
+    public URL getServerUrl() {
+        return serverUrl;
+    }
+
+    /**
+     * Get the capability set as an immutable, key-sorted map.
+     *
+     * @return capabilities
+     */
+    public Map<String, Object> getCapabilities() {
+        return capabilities;
+    }
+
+    /**
+     * Get the device this key targets, preferring the UDID over the device name.
+     *
+     * @return device identifier or "unknown"
+     */
+    public String getDeviceId() {
+        Object udid = capabilities.get("udid");
+        if (udid != null && !udid.toString().isEmpty()) {
+            return udid.toString();
+        }
+        Object deviceName = capabilities.get("deviceName");
+        return deviceName != null ? deviceName.toString() : "unknown";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DriverKey)) {
+            return false;
+        }
+        DriverKey other = (DriverKey) o;
+        // URL.equals resolves host names, so compare the external form instead
+        return serverUrl.toExternalForm().equals(other.serverUrl.toExternalForm())
+                && capabilities.equals(other.capabilities);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(serverUrl.toExternalForm(), capabilities);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s@%s", getDeviceId(), serverUrl);
+    }
+}
@@ -0,0 +1,73 @@
+package com.trustwallet.driver;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+
+/**
+ * A session borrowed from the {@link DriverPool}.
+ * Closing the lease hands the session back to the pool, where it is health-checked before reuse.
+ */
+public final class DriverLease implements AutoCloseable {
+    private final DriverPool pool;
+    private final DriverPool.PooledSession session;
+    private volatile boolean broken;
+    private volatile boolean closed;
+
+    DriverLease(DriverPool pool, DriverPool.PooledSession session) {
+        this.pool = pool;
+        this.session = session;
+    }
+
+    /**
+     * Get the leased driver.
+     *
+     * @return AppiumDriver instance
+     */
+    public AppiumDriver<MobileElement> getDriver() {
+        return session.driver;
+    }
+
+    /**
+     * Get the pool key of the leased session.
+     *
+     * @return driver key
+     */
+    public DriverKey getKey() {
+        return session.key;
+    }
+
+    /**
+     * Check whether the session was reused rather than freshly created.
+     *
+     * @return true if the session served an earlier lease
+     */
+    public boolean isReused() {
+        return session.uses > 1;
+    }
+
+    /**
+     * Mark the session as broken so the pool evicts it instead of reusing it.
+     */
+    public void markBroken() {
+        this.broken = true;
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    DriverPool.PooledSession getSession() {
+        return session;
+    }
+
+    /**
+     * Return the session to the pool. Calling this more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            pool.release(this);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.trustwallet.driver;
+
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Keeps warm Appium sessions per device and capability set and leases them to tests.
+ * Sessions are health-checked when they are handed back and evicted when broken,
+ * so a test class only pays for session startup when no healthy session is idle.
+ */
+public class DriverPool {
+    private static final Logger log = LoggerFactory.getLogger(DriverPool.class);
+
+    private static DriverPool instance;
+
+    private final DriverFactory factory;
+    private final int maxIdlePerKey;
+    private final int maxUsesPerSession;
+    private final Duration validateAfterIdle;
+    private final Map<DriverKey, Deque<PooledSession>> idle = new ConcurrentHashMap<>();
+    private final Set<PooledSession> leased = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicInteger evicted = new AtomicInteger();
+
+    private volatile Predicate<AppiumDriver<MobileElement>> healthCheck = DriverPool::isSessionAlive;
+    private volatile BiConsumer<DriverKey, AppiumDriver<MobileElement>> resetHook = DriverPool::clearAppData;
+
+    /**
+     * Constructor for DriverPool.
+     *
+     * @param factory           factory used to open new sessions
+     * @param maxIdlePerKey     maximum number of idle sessions kept per key
+     * @param maxUsesPerSession number of leases after which a session is retired
+     * @param validateAfterIdle idle time after which a session is re-validated before it is leased again
+     */
+    public DriverPool(DriverFactory factory, int maxIdlePerKey, int maxUsesPerSession, Duration validateAfterIdle) {
+        this.factory = factory;
+        this.maxIdlePerKey = Math.max(1, maxIdlePerKey);
+        this.maxUsesPerSession = Math.max(1, maxUsesPerSession);
+        this.validateAfterIdle = validateAfterIdle;
+    }
+
+    /**
+     * Get the shared pool, configured from {@link ConfigManager}.
+     *
+     * @return DriverPool instance
+     */
+    public static synchronized DriverPool getInstance() {
+        if (instance == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            ConfigSnapshot snapshot = config.getConfig();
+            instance = new DriverPool(DriverFactory.android(),
+                    snapshot.getInt("driver.pool.max.idle", 1),
+                    snapshot.getInt("driver.pool.max.uses", 20),
+                    snapshot.getDuration("driver.pool.validate.after.idle", Duration.ofSeconds(30)));
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::shutdown, "driver-pool-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Replace the check used to validate sessions on return and after long idle periods.
+     *
+     * @param healthCheck predicate returning true for a usable session
+     */
+    public void setHealthCheck(Predicate<AppiumDriver<MobileElement>> healthCheck) {
+        this.healthCheck = healthCheck;
+    }
+
+    /**
+     * Replace the hook that brings the app back to its start state before a session is reused.
+     *
+     * @param resetHook hook receiving the pool key and the reused driver
+     */
+    public void setResetHook(BiConsumer<DriverKey, AppiumDriver<MobileElement>> resetHook) {
+        this.resetHook = resetHook;
+    }
+
+    /**
+     * Lease a session for the given key, reusing a warm one when available.
+     *
+     * @param key server URL and capabilities
+     * @return lease that must be closed to hand the session back
+     */
+    public DriverLease lease(DriverKey key) {
+        Deque<PooledSession> sessions = idle.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        PooledSession session;
+        while ((session = sessions.pollFirst()) != null) {
+            if (prepareForReuse(session)) {
+                reused.incrementAndGet();
+                log.info("Reusing warm session {} for {}", session.sessionId(), key);
+                return checkOut(session);
+            }
+        }
+
+        log.info("No warm session available for {}, creating a new one", key);
+        return checkOut(open(key));
+    }
+
+    /**
+     * Open sessions ahead of time so the first tests do not pay for session startup.
+     *
+     * @param key   server URL and capabilities
+     * @param count number of sessions to keep idle
+     */
+    public void warmUp(DriverKey key, int count) {
+        Deque<PooledSession> sessions = idle.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        int target = Math.min(count, maxIdlePerKey);
+        while (sessions.size() < target) {
+            PooledSession session = open(key);
+            if (healthCheck.test(session.driver)) {
+                sessions.offerFirst(session);
+            } else {
+                evict(session, "failed validation during warm-up");
+            }
+        }
+        log.info("Warmed up {} session(s) for {}", sessions.size(), key);
+    }
+
+    /**
+     * Hand a leased session back. Broken, worn-out or unhealthy sessions are evicted.
+     *
+     * @param lease lease to release
+     */
+    void release(DriverLease lease) {
+        PooledSession session = lease.getSession();
+        leased.remove(session);
+
+        if (lease.isBroken()) {
+            evict(session, "marked broken by test");
+            return;
+        }
+        if (session.uses >= maxUsesPerSession) {
+            evict(session, "reached " + maxUsesPerSession + " uses");
+            return;
+        }
+        if (!healthCheck.test(session.driver)) {
+            evict(session, "failed health check on return");
+            return;
+        }
+
+        Deque<PooledSession> sessions = idle.computeIfAbsent(session.key, k -> new ConcurrentLinkedDeque<>());
+        if (sessions.size() >= maxIdlePerKey) {
+            evict(session, "idle limit reached");
+            return;
+        }
+        session.lastReturnedNanos = System.nanoTime();
+        // LIFO keeps the most recently used, warmest session at the head
+        sessions.offerFirst(session);
+        log.debug("Session {} returned to pool for {}", session.sessionId(), session.key);
+    }
+
+    /**
+     * Quit every idle and leased session.
+     */
+    public void shutdown() {
+        List<PooledSession> all = new ArrayList<>(leased);
+        idle.values().forEach(all::addAll);
+        idle.clear();
+        leased.clear();
+        for (PooledSession session : all) {
+            quietlyQuit(session);
+        }
+        log.info("Driver pool shut down: created={}, reused={}, evicted={}", created.get(), reused.get(), evicted.get());
+    }
+
+    /**
+     * Get the number of sessions opened by this pool.
+     *
+     * @return created session count
+     */
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * Get the number of leases served by a warm session.
+     *
+     * @return reuse count
+     */
+    public int getReusedCount() {
+        return reused.get();
+    }
+
+    /**
+     * Get the number of sessions evicted from this pool.
+     *
+     * @return eviction count
+     */
+    public int getEvictedCount() {
+        return evicted.get();
+    }
+
+    /**
+     * Get the number of idle sessions for a key.
+     *
+     * @param key server URL and capabilities
+     * @return idle session count
+     */
+    public int getIdleCount(DriverKey key) {
+        Deque<PooledSession> sessions = idle.get(key);
+        return sessions == null ? 0 : sessions.size();
+    }
+
+    private PooledSession open(DriverKey key) {
+        PooledSession session = new PooledSession(key, factory.create(key));
+        created.incrementAndGet();
+        return session;
+    }
+
+    private DriverLease checkOut(PooledSession session) {
+        session.uses++;
+        leased.add(session);
+        return new DriverLease(this, session);
+    }
+
+    private boolean prepareForReuse(PooledSession session) {
+        long idleNanos = System.nanoTime() - session.lastReturnedNanos;
+        if (idleNanos > validateAfterIdle.toNanos() && !healthCheck.test(session.driver)) {
+            evict(session, "failed validation after idling");
+            return false;
+        }
+        try {
+            resetHook.accept(session.key, session.driver);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to reset session {} for reuse", session.sessionId(), e);
+            evict(session, "reset failed");
+            return false;
+        }
+    }
+
+    private void evict(PooledSession session, String reason) {
+        evicted.incrementAndGet();
+        log.info("Evicting session {} for {}: {}", session.sessionId(), session.key, reason);
+        quietlyQuit(session);
+    }
+
+    private static void quietlyQuit(PooledSession session) {
+        try {
+            session.driver.quit();
+        } catch (Exception e) {
+            log.debug("Ignoring failure while quitting session {}", session.sessionId(), e);
+        }
+    }
+
+    /**
+     * Default health check: the server still knows the session.
+     *
+     * @param driver driver to check
+     * @return true if the session answers
+     */
+    static boolean isSessionAlive(AppiumDriver<MobileElement> driver) {
+        try {
+            return driver.getSessionId() != null && driver.getSessionDetails() != null;
+        } catch (Exception e) {
+            log.debug("Health check failed for session {}", driver.getSessionId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Default reset hook: clear the app data and relaunch the app, which gives the next test
+     * the same fresh start as a new session without reinstalling the APK.
+     *
+     * @param key    pool key of the session
+     * @param driver reused driver
+     */
+    static void clearAppData(DriverKey key, AppiumDriver<MobileElement> driver) {
+        Object appPackage = key.getCapabilities().get("appPackage");
+        if (appPackage == null) {
+            return;
+        }
+        driver.executeScript("mobile: clearApp", Collections.singletonMap("appId", appPackage.toString()));
+        driver.activateApp(appPackage.toString());
+    }
+
+    /**
+     * Session tracked by the pool.
+     */
+    static final class PooledSession {
+        final DriverKey key;
+        final AppiumDriver<MobileElement> driver;
+        volatile int uses;
+        volatile long lastReturnedNanos = System.nanoTime();
+
+        PooledSession(DriverKey key, AppiumDriver<MobileElement> driver) {
+            this.key = key;
+            this.driver = driver;
+        }
+
+        String sessionId() {
+            return String.valueOf(driver.getSessionId());
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.trustwallet.driver;
+
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the last commands of one session, and the last page sources the test fetched, in preallocated
+ * ring buffers. Recording only stores references and numbers, plus a redacted copy of page sources
+ * showing secrets; the report, including the differences
+ * between consecutive page sources, is built only when a failed test dumps it.
+ * Command arguments other than locators and element ids, such as typed text, are never recorded, and the
+ * texts of the seed phrase, word option and PIN nodes are redacted from page sources before they are kept.
+ */
+public class FlightRecorder {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+    private static final FlightRecorder DISABLED = new FlightRecorder(0, 0);
+    private static final String REDACTED = "***";
+    // Nodes whose text is a secret: the seed phrase, the words offered to confirm it and the PIN
+    private static final Pattern SECRET_ID =
+            Pattern.compile("resource-id=\"[^\"]*:id/(?:seed_word|word_option|pin_input)\"");
+    private static final Pattern NODE = Pattern.compile("<[^<>]*>");
+    private static final Pattern TEXT = Pattern.compile("(\\stext=\")[^\"]*(\")");
+
+    private final long[] startMillis;
+    private final long[] durationNanos;
+    private final String[] commands;
+    private final String[] usings;
+    private final String[] values;
+    private final String[] results;
+    private long recorded;
+
+    private final long[] sourceMillis;
+    private final long[] sourceAfter;
+    private final String[] sources;
+    private long sourcesRecorded;
+
+    /**
+     * Constructor for FlightRecorder.
+     *
+     * @param capacity       number of commands kept
+     * @param sourceCapacity number of page sources kept
+     */
+    public FlightRecorder(int capacity, int sourceCapacity) {
+        startMillis = new long[capacity];
+        durationNanos = new long[capacity];
+        commands = new String[capacity];
+        usings = new String[capacity];
+        values = new String[capacity];
+        results = new String[capacity];
+        sourceMillis = new long[sourceCapacity];
+        sourceAfter = new long[sourceCapacity];
+        sources = new String[sourceCapacity];
+    }
+
+    /**
+     * Create a recorder sized by {@code flight.recorder.size} and {@code flight.recorder.sources}.
+     *
+     * @return new recorder
+     */
+    public static FlightRecorder fromConfig() {
+        ConfigSnapshot config = ConfigManager.getInstance().getConfig();
+        return new FlightRecorder(Math.max(0, config.getInt("flight.recorder.size", 50)),
+                Math.max(0, config.getInt("flight.recorder.sources", 5)));
+    }
+
+    /**
+     * Get the recorder of a driver's session.
+     *
+     * @param driver driver created by {@link DriverFactory#android()}
+     * @return recorder, or an empty one if the driver is not instrumented
+     */
+    public static FlightRecorder of(WebDriver driver) {
+        if (driver instanceof RemoteWebDriver) {
+            CommandExecutor executor = ((RemoteWebDriver) driver).getCommandExecutor();
+            if (executor instanceof InstrumentedCommandExecutor) {
+                return ((InstrumentedCommandExecutor) executor).getFlightRecorder();
+            }
+        }
+        return DISABLED;
+    }
+
+    /**
+     * Record one finished command.
+     *
+     * @param startMillis   wall-clock start time
+     * @param durationNanos duration
+     * @param command       command name
+     * @param using         locator strategy, or "element" for element commands, may be null
+     * @param value         locator value or element id, may be null
+     * @param result        null if the command succeeded, otherwise the error
+     */
+    synchronized void record(long startMillis, long durationNanos, String command, String using, String value,
+                             String result) {
+        if (commands.length == 0) {
+            return;
+        }
+        int slot = (int) (recorded++ % commands.length);
+        this.startMillis[slot] = startMillis;
+        this.durationNanos[slot] = durationNanos;
+        this.commands[slot] = command;
+        this.usings[slot] = using;
+        this.values[slot] = value;
+        this.results[slot] = result;
+    }
+
+    /**
+     * Record a page source returned to the test.
+     *
+     * @param timeMillis wall-clock time
+     * @param source     page source
+     */
+    synchronized void recordSource(long timeMillis, String source) {
+        if (sources.length == 0) {
+            return;
+        }
+        int slot = (int) (sourcesRecorded++ % sources.length);
+        sourceMillis[slot] = timeMillis;
+        sourceAfter[slot] = recorded;
+        sources[slot] = redact(source);
+    }
+
+    /**
+     * Blank the text of every node holding a secret.
+     *
+     * @param source page source
+     * @return page source without secrets
+     */
+    static String redact(String source) {
+        if (source == null || !SECRET_ID.matcher(source).find()) {
+            return source;
+        }
+        Matcher node = NODE.matcher(source);
+        StringBuffer redacted = new StringBuffer(source.length());
+        while (node.find()) {
+            String tag = node.group();
+            if (SECRET_ID.matcher(tag).find()) {
+                tag = TEXT.matcher(tag).replaceAll("$1" + REDACTED + "$2");
+            }
+            node.appendReplacement(redacted, Matcher.quoteReplacement(tag));
+        }
+        node.appendTail(redacted);
+        return redacted.toString();
+    }
+
+    /**
+     * Forget everything recorded so far, e.g. when a pooled session starts a new test.
+     */
+    public synchronized void clear() {
+        recorded = 0;
+        sourcesRecorded = 0;
+        Arrays.fill(sources, null);
+    }
+
+    /**
+     * Get the number of commands recorded since the last clear.
+     *
+     * @return command count, including commands no longer in the buffer
+     */
+    public synchronized long getRecordedCount() {
+        return recorded;
+    }
+
+    /**
+     * Render the recorded commands, oldest first, followed by the recorded page sources as differences
+     * to the previous one.
+     *
+     * @return report lines
+     */
+    public synchronized List<String> dump() {
+        List<String> lines = new ArrayList<>();
+        long first = Math.max(0, recorded - commands.length);
+        lines.add(String.format("Last %d of %d commands:", recorded - first, recorded));
+        for (long i = first; i < recorded; i++) {
+            int slot = (int) (i % commands.length);
+            StringBuilder line = new StringBuilder(String.format("#%d %s %6.1fms %s", i + 1,
+                    TIME.format(Instant.ofEpochMilli(startMillis[slot])),
+                    durationNanos[slot] / (double) TimeUnit.MILLISECONDS.toNanos(1), commands[slot]));
+            if (usings[slot] != null) {
+                line.append(' ').append(usings[slot]);
+                if (values[slot] != null) {
+                    line.append('=').append(values[slot]);
+                }
+            }
+            line.append(" -> ").append(results[slot] == null ? "ok" : results[slot]);
+            lines.add(line.toString());
+        }
+
+        long firstSource = Math.max(0, sourcesRecorded - sources.length);
+        List<String> previous = null;
+        for (long i = firstSource; i < sourcesRecorded; i++) {
+            int slot = (int) (i % sources.length);
+            List<String> nodes = nodes(sources[slot]);
+            lines.add(String.format("Page source after command #%d at %s (%d nodes)%s", sourceAfter[slot],
+                    TIME.format(Instant.ofEpochMilli(sourceMillis[slot])), nodes.size(),
+                    previous == null ? ":" : ", changes:"));
+            if (previous == null) {
+                nodes.forEach(node -> lines.add("  " + node));
+            } else {
+                lines.addAll(delta(previous, nodes));
+            }
+            previous = nodes;
+        }
+        return lines;
+    }
+
+    private static List<String> nodes(String source) {
+        List<String> nodes = new ArrayList<>();
+        for (String part : source.split("(?=<)")) {
+            String node = part.trim();
+            if (!node.isEmpty() && !node.startsWith("<?") && !node.startsWith("</")) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private static List<String> delta(List<String> before, List<String> after) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        before.forEach(node -> counts.merge(node, 1, Integer::sum));
+        List<String> added = new ArrayList<>();
+        for (String node : after) {
+            if (counts.merge(node, -1, Integer::sum) < 0) {
+                added.add("  + " + node);
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        counts.forEach((node, count) -> {
+            for (int i = 0; i < count; i++) {
+                lines.add("  - " + node);
+            }
+        });
+        lines.addAll(added);
+        if (lines.isEmpty()) {
+            lines.add("  (unchanged)");
+        }
+        return lines;
+    }
+
+    /**
+     * Describe a failed response.
+     *
+     * @param status response status
+     * @return error name
+     */
+    static String describe(int status) {
+        return new ErrorCodes().toState(status);
+    }
+}
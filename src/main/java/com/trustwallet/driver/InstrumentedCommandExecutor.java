@@ -0,0 +1,104 @@
+package com.trustwallet.driver;
+
+import com.trustwallet.impact.ImpactRecorder;
+import com.trustwallet.metrics.LatencyMetrics;
+import com.trustwallet.utils.Viewport;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * Appium command executor that times every command sent to the server and records it
+ * in {@link LatencyMetrics}, with find commands also recorded per locator, and in the
+ * session's {@link FlightRecorder}. Commands sent by a test also feed {@link ImpactRecorder}.
+ * Rotating or quitting a session drops its cached {@link Viewport}.
+ */
+public class InstrumentedCommandExecutor extends AppiumCommandExecutor {
+    private final FlightRecorder flightRecorder = FlightRecorder.fromConfig();
+
+    /**
+     * Constructor for InstrumentedCommandExecutor.
+     *
+     * @param serverUrl Appium server URL
+     */
+    public InstrumentedCommandExecutor(URL serverUrl) {
+        super(MobileCommand.commandRepository, serverUrl);
+    }
+
+    /**
+     * Get the recorder of the last commands of this session.
+     *
+     * @return flight recorder
+     */
+    public FlightRecorder getFlightRecorder() {
+        return flightRecorder;
+    }
+
+    @Override
+    public Response execute(Command command) throws WebDriverException {
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Response response = null;
+        String failure = null;
+        try {
+            response = super.execute(command);
+            return response;
+        } catch (RuntimeException e) {
+            failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String name = command.getName();
+            Map<String, ?> parameters = command.getParameters();
+            boolean find = isFind(name);
+            if (LatencyMetrics.isEnabled()) {
+                if (find) {
+                    LatencyMetrics.recordCommand(name, String.valueOf(parameters.get("using")),
+                            String.valueOf(parameters.get("value")), elapsed);
+                } else {
+                    LatencyMetrics.recordCommand(name, null, null, elapsed);
+                }
+            }
+            if (ImpactRecorder.isRecording()) {
+                ImpactRecorder.recordCommand(find ? String.valueOf(parameters.get("using")) : null,
+                        find ? String.valueOf(parameters.get("value")) : null);
+            }
+
+            if (response != null && response.getStatus() != null && response.getStatus() != 0) {
+                failure = FlightRecorder.describe(response.getStatus());
+            }
+            // Only locators and element ids are kept; values of other commands may be typed secrets
+            if (find) {
+                flightRecorder.record(startMillis, elapsed, name, String.valueOf(parameters.get("using")),
+                        String.valueOf(parameters.get("value")), failure);
+            } else {
+                Object elementId = parameters.get("id");
+                flightRecorder.record(startMillis, elapsed, name, elementId == null ? null : "element",
+                        elementId == null ? null : elementId.toString(), failure);
+            }
+            if (command.getSessionId() != null && changesViewport(name)) {
+                Viewport.invalidate(command.getSessionId().toString());
+            }
+            if (failure == null && DriverCommand.GET_PAGE_SOURCE.equals(name)
+                    && response != null && response.getValue() instanceof String) {
+                flightRecorder.recordSource(startMillis, (String) response.getValue());
+            }
+        }
+    }
+
+    private static boolean changesViewport(String name) {
+        return DriverCommand.SET_SCREEN_ORIENTATION.equals(name) || DriverCommand.SET_SCREEN_ROTATION.equals(name)
+                || DriverCommand.QUIT.equals(name);
+    }
+
+    private static boolean isFind(String name) {
+        return DriverCommand.FIND_ELEMENT.equals(name) || DriverCommand.FIND_ELEMENTS.equals(name)
+                || DriverCommand.FIND_CHILD_ELEMENT.equals(name) || DriverCommand.FIND_CHILD_ELEMENTS.equals(name);
+    }
+}
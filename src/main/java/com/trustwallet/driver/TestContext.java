@@ -0,0 +1,194 @@
+package com.trustwallet.driver;
+
+import com.trustwallet.device.Device;
+import com.trustwallet.device.DeviceRegistry;
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import com.trustwallet.utils.ScreenshotUtils;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread state of the running test method: its environment, leased session and helpers.
+ * A context is opened before each test method and closed after it, which hands the session back to the pool.
+ */
+public final class TestContext {
+    private static final Logger log = LoggerFactory.getLogger(TestContext.class);
+    private static final ThreadLocal<TestContext> CURRENT = new ThreadLocal<>();
+
+    private final String environment;
+    private final Device device;
+    private DriverLease driverLease;
+    private ScreenshotUtils screenshotUtils;
+    private final Map<Class<?>, Object> attributes = new HashMap<>();
+
+    private TestContext(String environment, Device device, DriverLease driverLease) {
+        this.environment = environment;
+        this.device = device;
+        this.driverLease = driverLease;
+        this.screenshotUtils = new ScreenshotUtils(driverLease.getDriver());
+    }
+
+    /**
+     * Open a context for the current thread and bind the leased driver to {@link DriverContext}.
+     *
+     * @param environment test environment (dev, staging, prod)
+     * @param device      device leased for this test method
+     * @param driverLease session leased for this test method
+     * @return the new context
+     */
+    public static TestContext open(String environment, Device device, DriverLease driverLease) {
+        if (CURRENT.get() != null) {
+            log.warn("Replacing test context that was not closed on thread {}", Thread.currentThread().getName());
+            close();
+        }
+        TestContext context = new TestContext(environment, device, driverLease);
+        CURRENT.set(context);
+        DriverContext.setDriver(driverLease.getDriver());
+        return context;
+    }
+
+    /**
+     * Get the context of the current thread.
+     *
+     * @return current test context
+     * @throws IllegalStateException if no context is open on the current thread
+     */
+    public static TestContext current() {
+        TestContext context = CURRENT.get();
+        if (context == null) {
+            throw new IllegalStateException("No test context open on thread " + Thread.currentThread().getName());
+        }
+        return context;
+    }
+
+    /**
+     * Check whether a context is open on the current thread.
+     *
+     * @return true if a context is open
+     */
+    public static boolean isOpen() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Close the context of the current thread, return its session to the pool and release its device.
+     */
+    public static void close() {
+        TestContext context = CURRENT.get();
+        CURRENT.remove();
+        DriverContext.clear();
+        if (context != null) {
+            try {
+                context.driverLease.close();
+            } finally {
+                DeviceRegistry.getInstance().release(context.device);
+            }
+        }
+    }
+
+    /**
+     * Replace the session of the running test, e.g. after an emulator snapshot was loaded that the old
+     * session cannot survive. The old session is evicted from the pool and the new driver is bound to
+     * {@link DriverContext}. Stored per-test objects are dropped, as page objects hold the old driver.
+     *
+     * @param lease session leased to continue the test with
+     */
+    public void replaceDriverLease(DriverLease lease) {
+        DriverLease old = driverLease;
+        old.markBroken();
+        old.close();
+        driverLease = lease;
+        screenshotUtils = new ScreenshotUtils(lease.getDriver());
+        attributes.clear();
+        if (CURRENT.get() == this) {
+            DriverContext.setDriver(lease.getDriver());
+        }
+    }
+
+    /**
+     * Get the environment of the running test.
+     *
+     * @return environment name
+     */
+    public String getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Get the device the running test executes on.
+     *
+     * @return leased device
+     */
+    public Device getDevice() {
+        return device;
+    }
+
+    /**
+     * Get the configuration snapshot of the running test's environment.
+     *
+     * @return immutable configuration snapshot
+     */
+    public ConfigSnapshot getConfig() {
+        return ConfigManager.getInstance().forEnvironment(environment);
+    }
+
+    /**
+     * Get the driver owned by the running test.
+     *
+     * @return AppiumDriver instance
+     */
+    public AppiumDriver<MobileElement> getDriver() {
+        return driverLease.getDriver();
+    }
+
+    /**
+     * Get the lease of the running test's session.
+     *
+     * @return driver lease
+     */
+    public DriverLease getDriverLease() {
+        return driverLease;
+    }
+
+    /**
+     * Get the screenshot utility bound to the running test's session.
+     *
+     * @return ScreenshotUtils instance
+     */
+    public ScreenshotUtils getScreenshotUtils() {
+        return screenshotUtils;
+    }
+
+    /**
+     * Store a per-test object, such as a page object, under its type.
+     *
+     * @param type  key type
+     * @param value value to store
+     * @param <T>   value type
+     */
+    public <T> void put(Class<T> type, T value) {
+        attributes.put(type, value);
+    }
+
+    /**
+     * Get a per-test object stored under its type.
+     *
+     * @param type key type
+     * @param <T>  value type
+     * @return stored value
+     * @throws IllegalStateException if nothing is stored under the type
+     */
+    public <T> T get(Class<T> type) {
+        Object value = attributes.get(type);
+        if (value == null) {
+            throw new IllegalStateException("No " + type.getSimpleName() + " in the current test context");
+        }
+        return type.cast(value);
+    }
+}
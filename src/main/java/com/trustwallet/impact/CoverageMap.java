@@ -0,0 +1,159 @@
+package com.trustwallet.impact;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * What each test exercised in its last recorded run: page-object members as {@code Class#method}
+ * and locators as {@code locator:<strategy>=<value>}. Stored as a text file with a {@code [test id]}
+ * header followed by one key per line.
+ */
+final class CoverageMap {
+    private static final Logger log = LoggerFactory.getLogger(CoverageMap.class);
+    static final String LOCATOR_PREFIX = "locator:";
+
+    private final Path file;
+    private final Map<String, Set<String>> keysByTest = new TreeMap<>();
+
+    CoverageMap(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load coverage from a file. A missing or unreadable file gives an empty map.
+     *
+     * @param file coverage file
+     * @return coverage map
+     */
+    static CoverageMap load(Path file) {
+        CoverageMap map = new CoverageMap(file);
+        if (!Files.exists(file)) {
+            log.info("No test coverage at {}", file);
+            return map;
+        }
+        try {
+            Set<String> keys = null;
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+                    keys = map.keysByTest.computeIfAbsent(trimmed.substring(1, trimmed.length() - 1),
+                            test -> new TreeSet<>());
+                } else if (keys != null) {
+                    keys.add(trimmed);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable test coverage {}", file, e);
+            map.keysByTest.clear();
+        }
+        log.info("Loaded coverage of {} test(s) from {}", map.keysByTest.size(), file);
+        return map;
+    }
+
+    /**
+     * Replace the recorded coverage of a test.
+     *
+     * @param test test id, e.g. com.trustwallet.tests.CreateWalletTest.testPinMismatch
+     * @param keys members and locators the test exercised
+     */
+    synchronized void put(String test, Collection<String> keys) {
+        keysByTest.put(test, new TreeSet<>(keys));
+    }
+
+    /**
+     * Check whether a test has recorded coverage.
+     *
+     * @param test test id
+     * @return true if the test ran with recording before
+     */
+    synchronized boolean contains(String test) {
+        return keysByTest.containsKey(test);
+    }
+
+    /**
+     * Get the tests that exercised a member or locator.
+     *
+     * @param key key such as {@code com.trustwallet.pages.BasePage#click}
+     * @return test ids, empty if none
+     */
+    synchronized Set<String> testsCovering(String key) {
+        Set<String> tests = new TreeSet<>();
+        keysByTest.forEach((test, keys) -> {
+            if (keys.contains(key)) {
+                tests.add(test);
+            }
+        });
+        return tests;
+    }
+
+    /**
+     * Get the tests that exercised any member of a type or of the types nested in it.
+     *
+     * @param type binary type name
+     * @return test ids, empty if none
+     */
+    synchronized Set<String> testsCoveringType(String type) {
+        Set<String> tests = new TreeSet<>();
+        keysByTest.forEach((test, keys) -> {
+            for (String key : keys) {
+                if (key.startsWith(type + "#") || key.startsWith(type + "$")) {
+                    tests.add(test);
+                    break;
+                }
+            }
+        });
+        return tests;
+    }
+
+    /**
+     * Get all recorded test ids.
+     *
+     * @return test ids
+     */
+    synchronized Set<String> getTests() {
+        return Collections.unmodifiableSet(new TreeSet<>(keysByTest.keySet()));
+    }
+
+    /**
+     * Write the map back to its file, replacing it atomically.
+     */
+    synchronized void save() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                out.write("# Page-object members and locators exercised per test, written by ImpactRecorder");
+                out.newLine();
+                for (Map.Entry<String, Set<String>> entry : keysByTest.entrySet()) {
+                    out.write("[" + entry.getKey() + "]");
+                    out.newLine();
+                    for (String key : entry.getValue()) {
+                        out.write(key);
+                        out.newLine();
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved coverage of {} test(s) to {}", keysByTest.size(), file);
+        } catch (IOException e) {
+            log.error("Failed to save test coverage to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.trustwallet.impact;
+
+import com.trustwallet.impact.SourceDiff.FileChange;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the tests affected by a set of file changes from the recorded {@link CoverageMap}.
+ * A changed line inside a member selects the tests that exercised that member; a changed locator
+ * annotation selects the tests that used the old or the new locator; other class-level code selects
+ * every test that exercised the class. Whenever the recorded coverage cannot vouch for a change,
+ * e.g. build files, configuration, binaries or classes no recorded test reached, the whole suite runs.
+ */
+final class ImpactAnalyzer {
+    static final String MAIN_SOURCES = "src/main/java/";
+    static final String UI_TEST_SOURCES = "src/test/java/com/trustwallet/tests/";
+    private static final String TEST_SOURCES = "src/test/java/";
+    private static final String CODEGEN_SOURCES = MAIN_SOURCES + "com/trustwallet/codegen/";
+    private static final Pattern LOCATOR = Pattern.compile(
+            "@(?:AndroidFindBy|iOSXCUITFindBy)\\s*\\(\\s*(\\w+)\\s*=\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Map<String, String> STRATEGIES = new HashMap<>();
+
+    static {
+        STRATEGIES.put("id", "id");
+        STRATEGIES.put("accessibility", "accessibility id");
+        STRATEGIES.put("className", "class name");
+        STRATEGIES.put("xpath", "xpath");
+        STRATEGIES.put("uiAutomator", "-android uiautomator");
+        STRATEGIES.put("iOSNsPredicate", "-ios predicate string");
+        STRATEGIES.put("iOSClassChain", "-ios class chain");
+    }
+
+    private final CoverageMap coverage;
+
+    /**
+     * Constructor for ImpactAnalyzer.
+     *
+     * @param coverage recorded coverage of previous runs
+     */
+    ImpactAnalyzer(CoverageMap coverage) {
+        this.coverage = coverage;
+    }
+
+    /**
+     * Select the tests affected by a set of changes.
+     *
+     * @param changes changed files
+     * @param sources contents of the changed files before and after the change
+     * @param tests   ids of the tests in the suite; those without recorded coverage are always selected
+     * @return selection
+     * @throws IOException if a changed file cannot be read
+     */
+    Selection select(List<FileChange> changes, Sources sources, Collection<String> tests) throws IOException {
+        Selection selection = new Selection();
+        for (FileChange change : changes) {
+            String path = change.getPath();
+            if (isIgnored(path)) {
+                continue;
+            }
+            if (change.binary || !path.endsWith(".java") || path.startsWith(CODEGEN_SOURCES)
+                    || !(path.startsWith(MAIN_SOURCES) || path.startsWith(TEST_SOURCES))) {
+                selection.runAll(path + " is not covered by method-level impact");
+                return selection;
+            }
+            if (path.startsWith(TEST_SOURCES) && !path.startsWith(UI_TEST_SOURCES)) {
+                // Unit tests of the framework itself are not part of the UI suite
+                continue;
+            }
+            if (change.added) {
+                // Nothing ran a new class yet; whatever uses it changed too
+                continue;
+            }
+            JavaMembers before = JavaMembers.parse(sources.oldLines(change));
+            JavaMembers after = JavaMembers.parse(sources.newLines(change));
+            // Changed locators, with the type declaring them
+            Map<String, String> locators = new HashMap<>();
+            for (Map.Entry<Integer, String> line : change.removed.entrySet()) {
+                affect(before, line.getKey(), line.getValue(), path, locators, selection);
+            }
+            for (Map.Entry<Integer, String> line : change.addedLines.entrySet()) {
+                affect(after, line.getKey(), line.getValue(), path, locators, selection);
+            }
+            affectLocators(locators, path, selection);
+            if (selection.isFullSuite()) {
+                return selection;
+            }
+        }
+        for (String test : tests) {
+            if (!coverage.contains(test)) {
+                selection.add(Collections.singleton(test), test + " has no recorded coverage");
+            }
+        }
+        return selection;
+    }
+
+    private void affect(JavaMembers map, int line, String text, String path, Map<String, String> locators,
+                        Selection selection) {
+        if (!map.isCode(line)) {
+            return;
+        }
+        String member = map.memberAt(line);
+        if (member != null) {
+            Set<String> tests = coverage.testsCovering(member);
+            if (tests.isEmpty()) {
+                affectType(member.substring(0, member.indexOf('#')), path, selection);
+            } else {
+                selection.add(tests, member + " changed");
+            }
+            return;
+        }
+        String type = map.typeAt(line) != null ? map.typeAt(line) : map.primaryType();
+        Matcher locator = LOCATOR.matcher(text);
+        if (locator.find() && STRATEGIES.containsKey(locator.group(1)) && type != null) {
+            locators.put(ImpactRecorder.locatorKey(STRATEGIES.get(locator.group(1)), unescape(locator.group(2))), type);
+            return;
+        }
+        affectType(type, path, selection);
+    }
+
+    /**
+     * Select the tests that used the old or the new value of changed locators. When none used them,
+     * e.g. because the page reads the locator from a page source snapshot, the tests of the page run.
+     */
+    private void affectLocators(Map<String, String> locators, String path, Selection selection) {
+        Set<String> tests = new TreeSet<>();
+        locators.keySet().forEach(key -> tests.addAll(coverage.testsCovering(key)));
+        if (!tests.isEmpty()) {
+            selection.add(tests, "locator " + String.join(", ", new TreeSet<>(locators.keySet())) + " changed");
+        } else {
+            new TreeSet<>(locators.values()).forEach(type -> affectType(type, path, selection));
+        }
+    }
+
+    private void affectType(String type, String path, Selection selection) {
+        if (type == null) {
+            selection.runAll(path + " changed outside any type");
+            return;
+        }
+        String topLevel = type.contains("$") ? type.substring(0, type.indexOf('$')) : type;
+        Set<String> tests = coverage.testsCoveringType(topLevel);
+        if (tests.isEmpty()) {
+            selection.runAll(type + " changed and no recorded test exercised it");
+        } else {
+            selection.add(tests, type + " changed");
+        }
+    }
+
+    private static boolean isIgnored(String path) {
+        return path.endsWith(".md") || path.equals(".gitignore")
+                || path.startsWith("manual-test-cases/") || path.startsWith("benchmarks/");
+    }
+
+    private static String unescape(String literal) {
+        StringBuilder value = new StringBuilder(literal.length());
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '\\' && i + 1 < literal.length()) {
+                c = literal.charAt(++i);
+            }
+            value.append(c);
+        }
+        return value.toString();
+    }
+
+    /**
+     * Contents of a changed file on both sides of the change.
+     */
+    interface Sources {
+        /**
+         * Read a file as it was before the change.
+         *
+         * @param change changed file
+         * @return lines, empty for an added file
+         * @throws IOException if the file cannot be read
+         */
+        List<String> oldLines(FileChange change) throws IOException;
+
+        /**
+         * Read a file as it is after the change.
+         *
+         * @param change changed file
+         * @return lines, empty for a deleted file
+         * @throws IOException if the file cannot be read
+         */
+        List<String> newLines(FileChange change) throws IOException;
+    }
+
+    /**
+     * Tests to run, with the reasons they were selected.
+     */
+    static final class Selection {
+        private final Set<String> tests = new TreeSet<>();
+        private final Set<String> reasons = new LinkedHashSet<>();
+        private boolean fullSuite;
+
+        /**
+         * Check whether the whole suite must run.
+         *
+         * @return true if the change cannot be narrowed down
+         */
+        boolean isFullSuite() {
+            return fullSuite;
+        }
+
+        /**
+         * Get the selected test ids; meaningless when {@link #isFullSuite()}.
+         *
+         * @return test ids
+         */
+        Set<String> getTests() {
+            return Collections.unmodifiableSet(tests);
+        }
+
+        /**
+         * Get why tests were selected, in the order the changes were seen.
+         *
+         * @return reasons
+         */
+        Set<String> getReasons() {
+            return Collections.unmodifiableSet(reasons);
+        }
+
+        void add(Collection<String> selected, String reason) {
+            tests.addAll(selected);
+            reasons.add(reason);
+        }
+
+        void runAll(String reason) {
+            fullSuite = true;
+            reasons.add(reason);
+        }
+    }
+}
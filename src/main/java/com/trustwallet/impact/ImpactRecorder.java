@@ -0,0 +1,157 @@
+package com.trustwallet.impact;
+
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records which page-object members and locators each test exercised, for {@link ImpactSelector}.
+ * Every driver command issued from a test method or its {@code @BeforeMethod} samples the call stack,
+ * so a member counts as exercised when it sent at least one command or called one that did.
+ * Coverage is merged into {@code impact.coverage.path} when the suite finishes; {@code impact.record=false}
+ * turns recording off.
+ */
+public class ImpactRecorder implements IInvokedMethodListener, ISuiteListener {
+    private static final Logger log = LoggerFactory.getLogger(ImpactRecorder.class);
+    private static final String ROOT_PACKAGE = "com.trustwallet.";
+    private static final String OWN_PACKAGE = "com.trustwallet.impact.";
+    private static final Pattern LAMBDA = Pattern.compile("lambda\\$(.+?)\\$\\d+");
+    private static final Pattern WOVEN = Pattern.compile("(.+?)_aroundBody\\d+");
+    private static final Pattern ANONYMOUS = Pattern.compile("\\$\\d+(?=\\$|$)");
+
+    private static final ThreadLocal<Set<String>> current = new ThreadLocal<>();
+    private static final Map<String, Set<String>> recorded = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+
+    @Override
+    public void onStart(ISuite suite) {
+        enabled = ConfigManager.getInstance().getDefaultConfig().getBoolean("impact.record", true);
+        recorded.clear();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (enabled && (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration())
+                && current.get() == null) {
+            current.set(new HashSet<>());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        Set<String> keys = current.get();
+        current.remove();
+        if (keys == null) {
+            return;
+        }
+        // The test itself counts, so editing a test that sends no command still selects it
+        keys.add(result.getMethod().getRealClass().getName() + "#" + result.getMethod().getMethodName());
+        recorded.merge(result.getMethod().getQualifiedName(), keys, (previous, latest) -> {
+            previous.addAll(latest);
+            return previous;
+        });
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!enabled || recorded.isEmpty()) {
+            return;
+        }
+        ConfigSnapshot config = ConfigManager.getInstance().getDefaultConfig();
+        Path file = Paths.get(config.getString("impact.coverage.path", "./test-history/coverage.txt"));
+        CoverageMap coverage = CoverageMap.load(file);
+        recorded.forEach(coverage::put);
+        coverage.save();
+        log.info("Recorded coverage of {} test(s)", recorded.size());
+    }
+
+    /**
+     * Check whether the current thread is running a test whose coverage is recorded.
+     *
+     * @return true if {@link #recordCommand} would record anything
+     */
+    public static boolean isRecording() {
+        return current.get() != null;
+    }
+
+    /**
+     * Record the members on the current call stack, and the locator of a find command.
+     *
+     * @param using locator strategy of a find command, null for other commands
+     * @param value locator value of a find command
+     */
+    public static void recordCommand(String using, String value) {
+        Set<String> keys = current.get();
+        if (keys == null) {
+            return;
+        }
+        StackWalker.getInstance().forEach(frame -> {
+            String key = frameKey(frame.getClassName(), frame.getMethodName());
+            if (key != null) {
+                keys.add(key);
+            }
+        });
+        if (using != null) {
+            keys.add(locatorKey(using, value));
+        }
+    }
+
+    /**
+     * Get the coverage key of a locator.
+     *
+     * @param using locator strategy as sent to the server, e.g. {@code id} or {@code accessibility id}
+     * @param value locator value
+     * @return key such as {@code locator:id=com.wallet.crypto.trustapp:id/next_button}
+     */
+    static String locatorKey(String using, String value) {
+        return CoverageMap.LOCATOR_PREFIX + using + "=" + value;
+    }
+
+    /**
+     * Name a stack frame as a source member: lambdas by the method declaring them, woven aspect
+     * bodies by the advised method and anonymous classes by their enclosing type.
+     *
+     * @param className  binary class name of the frame
+     * @param methodName method name of the frame
+     * @return key such as {@code com.trustwallet.pages.CreateWalletPage#enterPin}, null for frames outside the project
+     */
+    static String frameKey(String className, String methodName) {
+        if (!className.startsWith(ROOT_PACKAGE) || className.startsWith(OWN_PACKAGE)
+                || className.contains("$AjcClosure") || methodName.startsWith("access$")) {
+            return null;
+        }
+        String type = ANONYMOUS.matcher(className).replaceAll("");
+        if (!type.equals(className)) {
+            return type + "#<anonymous>";
+        }
+        String member = methodName;
+        Matcher lambda = LAMBDA.matcher(member);
+        if (lambda.matches()) {
+            member = lambda.group(1).equals("new") ? "<init>"
+                    : lambda.group(1).equals("static") ? "<clinit>" : lambda.group(1);
+        }
+        Matcher woven = WOVEN.matcher(member);
+        if (woven.matches()) {
+            member = woven.group(1);
+        }
+        return type + "#" + member;
+    }
+}
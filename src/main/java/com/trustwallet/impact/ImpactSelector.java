@@ -0,0 +1,54 @@
+package com.trustwallet.impact;
+
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs only the tests affected by the changes since {@code impact.base}, e.g. {@code -Dimpact.base=origin/main},
+ * using the coverage {@link ImpactRecorder} kept from previous runs. Without a base, or when anything goes
+ * wrong, every test runs; an empty selection runs nothing.
+ */
+public class ImpactSelector implements IMethodInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(ImpactSelector.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ConfigSnapshot config = ConfigManager.getInstance().getDefaultConfig();
+        String base = config.getString("impact.base", "").trim();
+        if (base.isEmpty()) {
+            return methods;
+        }
+        try {
+            CoverageMap coverage = CoverageMap.load(Paths.get(
+                    config.getString("impact.coverage.path", "./test-history/coverage.txt")));
+            SourceDiff diff = SourceDiff.against(Paths.get("").toAbsolutePath(), base);
+            List<String> tests = methods.stream().map(m -> m.getMethod().getQualifiedName())
+                    .collect(Collectors.toList());
+            ImpactAnalyzer.Selection selection = new ImpactAnalyzer(coverage).select(diff.getChanges(), diff, tests);
+
+            selection.getReasons().forEach(reason -> log.info("Impact of changes since {}: {}", base, reason));
+            if (selection.isFullSuite()) {
+                log.info("Running all {} method(s) of '{}'", methods.size(), context.getName());
+                return methods;
+            }
+            List<IMethodInstance> selected = methods.stream()
+                    .filter(m -> selection.getTests().contains(m.getMethod().getQualifiedName()))
+                    .collect(Collectors.toList());
+            log.info("Selected {} of {} method(s) of '{}' affected by changes since {}",
+                    selected.size(), methods.size(), context.getName(), base);
+            return selected;
+        } catch (Exception e) {
+            log.warn("Test impact selection failed, running all {} method(s)", methods.size(), e);
+            return methods;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.trustwallet.impact;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Line map of a Java source file: which type and member every line belongs to.
+ * This is a brace-counting scanner rather than a parser; it understands comments, string literals,
+ * nested types and member bodies, which is all that is needed to tell which methods a diff touched.
+ * Members are named as stack frames name them: the simple method name, {@code <init>} for constructors.
+ */
+final class JavaMembers {
+    private static final Pattern TYPE_DECLARATION = Pattern.compile("\\b(class|interface|enum)\\s+([A-Za-z_$][\\w$]*)");
+    private static final Pattern CALL = Pattern.compile("(@?)\\b([A-Za-z_$][\\w$]*)\\s*\\(");
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "if", "for", "while", "switch", "catch", "synchronized", "return", "new", "throw", "super", "this"));
+
+    private final String packageName;
+    private final String[] types;
+    private final String[] members;
+    private final boolean[] code;
+    private final boolean[] imports;
+
+    private JavaMembers(int lineCount, String packageName) {
+        this.packageName = packageName;
+        this.types = new String[lineCount + 1];
+        this.members = new String[lineCount + 1];
+        this.code = new boolean[lineCount + 1];
+        this.imports = new boolean[lineCount + 1];
+    }
+
+    /**
+     * Scan a source file.
+     *
+     * @param lines source lines
+     * @return line map
+     */
+    static JavaMembers parse(List<String> lines) {
+        List<String> stripped = stripCommentsAndLiterals(lines);
+        String packageName = "";
+        for (String line : stripped) {
+            Matcher matcher = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;").matcher(line);
+            if (matcher.find()) {
+                packageName = matcher.group(1);
+                break;
+            }
+        }
+        JavaMembers map = new JavaMembers(lines.size(), packageName);
+        map.scan(stripped);
+        return map;
+    }
+
+    /**
+     * Get the member a line belongs to.
+     *
+     * @param line 1-based line number
+     * @return key such as {@code com.trustwallet.pages.BasePage#click}, null outside members
+     */
+    String memberAt(int line) {
+        return valid(line) && members[line] != null ? types[line] + "#" + members[line] : null;
+    }
+
+    /**
+     * Get the innermost type a line belongs to.
+     *
+     * @param line 1-based line number
+     * @return binary type name such as {@code com.trustwallet.utils.UiSnapshot$Node}, null outside types
+     */
+    String typeAt(int line) {
+        return valid(line) ? types[line] : null;
+    }
+
+    /**
+     * Check whether a line holds code, as opposed to blanks, comments, package and import declarations.
+     *
+     * @param line 1-based line number
+     * @return true if changing the line can change behavior
+     */
+    boolean isCode(int line) {
+        return valid(line) && code[line] && !imports[line];
+    }
+
+    /**
+     * Get the binary name of the first top-level type, e.g. to attribute a whole-file change.
+     *
+     * @return binary type name, null if the file declares no type
+     */
+    String primaryType() {
+        for (String type : types) {
+            if (type != null) {
+                return type.contains("$") ? type.substring(0, type.indexOf('$')) : type;
+            }
+        }
+        return null;
+    }
+
+    private boolean valid(int line) {
+        return line >= 1 && line < types.length;
+    }
+
+    private void scan(List<String> lines) {
+        // Open types with the brace depth of their body, and the member being read
+        Deque<String> typeNames = new ArrayDeque<>();
+        Deque<Integer> typeDepths = new ArrayDeque<>();
+        int depth = 0;
+        String pendingType = null;
+        String pendingMember = null;
+        int declarationStart = -1;
+        boolean assignment = false;
+        int parens = 0;
+        String member = null;
+        int memberDepth = -1;
+        int memberStart = -1;
+
+        for (int i = 0; i < lines.size(); i++) {
+            int lineNo = i + 1;
+            String line = lines.get(i);
+            code[lineNo] = !line.trim().isEmpty();
+            imports[lineNo] = line.trim().startsWith("import ") || line.trim().startsWith("package ");
+            boolean atTypeBody = member == null && !typeDepths.isEmpty() && depth == typeDepths.peek();
+
+            if (member == null) {
+                Matcher type = TYPE_DECLARATION.matcher(line);
+                if (type.find() && (typeDepths.isEmpty() || atTypeBody)) {
+                    pendingType = type.group(2);
+                } else if (atTypeBody && pendingType == null && pendingMember == null && !assignment) {
+                    Matcher call = CALL.matcher(line);
+                    while (call.find()) {
+                        if (call.group(1).isEmpty() && !KEYWORDS.contains(call.group(2))
+                                && !assignsBefore(line, call.start(), parens)) {
+                            pendingMember = call.group(2).equals(simpleName(typeNames.peek())) ? "<init>" : call.group(2);
+                            break;
+                        }
+                    }
+                }
+                if (atTypeBody && code[lineNo] && declarationStart < 0) {
+                    declarationStart = lineNo;
+                }
+            }
+
+            types[lineNo] = typeNames.isEmpty() ? null : typeNames.peek();
+            if (member != null) {
+                members[lineNo] = member;
+            }
+
+            for (char c : line.toCharArray()) {
+                if (c == '{') {
+                    depth++;
+                    if (member != null) {
+                        continue;
+                    }
+                    if (pendingType != null) {
+                        String outer = typeNames.peek();
+                        typeNames.push(outer == null
+                                ? (packageName.isEmpty() ? "" : packageName + ".") + pendingType
+                                : outer + "$" + pendingType);
+                        typeDepths.push(depth);
+                        pendingType = null;
+                        types[lineNo] = typeNames.peek();
+                    } else if (!typeDepths.isEmpty() && depth == typeDepths.peek() + 1) {
+                        // Method body, or an initializer block when no member name was seen
+                        if (pendingMember != null) {
+                            member = pendingMember;
+                        } else if (!assignment) {
+                            member = line.trim().startsWith("static") ? "<clinit>" : "<init>";
+                        }
+                        if (member == null) {
+                            // Array or anonymous class in a field initializer; stays class-level
+                            continue;
+                        }
+                        memberDepth = depth;
+                        memberStart = declarationStart > 0 ? declarationStart : lineNo;
+                        for (int l = memberStart; l <= lineNo; l++) {
+                            members[l] = member;
+                            types[l] = typeNames.peek();
+                        }
+                    }
+                    pendingMember = null;
+                } else if (c == '}') {
+                    if (member != null && depth == memberDepth) {
+                        member = null;
+                        memberDepth = -1;
+                        declarationStart = -1;
+                        assignment = false;
+                    } else if (member == null && !typeDepths.isEmpty() && depth == typeDepths.peek()) {
+                        typeNames.pop();
+                        typeDepths.pop();
+                        declarationStart = -1;
+                        pendingMember = null;
+                        assignment = false;
+                    }
+                    depth--;
+                } else if (member == null && c == ';' && !typeDepths.isEmpty() && depth == typeDepths.peek()) {
+                    // End of a field, or of a method without body
+                    pendingMember = null;
+                    declarationStart = -1;
+                    assignment = false;
+                } else if (member == null && (c == '(' || c == ')')) {
+                    parens += c == '(' ? 1 : -1;
+                } else if (member == null && c == '=' && parens == 0 && !typeDepths.isEmpty()
+                        && depth == typeDepths.peek() && pendingMember == null) {
+                    // Field initializer; an '=' inside annotation arguments does not count
+                    assignment = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether a line assigns, outside parentheses, before a position.
+     */
+    private static boolean assignsBefore(String line, int end, int parens) {
+        for (int i = 0; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '(') {
+                parens++;
+            } else if (c == ')') {
+                parens--;
+            } else if (c == '=' && parens == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String simpleName(String binaryName) {
+        if (binaryName == null) {
+            return null;
+        }
+        int cut = Math.max(binaryName.lastIndexOf('.'), binaryName.lastIndexOf('$'));
+        return binaryName.substring(cut + 1);
+    }
+
+    /**
+     * Blank out comments and the contents of string and char literals, keeping line structure.
+     */
+    private static List<String> stripCommentsAndLiterals(List<String> lines) {
+        List<String> result = new ArrayList<>(lines.size());
+        boolean blockComment = false;
+        for (String line : lines) {
+            StringBuilder out = new StringBuilder(line.length());
+            char quote = 0;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                char next = i + 1 < line.length() ? line.charAt(i + 1) : 0;
+                if (blockComment) {
+                    if (c == '*' && next == '/') {
+                        blockComment = false;
+                        i++;
+                    }
+                    out.append(' ');
+                } else if (quote != 0) {
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == quote) {
+                        quote = 0;
+                        out.append(c);
+                    }
+                } else if (c == '/' && next == '*') {
+                    blockComment = true;
+                    i++;
+                } else if (c == '/' && next == '/') {
+                    break;
+                } else {
+                    if (c == '"' || c == '\'') {
+                        quote = c;
+                    }
+                    out.append(c);
+                }
+            }
+            result.add(out.toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,220 @@
+package com.trustwallet.impact;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Line-level changes of the working tree against the merge base with a git revision,
+ * read from {@code git diff -U0}. Untracked files count as added.
+ */
+final class SourceDiff implements ImpactAnalyzer.Sources {
+    private static final Logger log = LoggerFactory.getLogger(SourceDiff.class);
+    private static final Pattern HUNK = Pattern.compile("^@@ -(\\d+)(?:,\\d+)? \\+(\\d+)(?:,\\d+)? @@");
+    private static final long GIT_TIMEOUT_SECONDS = 60;
+
+    private final Path repository;
+    private final String mergeBase;
+    private final List<FileChange> changes;
+
+    private SourceDiff(Path repository, String mergeBase, List<FileChange> changes) {
+        this.repository = repository;
+        this.mergeBase = mergeBase;
+        this.changes = changes;
+    }
+
+    /**
+     * Diff the working tree of a repository against its merge base with a revision.
+     *
+     * @param repository repository directory
+     * @param base       revision the change will be merged into, e.g. origin/main
+     * @return diff
+     * @throws IOException if git fails
+     */
+    static SourceDiff against(Path repository, String base) throws IOException {
+        String mergeBase = git(repository, "merge-base", base, "HEAD").trim();
+        List<FileChange> changes = parse(Arrays.asList(
+                git(repository, "diff", "-U0", "--no-renames", "--no-color", mergeBase).split("\n", -1)));
+        for (String path : git(repository, "ls-files", "--others", "--exclude-standard").split("\n")) {
+            if (!path.trim().isEmpty()) {
+                FileChange added = new FileChange(null, path.trim());
+                added.added = true;
+                changes.add(added);
+            }
+        }
+        log.info("{} file(s) changed since {} ({})", changes.size(), base, mergeBase);
+        return new SourceDiff(repository, mergeBase, changes);
+    }
+
+    /**
+     * Parse the output of {@code git diff -U0}.
+     *
+     * @param lines diff output
+     * @return changed files
+     */
+    static List<FileChange> parse(List<String> lines) {
+        List<FileChange> changes = new ArrayList<>();
+        FileChange change = null;
+        int oldLine = 0;
+        int newLine = 0;
+        for (String line : lines) {
+            if (line.startsWith("diff --git ")) {
+                String paths = line.substring("diff --git ".length());
+                int split = paths.indexOf(" b/");
+                change = new FileChange(paths.substring(2, split), paths.substring(split + 3));
+                changes.add(change);
+            } else if (change == null) {
+                continue;
+            } else if (line.startsWith("new file mode")) {
+                change.added = true;
+            } else if (line.startsWith("deleted file mode")) {
+                change.deleted = true;
+            } else if (line.startsWith("Binary files ")) {
+                change.binary = true;
+            } else if (line.startsWith("--- ") || line.startsWith("+++ ")) {
+                continue;
+            } else if (line.startsWith("@@")) {
+                Matcher hunk = HUNK.matcher(line);
+                if (hunk.find()) {
+                    oldLine = Integer.parseInt(hunk.group(1));
+                    newLine = Integer.parseInt(hunk.group(2));
+                }
+            } else if (line.startsWith("-")) {
+                change.removed.put(oldLine++, line.substring(1));
+            } else if (line.startsWith("+")) {
+                change.addedLines.put(newLine++, line.substring(1));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Get the changed files.
+     *
+     * @return changes
+     */
+    List<FileChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Read a file as it was at the merge base.
+     *
+     * @param change changed file
+     * @return lines, empty for an added file
+     * @throws IOException if git fails
+     */
+    @Override
+    public List<String> oldLines(FileChange change) throws IOException {
+        if (change.added) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(git(repository, "show", mergeBase + ":" + change.getOldPath()).split("\n", -1));
+    }
+
+    /**
+     * Read a file as it is in the working tree.
+     *
+     * @param change changed file
+     * @return lines, empty for a deleted file
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public List<String> newLines(FileChange change) throws IOException {
+        if (change.deleted) {
+            return Collections.emptyList();
+        }
+        return Files.readAllLines(repository.resolve(change.getNewPath()), StandardCharsets.UTF_8);
+    }
+
+    private static String git(Path repository, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command).directory(repository.toFile()).start();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        Thread reader = new Thread(() -> copy(process.getErrorStream(), errors), "git-errors");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            copy(process.getInputStream(), output);
+            if (!process.waitFor(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("git timed out: " + command);
+            }
+            reader.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + command, e);
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("git exited with " + process.exitValue() + ": " + command + ": "
+                    + new String(errors.toByteArray(), StandardCharsets.UTF_8).trim());
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void copy(InputStream in, ByteArrayOutputStream out) {
+        try {
+            in.transferTo(out);
+        } catch (IOException e) {
+            log.debug("Stopped reading git output", e);
+        }
+    }
+
+    /**
+     * Removed and added lines of one file, keyed by their line numbers in the old and new file.
+     */
+    static final class FileChange {
+        private final String oldPath;
+        private final String newPath;
+        final Map<Integer, String> removed = new TreeMap<>();
+        final Map<Integer, String> addedLines = new TreeMap<>();
+        boolean added;
+        boolean deleted;
+        boolean binary;
+
+        FileChange(String oldPath, String newPath) {
+            this.oldPath = oldPath;
+            this.newPath = newPath;
+        }
+
+        String getOldPath() {
+            return oldPath;
+        }
+
+        String getNewPath() {
+            return newPath;
+        }
+
+        /**
+         * Get the path the change is reported under: the new path, or the old one for a deleted file.
+         *
+         * @return repository-relative path
+         */
+        String getPath() {
+            return deleted ? oldPath : newPath;
+        }
+
+        @Override
+        public String toString() {
+            return getPath();
+        }
+    }
+}
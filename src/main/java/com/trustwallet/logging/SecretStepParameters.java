@@ -0,0 +1,27 @@
+package com.trustwallet.logging;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.StepResult;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Allure listener, registered through {@code META-INF/services}, that masks step parameters holding secrets.
+ * Allure records the arguments of every {@code @Step} method, so without it a PIN or seed phrase passed
+ * to a page object would show up in the report even when the step name leaves it out.
+ */
+public class SecretStepParameters implements StepLifecycleListener {
+    static final String MASK = "******";
+    private static final Pattern SECRET = Pattern.compile("pin|password|passcode|seed.*|mnemonic|phrase|words?");
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        for (Parameter parameter : result.getParameters()) {
+            if (parameter.getName() != null && SECRET.matcher(parameter.getName().toLowerCase(Locale.ROOT)).matches()) {
+                parameter.setValue(MASK);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.trustwallet.logging;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.StringLayout;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the formatted log lines of each running test in memory, keyed by the {@link TestLogs#TEST_KEY}
+ * MDC entry, so they can be attached to the report when the test fails.
+ * Each test keeps at most {@code maxChars} characters; older lines are dropped first.
+ */
+@Plugin(name = "TestLog", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class TestLogAppender extends AbstractAppender {
+    private static final Map<String, Buffer> BUFFERS = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<List<String>>> REQUESTS = new ConcurrentHashMap<>();
+
+    private final int maxChars;
+
+    private TestLogAppender(String name, Filter filter, Layout<? extends Serializable> layout, int maxChars) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Create the appender from the log4j2 configuration.
+     *
+     * @param name     appender name
+     * @param maxChars maximum number of characters kept per test
+     * @param layout   layout of the lines, a pattern layout by default
+     * @param filter   optional filter
+     * @return appender
+     */
+    @PluginFactory
+    public static TestLogAppender createAppender(@PluginAttribute("name") String name,
+                                                 @PluginAttribute(value = "maxChars", defaultInt = 262144) int maxChars,
+                                                 @PluginElement("Layout") Layout<? extends Serializable> layout,
+                                                 @PluginElement("Filter") Filter filter) {
+        return new TestLogAppender(name, filter, layout == null ? PatternLayout.createDefaultLayout() : layout,
+                Math.max(1024, maxChars));
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        String key = event.getContextData().getValue(TestLogs.TEST_KEY);
+        if (key == null) {
+            return;
+        }
+        if (event.getMarker() != null && TestLogs.TEST_END.equals(event.getMarker().getName())) {
+            // Events of one thread arrive in order, so every line of the test has been seen
+            Buffer buffer = BUFFERS.remove(key);
+            CompletableFuture<List<String>> request = REQUESTS.remove(key);
+            if (request != null) {
+                request.complete(buffer == null ? new ArrayList<>() : buffer.lines());
+            }
+            return;
+        }
+        Layout<? extends Serializable> layout = getLayout();
+        String line = layout instanceof StringLayout
+                ? ((StringLayout) layout).toSerializable(event)
+                : event.getMessage().getFormattedMessage();
+        BUFFERS.computeIfAbsent(key, k -> new Buffer(maxChars)).add(line);
+    }
+
+    /**
+     * Ask for the lines of a test; the request completes when the test's end marker is appended.
+     *
+     * @param key test key
+     * @return future completing with the lines of the test
+     */
+    static CompletableFuture<List<String>> request(String key) {
+        return REQUESTS.computeIfAbsent(key, k -> new CompletableFuture<>());
+    }
+
+    /**
+     * Forget a request that was not answered in time.
+     *
+     * @param key test key
+     */
+    static void cancel(String key) {
+        REQUESTS.remove(key);
+        BUFFERS.remove(key);
+    }
+
+    /**
+     * Lines of one test, bounded by a character budget.
+     */
+    private static final class Buffer {
+        private final int maxChars;
+        private final Deque<String> lines = new ArrayDeque<>();
+        private int chars;
+        private int dropped;
+
+        Buffer(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        synchronized void add(String line) {
+            lines.addLast(line);
+            chars += line.length();
+            while (chars > maxChars && lines.size() > 1) {
+                chars -= lines.removeFirst().length();
+                dropped++;
+            }
+        }
+
+        synchronized List<String> lines() {
+            List<String> result = new ArrayList<>(lines.size() + 1);
+            if (dropped > 0) {
+                result.add(String.format("... %d earlier line(s) dropped to stay within %d characters%n",
+                        dropped, maxChars));
+            }
+            result.addAll(lines);
+            return result;
+        }
+    }
+}
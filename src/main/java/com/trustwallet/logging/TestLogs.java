@@ -0,0 +1,79 @@
+package com.trustwallet.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tags the log events of the running test and device through the MDC (the log4j thread context), which routes
+ * them to per-device log files and to the in-memory {@link TestLogAppender}.
+ */
+public final class TestLogs {
+    /**
+     * Thread context key holding the running test.
+     */
+    public static final String TEST_KEY = "test";
+    /**
+     * Thread context key holding the device the test runs on.
+     */
+    public static final String DEVICE_KEY = "device";
+    static final String TEST_END = "TEST_END";
+
+    private static final Logger log = LoggerFactory.getLogger(TestLogs.class);
+    private static final Marker TEST_END_MARKER = MarkerFactory.getMarker(TEST_END);
+
+    private TestLogs() {
+    }
+
+    /**
+     * Start tagging the log events of the current thread.
+     *
+     * @param testName name of the test
+     * @param device   device the test runs on
+     */
+    public static void start(String testName, String device) {
+        MDC.put(TEST_KEY, testName + "@" + Thread.currentThread().getId());
+        MDC.put(DEVICE_KEY, device.replaceAll("[^a-zA-Z0-9.-]", "_"));
+    }
+
+    /**
+     * Stop tagging the log events of the current thread and collect the test's lines if requested.
+     * Log events are written asynchronously, so this waits until the appender has seen the end of the test.
+     *
+     * @param keep    true to return the lines, false to discard them
+     * @param timeout maximum time to wait for the lines
+     * @return lines of the test, empty if discarded, not started or not available in time
+     */
+    public static List<String> finish(boolean keep, Duration timeout) {
+        String key = MDC.get(TEST_KEY);
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        CompletableFuture<List<String>> lines = keep ? TestLogAppender.request(key) : null;
+        log.info(TEST_END_MARKER, "Test {} finished", key);
+        MDC.remove(TEST_KEY);
+        MDC.remove(DEVICE_KEY);
+        if (lines == null) {
+            return Collections.emptyList();
+        }
+        try {
+            return lines.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Log lines of {} not available within {}", key, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        TestLogAppender.cancel(key);
+        return Collections.emptyList();
+    }
+}
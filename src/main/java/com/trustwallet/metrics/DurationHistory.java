@@ -0,0 +1,128 @@
+package com.trustwallet.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Durations of test methods from previous runs, kept in a properties file as milliseconds per method.
+ * Each run is blended into the stored value as an exponential moving average, so one slow run
+ * moves the estimate without replacing it.
+ */
+public class DurationHistory {
+    private static final Logger log = LoggerFactory.getLogger(DurationHistory.class);
+    private static final double LATEST_WEIGHT = 0.5;
+
+    private final Path file;
+    private final Map<String, Long> millis = new TreeMap<>();
+
+    private DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the history from a file. A missing or unreadable file gives an empty history.
+     *
+     * @param file history file
+     * @return duration history
+     */
+    public static DurationHistory load(Path file) {
+        DurationHistory history = new DurationHistory(file);
+        if (!Files.exists(file)) {
+            log.info("No duration history at {}, starting a new one", file);
+            return history;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable duration history {}", file, e);
+            return history;
+        }
+        for (String method : properties.stringPropertyNames()) {
+            try {
+                history.millis.put(method, Long.parseLong(properties.getProperty(method).trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring duration history entry {}={}", method, properties.getProperty(method));
+            }
+        }
+        log.info("Loaded durations of {} method(s) from {}", history.millis.size(), file);
+        return history;
+    }
+
+    /**
+     * Get the recorded duration of a method.
+     *
+     * @param method method id, e.g. com.trustwallet.tests.CreateWalletTest.testPinMismatch
+     * @return recorded duration, null if the method never ran
+     */
+    public synchronized Duration get(String method) {
+        Long value = millis.get(method);
+        return value == null ? null : Duration.ofMillis(value);
+    }
+
+    /**
+     * Get the expected duration of a method. A method that never ran is expected to take the mean
+     * of the known methods, or the fallback when nothing is known.
+     *
+     * @param method   method id
+     * @param fallback duration assumed when the history is empty
+     * @return expected duration
+     */
+    public synchronized Duration estimate(String method, Duration fallback) {
+        Long value = millis.get(method);
+        if (value != null) {
+            return Duration.ofMillis(value);
+        }
+        if (millis.isEmpty()) {
+            return fallback;
+        }
+        return Duration.ofMillis(Math.round(millis.values().stream().mapToLong(Long::longValue).average().orElse(0)));
+    }
+
+    /**
+     * Record a run of a method.
+     *
+     * @param method  method id
+     * @param elapsed duration of the run
+     */
+    public synchronized void record(String method, Duration elapsed) {
+        millis.merge(method, elapsed.toMillis(),
+                (previous, latest) -> Math.round(previous * (1 - LATEST_WEIGHT) + latest * LATEST_WEIGHT));
+    }
+
+    /**
+     * Write the history back to its file, replacing it atomically so parallel readers never see half a file.
+     */
+    public synchronized void save() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.ISO_8859_1)) {
+                out.write("# Test method durations in milliseconds, written by DurationPlanner");
+                out.newLine();
+                // Sorted so the file diffs cleanly between runs
+                for (Map.Entry<String, Long> entry : millis.entrySet()) {
+                    out.write(entry.getKey() + "=" + entry.getValue());
+                    out.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved durations of {} method(s) to {}", millis.size(), file);
+        } catch (IOException e) {
+            log.error("Failed to save duration history to {}", file, e);
+        }
+    }
+}
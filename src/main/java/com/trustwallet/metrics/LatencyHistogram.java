@@ -0,0 +1,116 @@
+package com.trustwallet.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free latency histogram with microsecond resolution.
+ * Values are counted in log-linear buckets (8 sub-buckets per power of two, about 12% error),
+ * so recording is a few atomic increments and never allocates.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Record one latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(bucketOf(micros));
+        count.increment();
+        totalMicros.add(micros);
+        if (micros > maxMicros.get()) {
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return value count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the sum of all recorded values.
+     *
+     * @return total in microseconds
+     */
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    /**
+     * Get the largest recorded value.
+     *
+     * @return maximum in microseconds
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Get a percentile, reported as the upper bound of the bucket it falls in.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency in microseconds, zero if nothing was recorded
+     */
+    public long getPercentileMicros(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    /**
+     * Summarize the histogram in one line.
+     *
+     * @return count, total, p50, p95, p99 and max in milliseconds
+     */
+    public String summary() {
+        return String.format("count=%d, total=%.1fms, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                getCount(), getTotalMicros() / 1000.0, getPercentileMicros(50) / 1000.0,
+                getPercentileMicros(95) / 1000.0, getPercentileMicros(99) / 1000.0, getMaxMicros() / 1000.0);
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
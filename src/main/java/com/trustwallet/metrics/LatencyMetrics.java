@@ -0,0 +1,158 @@
+package com.trustwallet.metrics;
+
+import com.trustwallet.utils.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms per WebDriver command, per locator and per page step.
+ * Every measurement goes to the suite-wide metrics and to the metrics of the test running
+ * on the current thread, so both can be dumped separately.
+ */
+public final class LatencyMetrics {
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(ConfigManager.getInstance().getProperty("metrics.enabled", "true"));
+    private static final LatencyMetrics SUITE = new LatencyMetrics("suite");
+    private static final ThreadLocal<LatencyMetrics> TEST = ThreadLocal.withInitial(() -> new LatencyMetrics("test"));
+
+    private final String scope;
+    private final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    // Keyed by strategy, then value, so recording a find does not build a key string
+    private final Map<String, Map<String, LatencyHistogram>> locators = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+
+    private LatencyMetrics(String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Check whether metrics are recorded, controlled by the {@code metrics.enabled} property.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Get the metrics of the whole suite.
+     *
+     * @return suite metrics
+     */
+    public static LatencyMetrics suite() {
+        return SUITE;
+    }
+
+    /**
+     * Get the metrics of the test running on the current thread.
+     *
+     * @return test metrics
+     */
+    public static LatencyMetrics currentTest() {
+        return TEST.get();
+    }
+
+    /**
+     * Start collecting metrics for a new test on the current thread.
+     */
+    public static void startTest() {
+        TEST.set(new LatencyMetrics("test"));
+    }
+
+    /**
+     * Record a WebDriver command.
+     *
+     * @param command       command name, e.g. findElement
+     * @param usingStrategy locator strategy for find commands, null otherwise
+     * @param locatorValue  locator value for find commands, null otherwise
+     * @param nanos         command latency
+     */
+    public static void recordCommand(String command, String usingStrategy, String locatorValue, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        SUITE.command(command, usingStrategy, locatorValue, nanos);
+        TEST.get().command(command, usingStrategy, locatorValue, nanos);
+    }
+
+    /**
+     * Record a page step.
+     *
+     * @param step  step key, e.g. CreateWalletPage.acceptTerms
+     * @param nanos step duration
+     */
+    public static void recordStep(String step, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        SUITE.steps.computeIfAbsent(step, k -> new LatencyHistogram()).record(nanos);
+        TEST.get().steps.computeIfAbsent(step, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    private void command(String command, String usingStrategy, String locatorValue, long nanos) {
+        commands.computeIfAbsent(command, k -> new LatencyHistogram()).record(nanos);
+        if (usingStrategy != null && locatorValue != null) {
+            locators.computeIfAbsent(usingStrategy, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(locatorValue, k -> new LatencyHistogram())
+                    .record(nanos);
+        }
+    }
+
+    /**
+     * Get the histogram of a command.
+     *
+     * @param command command name
+     * @return histogram, null if the command was never recorded
+     */
+    public LatencyHistogram getCommand(String command) {
+        return commands.get(command);
+    }
+
+    /**
+     * Get the histogram of a locator.
+     *
+     * @param usingStrategy locator strategy, e.g. id
+     * @param locatorValue  locator value
+     * @return histogram, null if the locator was never recorded
+     */
+    public LatencyHistogram getLocator(String usingStrategy, String locatorValue) {
+        Map<String, LatencyHistogram> byValue = locators.get(usingStrategy);
+        return byValue == null ? null : byValue.get(locatorValue);
+    }
+
+    /**
+     * Get the histogram of a step.
+     *
+     * @param step step key
+     * @return histogram, null if the step was never recorded
+     */
+    public LatencyHistogram getStep(String step) {
+        return steps.get(step);
+    }
+
+    /**
+     * Build a report with one line per command, locator and step, most total time first.
+     *
+     * @return report lines, empty if nothing was recorded
+     */
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        section(lines, "step", steps);
+        section(lines, "command", commands);
+        Map<String, LatencyHistogram> flatLocators = new ConcurrentHashMap<>();
+        locators.forEach((using, byValue) -> byValue.forEach((value, h) -> flatLocators.put(using + "=" + value, h)));
+        section(lines, "locator", flatLocators);
+        return lines;
+    }
+
+    private void section(List<String> lines, String kind, Map<String, LatencyHistogram> histograms) {
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(histograms.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().getTotalMicros(), a.getValue().getTotalMicros()));
+        for (Map.Entry<String, LatencyHistogram> e : entries) {
+            lines.add(String.format("[%s] %s %s: %s", scope, kind, e.getKey(), e.getValue().summary()));
+        }
+    }
+}
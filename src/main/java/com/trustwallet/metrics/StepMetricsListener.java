@@ -0,0 +1,46 @@
+package com.trustwallet.metrics;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Allure listener that times every step, registered through {@code META-INF/services}.
+ * Steps are keyed by the page object method that declared them rather than by their
+ * rendered name, so parameters in the name do not split the histogram. Keeping secrets out of the
+ * report is up to the step name and to {@link com.trustwallet.logging.SecretStepParameters}.
+ */
+public class StepMetricsListener implements StepLifecycleListener {
+    private static final String PAGES_PACKAGE = "com.trustwallet.pages.";
+    private static final ThreadLocal<Deque<Long>> STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Deque<String>> KEYS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        if (!LatencyMetrics.isEnabled()) {
+            return;
+        }
+        KEYS.get().push(stepKey(result));
+        STARTS.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        Deque<Long> starts = STARTS.get();
+        if (starts.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - starts.pop();
+        LatencyMetrics.recordStep(KEYS.get().pop(), elapsed);
+    }
+
+    private static String stepKey(StepResult result) {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PAGES_PACKAGE))
+                .findFirst()
+                .map(f -> f.getClassName().substring(PAGES_PACKAGE.length()) + "." + f.getMethodName())
+                .orElse(result.getName()));
+    }
+}
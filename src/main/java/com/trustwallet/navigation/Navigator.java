@@ -0,0 +1,119 @@
+package com.trustwallet.navigation;
+
+import io.qameta.allure.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drives the app to a target screen along the cheapest route of a {@link ScreenGraph}.
+ * Every step is checked by waiting for its target screen and timed into {@link TransitionCosts}.
+ * A step that is unavailable, fails or lands elsewhere is left out and the route is planned again
+ * from the screen the app actually shows.
+ *
+ * @param <S> screen type
+ */
+public class Navigator<S> {
+    private static final Logger log = LoggerFactory.getLogger(Navigator.class);
+
+    private final ScreenGraph<S> graph;
+    private final ScreenLocator<S> locator;
+    private final TransitionCosts costs;
+    private final Duration arrivalWindow;
+
+    /**
+     * Constructor for Navigator.
+     *
+     * @param graph         screens and transitions of the app
+     * @param locator       locator of the current screen
+     * @param costs         measured transition costs
+     * @param arrivalWindow maximum time a screen may take to show after a transition
+     */
+    public Navigator(ScreenGraph<S> graph, ScreenLocator<S> locator, TransitionCosts costs, Duration arrivalWindow) {
+        this.graph = graph;
+        this.locator = locator;
+        this.costs = costs;
+        this.arrivalWindow = arrivalWindow;
+    }
+
+    /**
+     * Navigate to a screen.
+     *
+     * @param target screen to reach
+     * @return transitions taken, in order
+     * @throws IllegalStateException if the current screen is not recognized or the target cannot be reached
+     */
+    @Step("Navigate to {0}")
+    public List<Transition<S>> navigateTo(S target) {
+        Set<Transition<S>> excluded = new HashSet<>();
+        List<Transition<S>> taken = new ArrayList<>();
+        Exception lastFailure = null;
+        S current = locate(null);
+        while (true) {
+            List<Transition<S>> route = graph.shortestPath(current, target, costs::nanos, excluded);
+            if (route == null) {
+                throw new IllegalStateException("No route from " + current + " to " + target
+                        + (excluded.isEmpty() ? "" : " without " + excluded), lastFailure);
+            }
+            log.info("Route from {} to {}: {}", current, target, route);
+            boolean arrived = true;
+            for (Transition<S> transition : route) {
+                long start = System.nanoTime();
+                S reached;
+                try {
+                    if (!transition.perform()) {
+                        log.info("Transition {} is not available, planning again", transition.getName());
+                        excluded.add(transition);
+                        current = locate(transition.getFrom() != null ? transition.getFrom() : current);
+                        arrived = false;
+                        break;
+                    }
+                    reached = locator.await(transition.getTo(), arrivalWindow);
+                } catch (Exception e) {
+                    log.warn("Transition {} failed, planning again", transition.getName(), e);
+                    lastFailure = e;
+                    excluded.add(transition);
+                    current = locate(null);
+                    arrived = false;
+                    break;
+                }
+                if (!transition.getTo().equals(reached)) {
+                    log.warn("Transition {} ended on {} instead of {}, planning again",
+                            transition.getName(), reached, transition.getTo());
+                    excluded.add(transition);
+                    current = reached != null ? reached : locate(null);
+                    arrived = false;
+                    break;
+                }
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                costs.record(transition, elapsed);
+                log.debug("Transition {} took {}ms", transition.getName(), elapsed.toMillis());
+                taken.add(transition);
+                current = reached;
+            }
+            if (arrived) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Get the screen the app shows.
+     *
+     * @param expected screen the app most likely shows, or null
+     * @return current screen
+     * @throws IllegalStateException if no known screen shows
+     */
+    private S locate(S expected) {
+        S screen = locator.await(expected, arrivalWindow);
+        if (screen == null) {
+            throw new IllegalStateException("The app shows none of the screens " + graph.getScreens());
+        }
+        return screen;
+    }
+}
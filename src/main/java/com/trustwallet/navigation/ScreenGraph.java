@@ -0,0 +1,149 @@
+package com.trustwallet.navigation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Screens of an app and the transitions between them.
+ * Routes are computed with Dijkstra's algorithm over transition costs supplied by the caller,
+ * so they follow the measured cost of each step rather than the number of steps.
+ *
+ * @param <S> screen type
+ */
+public class ScreenGraph<S> {
+    private final Map<S, List<Transition<S>>> outgoing = new LinkedHashMap<>();
+    private final List<Transition<S>> shortcuts = new ArrayList<>();
+
+    /**
+     * Add a transition between two screens.
+     *
+     * @param from     source screen
+     * @param to       target screen
+     * @param name     unique transition name
+     * @param estimate cost assumed until the transition has been measured
+     * @param action   action performing the transition
+     * @return the added transition
+     */
+    public Transition<S> addTransition(S from, S to, String name, Duration estimate, Transition.Action action) {
+        Transition<S> transition = new Transition<>(from, to, name, estimate, action);
+        outgoing.computeIfAbsent(from, k -> new ArrayList<>()).add(transition);
+        outgoing.computeIfAbsent(to, k -> new ArrayList<>());
+        return transition;
+    }
+
+    /**
+     * Add a transition that reaches a screen from anywhere, such as a deep link or a snapshot restore.
+     *
+     * @param to       target screen
+     * @param name     unique transition name
+     * @param estimate cost assumed until the transition has been measured
+     * @param action   action performing the transition
+     * @return the added transition
+     */
+    public Transition<S> addShortcut(S to, String name, Duration estimate, Transition.Action action) {
+        Transition<S> transition = new Transition<>(null, to, name, estimate, action);
+        shortcuts.add(transition);
+        outgoing.computeIfAbsent(to, k -> new ArrayList<>());
+        return transition;
+    }
+
+    /**
+     * Find the cheapest route between two screens.
+     *
+     * @param from     current screen
+     * @param to       target screen
+     * @param cost     cost of a transition, e.g. its measured duration in nanoseconds
+     * @param excluded transitions that must not be used
+     * @return transitions to take in order, empty if already there, null if the target cannot be reached
+     */
+    public List<Transition<S>> shortestPath(S from, S to, ToLongFunction<Transition<S>> cost,
+                                            Set<Transition<S>> excluded) {
+        if (from.equals(to)) {
+            return Collections.emptyList();
+        }
+        Map<S, Long> distance = new HashMap<>();
+        Map<S, Transition<S>> via = new HashMap<>();
+        // Screen each transition in via was taken from; needed because shortcuts have no source
+        Map<S, S> previous = new HashMap<>();
+        PriorityQueue<Route<S>> queue = new PriorityQueue<>();
+        distance.put(from, 0L);
+        queue.add(new Route<>(from, 0L));
+        while (!queue.isEmpty()) {
+            Route<S> route = queue.poll();
+            if (route.cost > distance.get(route.screen)) {
+                // Stale entry, the screen was reached more cheaply since
+                continue;
+            }
+            if (route.screen.equals(to)) {
+                break;
+            }
+            for (Transition<S> transition : edges(route.screen)) {
+                if (excluded.contains(transition)) {
+                    continue;
+                }
+                long next = route.cost + Math.max(0, cost.applyAsLong(transition));
+                Long known = distance.get(transition.getTo());
+                if (known == null || next < known) {
+                    distance.put(transition.getTo(), next);
+                    via.put(transition.getTo(), transition);
+                    previous.put(transition.getTo(), route.screen);
+                    queue.add(new Route<>(transition.getTo(), next));
+                }
+            }
+        }
+        if (!via.containsKey(to)) {
+            return null;
+        }
+        LinkedList<Transition<S>> path = new LinkedList<>();
+        for (S screen = to; !screen.equals(from); screen = previous.get(screen)) {
+            path.addFirst(via.get(screen));
+        }
+        return path;
+    }
+
+    /**
+     * Get the screens of the graph.
+     *
+     * @return screens in the order they were added
+     */
+    public Set<S> getScreens() {
+        return Collections.unmodifiableSet(outgoing.keySet());
+    }
+
+    private List<Transition<S>> edges(S screen) {
+        List<Transition<S>> edges = new ArrayList<>(outgoing.getOrDefault(screen, Collections.emptyList()));
+        for (Transition<S> shortcut : shortcuts) {
+            if (!shortcut.getTo().equals(screen)) {
+                edges.add(shortcut);
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Screen reached at a cost, ordered by cost in the queue.
+     */
+    private static final class Route<S> implements Comparable<Route<S>> {
+        final S screen;
+        final long cost;
+
+        Route(S screen, long cost) {
+            this.screen = screen;
+            this.cost = cost;
+        }
+
+        @Override
+        public int compareTo(Route<S> other) {
+            return Long.compare(cost, other.cost);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.trustwallet.navigation;
+
+import java.time.Duration;
+
+/**
+ * Tells which screen the app shows.
+ *
+ * @param <S> screen type
+ */
+@FunctionalInterface
+public interface ScreenLocator<S> {
+
+    /**
+     * Wait for a screen to show, returning as soon as it does.
+     *
+     * @param expected screen to wait for, or null to take the first recognized screen
+     * @param window   maximum time to wait
+     * @return the expected screen if it showed, otherwise the screen shown at the end of the window,
+     *         null if no known screen is shown
+     */
+    S await(S expected, Duration window);
+}
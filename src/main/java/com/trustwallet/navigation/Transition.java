@@ -0,0 +1,96 @@
+package com.trustwallet.navigation;
+
+import java.time.Duration;
+
+/**
+ * An edge of a {@link ScreenGraph}: an action that takes the app from one screen to another.
+ * A shortcut, such as restoring a snapshot or firing a deep link, has no source screen and can be
+ * taken from anywhere.
+ *
+ * @param <S> screen type
+ */
+public final class Transition<S> {
+
+    /**
+     * Action that performs a transition.
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        /**
+         * Perform the transition.
+         *
+         * @return false if the transition is not available right now and the app was left as it was
+         * @throws Exception if the transition failed
+         */
+        boolean perform() throws Exception;
+    }
+
+    private final S from;
+    private final S to;
+    private final String name;
+    private final Duration estimate;
+    private final Action action;
+
+    Transition(S from, S to, String name, Duration estimate, Action action) {
+        this.from = from;
+        this.to = to;
+        this.name = name;
+        this.estimate = estimate;
+        this.action = action;
+    }
+
+    /**
+     * Get the source screen.
+     *
+     * @return source screen, null for a shortcut
+     */
+    public S getFrom() {
+        return from;
+    }
+
+    /**
+     * Get the target screen.
+     *
+     * @return target screen
+     */
+    public S getTo() {
+        return to;
+    }
+
+    /**
+     * Get the name, which also keys the measured cost in {@link TransitionCosts}.
+     *
+     * @return transition name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the cost assumed until the transition has been measured.
+     *
+     * @return estimated duration
+     */
+    public Duration getEstimate() {
+        return estimate;
+    }
+
+    /**
+     * Check whether the transition can be taken from any screen.
+     *
+     * @return true for a shortcut
+     */
+    public boolean isShortcut() {
+        return from == null;
+    }
+
+    boolean perform() throws Exception {
+        return action.perform();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + (from == null ? "*" : from) + " -> " + to + ")";
+    }
+}
@@ -0,0 +1,64 @@
+package com.trustwallet.navigation;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measured duration of each transition, kept as an exponential moving average by transition name.
+ * A transition that has not been measured yet costs its estimate. The shared instance lives for the
+ * whole run, so routes get cheaper as the tests that run first measure the transitions.
+ */
+public class TransitionCosts {
+    private static final double HISTORY_WEIGHT = 0.3;
+
+    private static TransitionCosts instance;
+
+    private final Map<String, Long> measuredNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Get the costs shared by all navigators of the run.
+     *
+     * @return TransitionCosts instance
+     */
+    public static synchronized TransitionCosts getInstance() {
+        if (instance == null) {
+            instance = new TransitionCosts();
+        }
+        return instance;
+    }
+
+    /**
+     * Get the cost of a transition.
+     *
+     * @param transition transition to cost
+     * @return measured average in nanoseconds, or the estimate if it was never measured
+     */
+    public long nanos(Transition<?> transition) {
+        Long measured = measuredNanos.get(transition.getName());
+        return measured != null ? measured : transition.getEstimate().toNanos();
+    }
+
+    /**
+     * Record how long a successful transition took.
+     *
+     * @param transition transition taken
+     * @param elapsed    time from the start of its action until the target screen showed
+     */
+    public void record(Transition<?> transition, Duration elapsed) {
+        long sample = elapsed.toNanos();
+        measuredNanos.merge(transition.getName(), sample,
+                (previous, latest) -> Math.round(previous * (1 - HISTORY_WEIGHT) + latest * HISTORY_WEIGHT));
+    }
+
+    /**
+     * Get the measured average of a transition.
+     *
+     * @param name transition name
+     * @return measured average, null if the transition was never measured
+     */
+    public Duration getMeasured(String name) {
+        Long measured = measuredNanos.get(name);
+        return measured == null ? null : Duration.ofNanos(measured);
+    }
+}
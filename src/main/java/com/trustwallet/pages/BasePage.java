@@ -2,17 +2,18 @@ package com.trustwallet.pages;
 
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileElement;
-import io.appium.java_client.TouchAction;
 import io.appium.java_client.android.AndroidDriver;
-import io.appium.java_client.pagefactory.AppiumFieldDecorator;
-import io.appium.java_client.touch.WaitOptions;
-import io.appium.java_client.touch.offset.PointOption;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
-import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.Point;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.trustwallet.driver.DriverContext;
+import com.trustwallet.utils.Gestures;
+import com.trustwallet.utils.Presence;
+import com.trustwallet.utils.Scroller;
+import com.trustwallet.utils.UiSnapshot;
 import com.trustwallet.utils.WaitUtils;
 
 import java.time.Duration;
@@ -23,8 +24,18 @@ import java.time.Duration;
 public abstract class BasePage {
     protected final AppiumDriver<MobileElement> driver;
     protected final WaitUtils waitUtils;
+    protected final Presence presence;
+    protected final Gestures gestures;
+    protected final Scroller scroller;
     protected static final Logger log = LoggerFactory.getLogger(BasePage.class);
 
+    /**
+     * Constructor for BasePage using the driver bound to the current thread.
+     */
+    public BasePage() {
+        this(DriverContext.getDriver());
+    }
+
     /**
      * Constructor for BasePage.
      * 
@@ -33,9 +44,9 @@ public abstract class BasePage {
     public BasePage(AppiumDriver<MobileElement> driver) {
         this.driver = driver;
         this.waitUtils = new WaitUtils(driver);
-
-        // Initialize elements with PageFactory
-        PageFactory.initElements(new AppiumFieldDecorator(driver, Duration.ofSeconds(10)), this);
+        this.presence = new Presence(driver);
+        this.gestures = new Gestures(driver);
+        this.scroller = new Scroller(driver);
         log.info("Initialized {} page", this.getClass().getSimpleName());
     }
 
@@ -54,6 +65,17 @@ public abstract class BasePage {
     protected void click(By locator) {
         log.debug("Clicking on element: {}", locator);
         waitUtils.waitForElementToBeClickable(locator).click();
+        UiSnapshot.invalidate();
+    }
+
+    /**
+     * Click on an element.
+     * 
+     * @param element element to click
+     */
+    protected void click(MobileElement element) {
+        element.click();
+        UiSnapshot.invalidate();
     }
 
     /**
@@ -63,8 +85,31 @@ public abstract class BasePage {
      * @param text    text to enter
      */
     protected void sendKeys(By locator, String text) {
-        log.debug("Entering text '{}' in element: {}", text, locator);
+        // Never log the text itself, it may be a PIN or seed phrase
+        log.debug("Entering {} character(s) in element: {}", text.length(), locator);
         waitUtils.waitForElementToBeVisible(locator).sendKeys(text);
+        UiSnapshot.invalidate();
+    }
+
+    /**
+     * Enter text in an element.
+     * 
+     * @param element element to type into
+     * @param text    text to enter
+     */
+    protected void sendKeys(MobileElement element, String text) {
+        element.sendKeys(text);
+        UiSnapshot.invalidate();
+    }
+
+    /**
+     * Get the snapshot of the current screen, fetched with a single page source command
+     * and reused until the next action that may change the screen.
+     * 
+     * @return UI snapshot
+     */
+    protected UiSnapshot snapshot() {
+        return UiSnapshot.of(driver);
     }
 
     /**
@@ -79,17 +124,24 @@ public abstract class BasePage {
     }
 
     /**
-     * Check if element is displayed.
+     * Check if element is displayed right now, without waiting for it to appear.
      * 
      * @param locator element locator
      * @return true if element is displayed, false otherwise
      */
     protected boolean isElementDisplayed(By locator) {
-        try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return presence.isDisplayed(locator);
+    }
+
+    /**
+     * Check if element is displayed within a time window, returning as soon as it is.
+     * 
+     * @param locator element locator
+     * @param window  maximum time to wait
+     * @return true if element is displayed, false otherwise
+     */
+    protected boolean isElementDisplayed(By locator, Duration window) {
+        return presence.appearsWithin(locator, window);
     }
 
     /**
@@ -97,7 +149,7 @@ public abstract class BasePage {
      */
     protected void swipeUp() {
         log.debug("Performing swipe up gesture");
-        // Implementation for swipe up
+        gestures.swipe(Gestures.Direction.UP);
     }
 
     /**
@@ -105,26 +157,27 @@ public abstract class BasePage {
      */
     protected void swipeDown() {
         log.debug("Performing swipe down gesture");
-        // Implementation for swipe down
+        gestures.swipe(Gestures.Direction.DOWN);
+    }
+
+    /**
+     * Scroll until an element is on screen.
+     *
+     * @param locator element locator
+     * @return the element
+     */
+    protected MobileElement scrollTo(By locator) {
+        Scroller.Result result = scroller.scrollTo(locator);
+        log.debug("Reached element {} with {}", locator, result);
+        return result.getElement();
     }
 
     @Step("Swipe from element {0} to element {1}")
     protected void swipeFromElementToElement(By fromLocator, By toLocator) {
-        MobileElement fromElement = waitUtils.waitForElementToBeVisible(fromLocator);
-        MobileElement toElement = waitUtils.waitForElementToBeVisible(toLocator);
-
-        int fromX = fromElement.getLocation().getX() + fromElement.getSize().getWidth() / 2;
-        int fromY = fromElement.getLocation().getY() + fromElement.getSize().getHeight() / 2;
-        int toX = toElement.getLocation().getX() + toElement.getSize().getWidth() / 2;
-        int toY = toElement.getLocation().getY() + toElement.getSize().getHeight() / 2;
-
-        log.info("Swiping from ({},{}) to ({},{})", fromX, fromY, toX, toY);
-
-        new TouchAction<>(driver)
-                .press(PointOption.point(fromX, fromY))
-                .waitAction(WaitOptions.waitOptions(Duration.ofMillis(1000)))
-                .moveTo(PointOption.point(toX, toY))
-                .release()
-                .perform();
+        Point from = Gestures.center(waitUtils.waitForElementToBeVisible(fromLocator));
+        Point to = Gestures.center(waitUtils.waitForElementToBeVisible(toLocator));
+
+        log.info("Swiping from ({},{}) to ({},{})", from.getX(), from.getY(), to.getX(), to.getY());
+        gestures.drag(from, to);
     }
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.trustwallet.pages;
+
+import com.trustwallet.navigation.Navigator;
+import com.trustwallet.navigation.ScreenGraph;
+import com.trustwallet.navigation.TransitionCosts;
+import com.trustwallet.pages.CreateWalletPage.Screen;
+import com.trustwallet.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Screen graph of the Create Wallet flow, built from the actions of {@link CreateWalletPage},
+ * so a test can ask for the screen it starts on instead of clicking its way there.
+ * The flow keeps the state a route needs on the way: the seed words read on the backup screen
+ * and whether the first PIN was entered, which is what tells the two PIN screens apart.
+ */
+public class CreateWalletFlow {
+    private static final Logger log = LoggerFactory.getLogger(CreateWalletFlow.class);
+    public static final String DEFAULT_PIN = "123456";
+
+    private final Supplier<CreateWalletPage> page;
+    private final ScreenGraph<Screen> graph = new ScreenGraph<>();
+    private final Duration initialPoll;
+    private final Duration maxPoll;
+    private List<String> seedWords = Collections.emptyList();
+    private boolean pinEntered;
+
+    /**
+     * Constructor for CreateWalletFlow.
+     *
+     * @param page supplier of the page object of the current session
+     */
+    public CreateWalletFlow(Supplier<CreateWalletPage> page) {
+        this.page = page;
+        ConfigManager config = ConfigManager.getInstance();
+        this.initialPoll = config.getDurationProperty("wait.poll.initial", Duration.ofMillis(50));
+        this.maxPoll = config.getDurationProperty("wait.poll.max", Duration.ofMillis(500));
+
+        graph.addTransition(Screen.TERMS, Screen.BACKUP, "create-wallet: accept terms", Duration.ofSeconds(2), () -> {
+            page.get().acceptTerms().clickNext();
+            return true;
+        });
+        graph.addTransition(Screen.BACKUP, Screen.SEED_REVEALED, "create-wallet: reveal seed phrase",
+                Duration.ofSeconds(1), () -> {
+                    page.get().revealSeedPhrase();
+                    seedWords = page.get().getSeedPhraseWords();
+                    return true;
+                });
+        graph.addTransition(Screen.SEED_REVEALED, Screen.CONFIRM, "create-wallet: continue to confirmation",
+                Duration.ofSeconds(1), () -> {
+                    page.get().clickNext();
+                    return true;
+                });
+        graph.addTransition(Screen.CONFIRM, Screen.PIN, "create-wallet: confirm seed phrase", Duration.ofSeconds(4),
+                () -> {
+                    if (seedWords.isEmpty()) {
+                        // Reached the confirmation without reading the words, e.g. from a shortcut
+                        return false;
+                    }
+                    page.get().confirmSeedPhrase(seedWords).clickContinue();
+                    pinEntered = false;
+                    return true;
+                });
+        graph.addTransition(Screen.PIN, Screen.PIN_CONFIRM, "create-wallet: enter PIN", Duration.ofSeconds(1), () -> {
+            page.get().enterPin(DEFAULT_PIN).clickContinue();
+            pinEntered = true;
+            return true;
+        });
+        graph.addTransition(Screen.PIN_CONFIRM, Screen.WELCOME, "create-wallet: confirm PIN", Duration.ofSeconds(1),
+                () -> {
+                    page.get().enterPin(DEFAULT_PIN).clickContinue();
+                    return true;
+                });
+    }
+
+    /**
+     * Get the screen graph, e.g. to add shortcuts.
+     *
+     * @return screen graph of the flow
+     */
+    public ScreenGraph<Screen> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Create a navigator over the flow, using the run's measured transition costs.
+     *
+     * @return navigator
+     */
+    public Navigator<Screen> navigator() {
+        return new Navigator<>(graph, this::await, TransitionCosts.getInstance(),
+                ConfigManager.getInstance().getDurationProperty("navigation.arrival.window", Duration.ofSeconds(10)));
+    }
+
+    /**
+     * Get the seed words read on the way, or set by a shortcut.
+     *
+     * @return seed words, empty if the route did not read them
+     */
+    public List<String> getSeedWords() {
+        return seedWords;
+    }
+
+    /**
+     * Set the state of a wallet restored by a shortcut, which starts before the first PIN.
+     *
+     * @param seedWords seed words of the restored wallet
+     */
+    public void restored(List<String> seedWords) {
+        this.seedWords = seedWords;
+        this.pinEntered = false;
+    }
+
+    private Screen await(Screen expected, Duration window) {
+        long deadline = System.nanoTime() + window.toNanos();
+        long interval = initialPoll.toNanos();
+        Screen screen;
+        while (true) {
+            screen = page.get().currentScreen();
+            if (screen == Screen.PIN && pinEntered) {
+                screen = Screen.PIN_CONFIRM;
+            }
+            if (screen != null && (expected == null || screen == expected)) {
+                return screen;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                log.debug("Expected screen {} but the flow shows {}", expected, screen);
+                return screen;
+            }
+            try {
+                Thread.sleep(Duration.ofNanos(Math.min(interval, remaining)).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return screen;
+            }
+            interval = Math.min(maxPoll.toNanos(), interval * 3 / 2);
+        }
+    }
+}
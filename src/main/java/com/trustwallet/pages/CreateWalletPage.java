@@ -2,22 +2,46 @@ package com.trustwallet.pages;
 
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileElement;
+import io.appium.java_client.clipboard.HasClipboard;
 import io.appium.java_client.pagefactory.AndroidFindBy;
-import io.appium.java_client.pagefactory.iOSXCUITFindBy;
 import io.qameta.allure.Step;
-import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.trustwallet.utils.UiSnapshot;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page object for the Create Wallet flow.
  */
 public class CreateWalletPage extends BasePage {
     private static final Logger log = LoggerFactory.getLogger(CreateWalletPage.class);
+    private static final String ID_PREFIX = "com.wallet.crypto.trustapp:id/";
+    private static final String SEED_WORD_ID = ID_PREFIX + "seed_word";
+    private static final String WORD_OPTION_ID = ID_PREFIX + "word_option";
+    private static final Duration SCREEN_LOAD_WINDOW = Duration.ofSeconds(10);
+
+    /**
+     * Screens of the flow. The PIN and PIN confirmation screens look the same.
+     */
+    public enum Screen { TERMS, BACKUP, SEED_REVEALED, CONFIRM, PIN, PIN_CONFIRM, WELCOME }
+
+    private final CreateWalletPageLocators locators = new CreateWalletPageLocators(driver);
+    private boolean seedPhraseCopied;
 
-    // Element locators using Page Factory annotations
+    // Locator declarations; CreateWalletPageLocators is generated from them at compile time
+    // and the fields themselves are never initialized
     @AndroidFindBy(id = "com.wallet.crypto.trustapp:id/terms_checkbox")
     private MobileElement termsCheckbox;
 
@@ -36,10 +60,10 @@ public class CreateWalletPage extends BasePage {
     @AndroidFindBy(id = "com.wallet.crypto.trustapp:id/copy_button")
     private MobileElement copyButton;
 
-    @AndroidFindBy(id = "com.wallet.crypto.trustapp:id/seed_word")
+    @AndroidFindBy(id = SEED_WORD_ID)
     private List<MobileElement> seedWords;
 
-    @AndroidFindBy(id = "com.wallet.crypto.trustapp:id/word_option")
+    @AndroidFindBy(id = WORD_OPTION_ID)
     private List<MobileElement> wordOptions;
 
     @AndroidFindBy(id = "com.wallet.crypto.trustapp:id/continue_button")
@@ -51,8 +75,15 @@ public class CreateWalletPage extends BasePage {
     @AndroidFindBy(id = "com.wallet.crypto.trustapp:id/error_message")
     private MobileElement errorMessage;
 
-    // Backup locators for elements that might be challenging with Page Factory
-    private static final By WELCOME_BANNER = By.id("com.wallet.crypto.trustapp:id/welcome_banner");
+    @AndroidFindBy(id = "com.wallet.crypto.trustapp:id/welcome_banner")
+    private MobileElement welcomeBanner;
+
+    /**
+     * Constructor for CreateWalletPage using the driver bound to the current thread.
+     */
+    public CreateWalletPage() {
+        super();
+    }
 
     /**
      * Constructor for CreateWalletPage.
@@ -71,7 +102,7 @@ public class CreateWalletPage extends BasePage {
     @Override
     public boolean isPageLoaded() {
         log.info("Checking if Create Wallet page is loaded");
-        return isElementDisplayed(By.id("com.wallet.crypto.trustapp:id/terms_checkbox"));
+        return isElementDisplayed(locators.termsCheckbox(), SCREEN_LOAD_WINDOW);
     }
 
     /**
@@ -82,7 +113,7 @@ public class CreateWalletPage extends BasePage {
     @Step("Accept terms and conditions")
     public CreateWalletPage acceptTerms() {
         log.info("Accepting terms and conditions");
-        termsCheckbox.click();
+        click(locators.termsCheckbox());
         return this;
     }
 
@@ -94,7 +125,7 @@ public class CreateWalletPage extends BasePage {
     @Step("Open terms and conditions")
     public CreateWalletPage openTerms() {
         log.info("Opening terms and conditions");
-        termsText.click();
+        click(locators.termsText());
         return this;
     }
 
@@ -106,7 +137,7 @@ public class CreateWalletPage extends BasePage {
     @Step("Click next button")
     public CreateWalletPage clickNext() {
         log.info("Clicking next button");
-        nextButton.click();
+        click(locators.nextButton());
         return this;
     }
 
@@ -118,7 +149,7 @@ public class CreateWalletPage extends BasePage {
     @Step("Reveal seed phrase")
     public CreateWalletPage revealSeedPhrase() {
         log.info("Revealing seed phrase");
-        revealPhraseButton.click();
+        click(locators.revealPhraseButton());
         return this;
     }
 
@@ -130,43 +161,125 @@ public class CreateWalletPage extends BasePage {
     @Step("Copy seed phrase")
     public CreateWalletPage copySeedPhrase() {
         log.info("Copying seed phrase");
-        copyButton.click();
+        click(locators.copyButton());
+        seedPhraseCopied = true;
         return this;
     }
 
     /**
      * Get seed phrase words.
+     * All words are read from one UI snapshot instead of one text request per word.
+     * Once the phrase has been copied, the clipboard is used if the words are no longer on screen.
      *
      * @return list of seed phrase words
      */
     @Step("Get seed phrase words")
     public List<String> getSeedPhraseWords() {
         log.info("Getting seed phrase words");
-        return seedWords.stream()
-                .map(MobileElement::getText)
-                .toList();
+        List<String> words = snapshot().textsById(SEED_WORD_ID);
+        if (words.isEmpty() && seedPhraseCopied) {
+            words = getCopiedSeedPhraseWords();
+        }
+        if (words.isEmpty()) {
+            // The phrase may still be rendering; wait for it and read it again
+            waitUtils.waitForElementToBeVisible(locators.seedWords());
+            UiSnapshot.invalidate();
+            words = snapshot().textsById(SEED_WORD_ID);
+        }
+        return words;
+    }
+
+    /**
+     * Get the seed phrase words from the clipboard with a single request.
+     * Only meaningful after {@link #copySeedPhrase()}.
+     *
+     * @return list of seed phrase words, empty if the clipboard is empty or unavailable
+     */
+    @Step("Get copied seed phrase words")
+    public List<String> getCopiedSeedPhraseWords() {
+        log.info("Reading seed phrase from clipboard");
+        if (!(driver instanceof HasClipboard)) {
+            log.warn("Driver {} cannot read the clipboard", driver.getClass().getSimpleName());
+            return Collections.emptyList();
+        }
+        String clipboard = ((HasClipboard) driver).getClipboardText();
+        if (clipboard == null || clipboard.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(clipboard.trim().split("\\s+"));
     }
 
     /**
      * Confirm seed phrase.
+     * Option texts are indexed once and each word is clicked straight from the index,
+     * instead of reading every option's text for every word.
      *
      * @param words list of words to confirm
      * @return this page object
+     * @throws NoSuchElementException if a word has no option, even after indexing the options again
      */
     @Step("Confirm seed phrase")
     public CreateWalletPage confirmSeedPhrase(List<String> words) {
         log.info("Confirming seed phrase");
-        for (String word : words) {
-            for (MobileElement option : wordOptions) {
-                if (option.getText().equals(word)) {
-                    option.click();
-                    break;
+        Map<String, Deque<MobileElement>> options = indexWordOptions();
+        for (int i = 1; i <= words.size(); i++) {
+            String word = words.get(i - 1);
+            MobileElement option = nextOption(options, word);
+            if (option != null) {
+                try {
+                    click(option);
+                    continue;
+                } catch (StaleElementReferenceException e) {
+                    // The options were re-rendered after the previous pick
+                    log.debug("Word options went stale, re-indexing");
                 }
+            } else {
+                log.debug("No option for seed word #{}, re-indexing", i);
+            }
+            options = indexWordOptions();
+            option = nextOption(options, word);
+            if (option == null) {
+                throw new NoSuchElementException("No option for seed word #" + i);
             }
+            click(option);
         }
         return this;
     }
 
+    private static MobileElement nextOption(Map<String, Deque<MobileElement>> options, String word) {
+        Deque<MobileElement> matches = options.get(word);
+        return matches == null ? null : matches.poll();
+    }
+
+    /**
+     * Index the word options by text. Texts come from one UI snapshot and elements from one
+     * find request; both list options in hierarchy order, so they are paired by position.
+     *
+     * @return word option elements keyed by text, in on-screen order
+     */
+    private Map<String, Deque<MobileElement>> indexWordOptions() {
+        // The options render after the previous screen is left; sessions have no implicit wait
+        waitUtils.waitForElementToBeVisible(locators.wordOptions());
+        UiSnapshot.invalidate();
+        List<String> texts = snapshot().textsById(WORD_OPTION_ID);
+        List<MobileElement> elements = driver.findElements(locators.wordOptions());
+        if (texts.size() != elements.size()) {
+            // The screen changed between the two reads; fall back to reading each option once
+            log.debug("Snapshot has {} word options but {} were found, reading texts individually",
+                    texts.size(), elements.size());
+            texts = new ArrayList<>(elements.size());
+            for (MobileElement element : elements) {
+                texts.add(element.getText());
+            }
+        }
+
+        Map<String, Deque<MobileElement>> index = new HashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            index.computeIfAbsent(texts.get(i), k -> new ArrayDeque<>()).add(elements.get(i));
+        }
+        return index;
+    }
+
     /**
      * Click continue button.
      *
@@ -175,7 +288,7 @@ public class CreateWalletPage extends BasePage {
     @Step("Click continue button")
     public CreateWalletPage clickContinue() {
         log.info("Clicking continue button");
-        continueButton.click();
+        click(locators.continueButton());
         return this;
     }
 
@@ -185,10 +298,10 @@ public class CreateWalletPage extends BasePage {
      * @param pin PIN to enter
      * @return this page object
      */
-    @Step("Enter PIN: {0}")
+    @Step("Enter PIN")
     public CreateWalletPage enterPin(String pin) {
         log.info("Entering PIN");
-        pinInput.sendKeys(pin);
+        sendKeys(locators.pinInput(), pin);
         return this;
     }
 
@@ -200,7 +313,7 @@ public class CreateWalletPage extends BasePage {
     @Step("Get error message")
     public String getErrorMessage() {
         log.info("Getting error message");
-        return errorMessage.getText();
+        return getText(locators.errorMessage());
     }
 
     /**
@@ -211,6 +324,43 @@ public class CreateWalletPage extends BasePage {
     @Step("Check if wallet creation is successful")
     public boolean isWalletCreationSuccessful() {
         log.info("Checking if wallet creation is successful");
-        return isElementDisplayed(WELCOME_BANNER);
+        return isElementDisplayed(locators.welcomeBanner(), SCREEN_LOAD_WINDOW);
+    }
+
+    /**
+     * Check whether the flow moved on to the seed phrase screen within a time window.
+     * Returns as soon as the screen shows up, so a negative answer costs only the window.
+     *
+     * @param window maximum time to wait
+     * @return true if the seed phrase screen was shown
+     */
+    public boolean hasAdvancedToSeedPhrase(Duration window) {
+        log.info("Checking if flow advanced to seed phrase screen");
+        return isElementDisplayed(locators.revealPhraseButton(), window);
+    }
+
+    /**
+     * Tell the current screen of the flow from one UI snapshot.
+     * The PIN confirmation screen is reported as {@link Screen#PIN}.
+     *
+     * @return current screen, null if the flow shows none of its screens
+     */
+    public Screen currentScreen() {
+        UiSnapshot.invalidate();
+        UiSnapshot ui = snapshot();
+        if (ui.isDisplayed(ID_PREFIX + "terms_checkbox")) {
+            return Screen.TERMS;
+        } else if (ui.isDisplayed(ID_PREFIX + "copy_button")) {
+            return Screen.SEED_REVEALED;
+        } else if (ui.isDisplayed(ID_PREFIX + "reveal_phrase_button")) {
+            return Screen.BACKUP;
+        } else if (ui.isDisplayed(WORD_OPTION_ID)) {
+            return Screen.CONFIRM;
+        } else if (ui.isDisplayed(ID_PREFIX + "pin_input")) {
+            return Screen.PIN;
+        } else if (ui.isDisplayed(ID_PREFIX + "welcome_banner")) {
+            return Screen.WELCOME;
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
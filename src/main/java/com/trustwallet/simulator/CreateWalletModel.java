@@ -0,0 +1,236 @@
+package com.trustwallet.simulator;
+
+import org.openqa.selenium.Rectangle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * UI model of the Trust Wallet create-wallet flow, using the resource-ids of CreateWalletPage:
+ * terms, seed phrase backup, seed phrase confirmation, PIN, PIN confirmation and welcome screens.
+ * After a tap that changes screens, the new screen is empty for the transition delay,
+ * so waits behave as they do against a real app.
+ */
+public class CreateWalletModel implements UiModel {
+    static final String ID_PREFIX = "com.wallet.crypto.trustapp:id/";
+    static final int SEED_PHRASE_LENGTH = 12;
+    private static final List<String> WORDS = Arrays.asList(
+            "abandon", "ability", "able", "about", "above", "absent", "absorb", "abstract", "absurd", "abuse",
+            "access", "accident", "account", "accuse", "achieve", "acid", "acoustic", "acquire", "across", "act",
+            "action", "actor", "actress", "actual", "adapt", "add", "addict", "address", "adjust", "admit");
+
+    enum Screen { TERMS, BACKUP, CONFIRM, PIN, PIN_CONFIRM, WELCOME }
+
+    private final Duration transitionDelay;
+    private final Random random;
+
+    private Screen screen;
+    private long visibleAtNanos;
+    private List<SimulatedElement> elements = Collections.emptyList();
+    // Widgets of the current screen survive re-renders, so element references stay valid
+    private final Map<String, SimulatedElement> widgets = new HashMap<>();
+    private List<String> seedPhrase;
+    private final List<String> picked = new ArrayList<>();
+    private boolean revealed;
+    private String pin;
+    private String clipboard = "";
+
+    /**
+     * Constructor for CreateWalletModel.
+     *
+     * @param transitionDelay time a new screen takes to render
+     * @param seed            random seed for the seed phrase and option order
+     */
+    public CreateWalletModel(Duration transitionDelay, long seed) {
+        this.transitionDelay = transitionDelay;
+        this.random = new Random(seed);
+        reset();
+    }
+
+    @Override
+    public synchronized List<SimulatedElement> elements() {
+        return System.nanoTime() < visibleAtNanos ? Collections.emptyList() : elements;
+    }
+
+    @Override
+    public synchronized void click(SimulatedElement element) {
+        switch (name(element)) {
+            case "terms_checkbox":
+                element.setChecked(!element.isChecked());
+                break;
+            case "next_button":
+                if (screen == Screen.TERMS && find("terms_checkbox").isChecked()) {
+                    show(Screen.BACKUP);
+                } else if (screen == Screen.BACKUP && revealed) {
+                    show(Screen.CONFIRM);
+                }
+                break;
+            case "reveal_phrase_button":
+                revealed = true;
+                render();
+                break;
+            case "copy_button":
+                clipboard = String.join(" ", seedPhrase);
+                break;
+            case "word_option":
+                if (element.isEnabled()) {
+                    picked.add(element.getText());
+                    element.setEnabled(false);
+                }
+                break;
+            case "continue_button":
+                onContinue();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public synchronized void type(SimulatedElement element, String text) {
+        element.setText(element.getText() + text);
+    }
+
+    @Override
+    public synchronized String getClipboard() {
+        return clipboard;
+    }
+
+    @Override
+    public synchronized void setClipboard(String text) {
+        clipboard = text == null ? "" : text;
+    }
+
+    @Override
+    public synchronized void reset() {
+        List<String> shuffled = new ArrayList<>(WORDS);
+        Collections.shuffle(shuffled, random);
+        seedPhrase = Collections.unmodifiableList(new ArrayList<>(shuffled.subList(0, SEED_PHRASE_LENGTH)));
+        picked.clear();
+        revealed = false;
+        pin = null;
+        clipboard = "";
+        screen = Screen.TERMS;
+        visibleAtNanos = 0;
+        widgets.clear();
+        render();
+    }
+
+    /**
+     * Get the seed phrase generated for the current wallet.
+     *
+     * @return seed phrase words in order
+     */
+    public synchronized List<String> getSeedPhrase() {
+        return seedPhrase;
+    }
+
+    private void onContinue() {
+        if (screen == Screen.CONFIRM) {
+            if (picked.equals(seedPhrase)) {
+                show(Screen.PIN);
+            } else {
+                picked.clear();
+                for (SimulatedElement element : elements) {
+                    element.setEnabled(true);
+                }
+                showError("Seed phrase is incorrect, please try again");
+            }
+        } else if (screen == Screen.PIN) {
+            pin = find("pin_input").getText();
+            show(Screen.PIN_CONFIRM);
+        } else if (screen == Screen.PIN_CONFIRM) {
+            if (find("pin_input").getText().equals(pin)) {
+                show(Screen.WELCOME);
+            } else {
+                find("pin_input").setText("");
+                showError("PINs do not match");
+            }
+        }
+    }
+
+    private void show(Screen next) {
+        screen = next;
+        visibleAtNanos = System.nanoTime() + transitionDelay.toNanos();
+        widgets.clear();
+        render();
+    }
+
+    private void showError(String message) {
+        List<SimulatedElement> withError = new ArrayList<>(elements);
+        SimulatedElement error = widget("error_message", 0, "android.widget.TextView", message, 40, 1900);
+        error.setText(message);
+        if (!withError.contains(error)) {
+            withError.add(error);
+        }
+        elements = Collections.unmodifiableList(withError);
+    }
+
+    private void render() {
+        List<SimulatedElement> next = new ArrayList<>();
+        switch (screen) {
+            case TERMS:
+                next.add(widget("terms_text", 0, "android.widget.TextView", "I agree to the Terms of Service", 140, 1700));
+                next.add(widget("terms_checkbox", 0, "android.widget.CheckBox", "", 40, 1700));
+                next.add(widget("next_button", 0, "android.widget.Button", "Next", 40, 2100));
+                break;
+            case BACKUP:
+                next.add(widget("seed_phrase_container", 0, "android.widget.LinearLayout", "", 40, 300));
+                if (revealed) {
+                    for (int i = 0; i < seedPhrase.size(); i++) {
+                        next.add(widget("seed_word", i, "android.widget.TextView", seedPhrase.get(i),
+                                40 + (i % 2) * 520, 320 + (i / 2) * 110));
+                    }
+                    next.add(widget("copy_button", 0, "android.widget.Button", "Copy", 40, 1000));
+                } else {
+                    next.add(widget("reveal_phrase_button", 0, "android.widget.Button", "Reveal", 40, 600));
+                }
+                next.add(widget("next_button", 0, "android.widget.Button", "Next", 40, 2100));
+                break;
+            case CONFIRM:
+                List<String> options = new ArrayList<>(seedPhrase);
+                Collections.shuffle(options, random);
+                for (int i = 0; i < options.size(); i++) {
+                    next.add(widget("word_option", i, "android.widget.Button", options.get(i),
+                            40 + (i % 3) * 340, 900 + (i / 3) * 110));
+                }
+                next.add(widget("continue_button", 0, "android.widget.Button", "Continue", 40, 2100));
+                break;
+            case PIN:
+            case PIN_CONFIRM:
+                next.add(widget("pin_input", 0, "android.widget.EditText", "", 40, 800));
+                next.add(widget("continue_button", 0, "android.widget.Button", "Continue", 40, 2100));
+                break;
+            case WELCOME:
+                next.add(widget("welcome_banner", 0, "android.widget.TextView", "Welcome to Trust Wallet", 40, 600));
+                break;
+            default:
+                break;
+        }
+        elements = Collections.unmodifiableList(next);
+    }
+
+    private SimulatedElement find(String name) {
+        for (SimulatedElement element : elements) {
+            if (name(element).equals(name)) {
+                return element;
+            }
+        }
+        throw new IllegalStateException("No " + name + " on screen " + screen);
+    }
+
+    private SimulatedElement widget(String name, int index, String className, String text, int x, int y) {
+        return widgets.computeIfAbsent(name + "#" + index,
+                k -> new SimulatedElement(ID_PREFIX + name, className, text, new Rectangle(x, y, 100, 480)));
+    }
+
+    private static String name(SimulatedElement element) {
+        return element.getResourceId().substring(ID_PREFIX.length());
+    }
+}
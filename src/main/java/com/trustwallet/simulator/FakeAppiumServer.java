@@ -0,0 +1,685 @@
+package com.trustwallet.simulator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ConfigSnapshot;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process HTTP server speaking the W3C WebDriver and Appium protocol against simulated apps,
+ * so the framework can run and be load-tested without an Appium server or device.
+ * Every session gets its own {@link UiModel}; commands are delayed and failed according to a
+ * {@link LatencyProfile}, which can be swapped while the server runs.
+ */
+public class FakeAppiumServer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(FakeAppiumServer.class);
+    private static final String BASE_PATH = "/wd/hub";
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 2340;
+    private static final int TAP_SLOP = 10;
+    private static final long IMPLICIT_POLL_MILLIS = 50;
+    private static final Json JSON = new Json();
+
+    private static FakeAppiumServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Supplier<UiModel> models;
+    private final Map<String, SimulatedSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+    private final AtomicLong commandCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private volatile LatencyProfile profile;
+
+    /**
+     * Constructor for FakeAppiumServer. The server starts immediately.
+     *
+     * @param port    port to listen on, 0 for any free port
+     * @param profile latency and failures to inject
+     * @param models  creates the app model of each new session
+     * @throws IOException if the server cannot bind
+     */
+    public FakeAppiumServer(int port, LatencyProfile profile, Supplier<UiModel> models) throws IOException {
+        this.profile = profile;
+        this.models = models;
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "fake-appium-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext(BASE_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("Fake Appium server listening on {}", getUrl());
+    }
+
+    /**
+     * Constructor for FakeAppiumServer serving the create-wallet flow.
+     *
+     * @param profile         latency and failures to inject
+     * @param transitionDelay time a new screen takes to render
+     * @throws IOException if the server cannot bind
+     */
+    public FakeAppiumServer(LatencyProfile profile, Duration transitionDelay) throws IOException {
+        this(0, profile, createWalletModels(transitionDelay));
+    }
+
+    /**
+     * Get the server shared by the test run, configured by the {@code simulator.*} properties
+     * and stopped when the JVM exits.
+     *
+     * @return FakeAppiumServer instance
+     */
+    public static synchronized FakeAppiumServer getShared() {
+        if (shared == null) {
+            ConfigSnapshot config = ConfigManager.getInstance().getDefaultConfig();
+            try {
+                shared = new FakeAppiumServer(config.getInt("simulator.port", 0), LatencyProfile.fromConfig(config),
+                        createWalletModels(config.getDuration("simulator.transition.delay", Duration.ZERO)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start fake Appium server", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "fake-appium-shutdown"));
+        }
+        return shared;
+    }
+
+    private static Supplier<UiModel> createWalletModels(Duration transitionDelay) {
+        AtomicLong seeds = new AtomicLong();
+        return () -> new CreateWalletModel(transitionDelay, seeds.incrementAndGet());
+    }
+
+    /**
+     * Get the URL to use as {@code appium.server.url}.
+     *
+     * @return server URL
+     */
+    public URL getUrl() {
+        try {
+            return new URL("http://127.0.0.1:" + server.getAddress().getPort() + BASE_PATH);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Replace the latency profile; applies to the next command.
+     *
+     * @param profile latency and failures to inject
+     */
+    public void setProfile(LatencyProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Get the app model of a session, e.g. to read the generated seed phrase.
+     *
+     * @param sessionId session id
+     * @return app model, null if there is no such session
+     */
+    public UiModel getModel(String sessionId) {
+        SimulatedSession session = sessions.get(sessionId);
+        return session == null ? null : session.getModel();
+    }
+
+    /**
+     * Get the number of open sessions.
+     *
+     * @return session count
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Get the number of commands received.
+     *
+     * @return command count
+     */
+    public long getCommandCount() {
+        return commandCount.get();
+    }
+
+    /**
+     * Get the number of commands failed on purpose.
+     *
+     * @return injected failure count
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Stop the server and drop all sessions.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        sessions.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String[] path = exchange.getRequestURI().getPath().substring(BASE_PATH.length()).split("/");
+            Request request = new Request(exchange.getRequestMethod(), path,
+                    body.isEmpty() ? Collections.emptyMap() : JSON.toType(body, Json.MAP_TYPE));
+            commandCount.incrementAndGet();
+
+            LatencyProfile current = profile;
+            current.delay(request.command());
+            if (current.shouldFail()) {
+                failureCount.incrementAndGet();
+                throw new WebDriverError(500, "unknown error", "Injected failure of " + request.command());
+            }
+            respond(exchange, 200, Collections.singletonMap("value", dispatch(request)));
+        } catch (WebDriverError e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.error);
+            error.put("message", e.getMessage());
+            error.put("stacktrace", "");
+            respond(exchange, e.status, Collections.singletonMap("value", error));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        } catch (RuntimeException e) {
+            log.error("Fake Appium server failed to handle {}", exchange.getRequestURI(), e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "unknown error");
+            error.put("message", String.valueOf(e.getMessage()));
+            error.put("stacktrace", "");
+            respond(exchange, 500, Collections.singletonMap("value", error));
+        }
+    }
+
+    private Object dispatch(Request request) throws InterruptedException {
+        if (request.path.length == 2 && request.is("POST")) {
+            return newSession(request);
+        }
+        SimulatedSession session = request.path.length > 2 ? sessions.get(request.path[2]) : null;
+        if (session == null) {
+            throw new WebDriverError(404, "invalid session id", "No active session with that id");
+        }
+        if (request.path.length == 3) {
+            if (request.is("DELETE")) {
+                sessions.remove(session.getId());
+                return null;
+            }
+            return session.getCapabilities();
+        }
+
+        UiModel model = session.getModel();
+        switch (request.command()) {
+            case "setTimeout":
+                Object implicit = request.body.containsKey("implicit") ? request.body.get("implicit") : request.body.get("ms");
+                if (implicit instanceof Number) {
+                    session.setImplicitWaitMillis(((Number) implicit).longValue());
+                }
+                return null;
+            case "findElement":
+                return toJson(find(session, request, true).get(0));
+            case "findElements":
+                List<Object> found = new ArrayList<>();
+                for (SimulatedElement element : find(session, request, false)) {
+                    found.add(toJson(element));
+                }
+                return found;
+            case "findChildElement":
+                throw new WebDriverError(404, "no such element", "Simulated widgets have no children");
+            case "findChildElements":
+                return Collections.emptyList();
+            case "getPageSource":
+                return UiHierarchy.of(model.elements()).toXml();
+            case "screenshot":
+            case "elementScreenshot":
+                return Screenshot.BASE64;
+            case "getWindowRect":
+                return session.isLandscape()
+                        ? rect(new Rectangle(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT))
+                        : rect(new Rectangle(0, 0, SCREEN_HEIGHT, SCREEN_WIDTH));
+            case "getScreenOrientation":
+                return session.isLandscape() ? "LANDSCAPE" : "PORTRAIT";
+            case "setScreenOrientation":
+                session.setLandscape("LANDSCAPE".equalsIgnoreCase(String.valueOf(request.body.get("orientation"))));
+                return null;
+            case "actions":
+                performActions(session, request.body);
+                return null;
+            case "touchAction":
+                performTouch(session, request.body);
+                return null;
+            case "getClipboard":
+                return Base64.getEncoder().encodeToString(model.getClipboard().getBytes(StandardCharsets.UTF_8));
+            case "setClipboard":
+                model.setClipboard(new String(Base64.getDecoder().decode(String.valueOf(request.body.get("content"))),
+                        StandardCharsets.UTF_8));
+                return null;
+            case "executeScript":
+                if ("mobile: clearApp".equals(request.body.get("script"))) {
+                    model.reset();
+                }
+                return null;
+            case "resetApp":
+                model.reset();
+                return null;
+            case "activateApp":
+            case "terminateApp":
+                return Boolean.TRUE;
+            case "queryAppState":
+                return 4;
+            default:
+                break;
+        }
+        if (request.path.length > 4 && "element".equals(request.path[3])) {
+            return elementCommand(session, request);
+        }
+        log.debug("Fake Appium server ignores {}", request.command());
+        return null;
+    }
+
+    private Object newSession(Request request) {
+        Map<String, Object> capabilities = new LinkedHashMap<>();
+        Object desired = request.body.get("desiredCapabilities");
+        if (desired instanceof Map) {
+            ((Map<?, ?>) desired).forEach((k, v) -> capabilities.put(String.valueOf(k), v));
+        }
+        capabilities.put("platformName", "Android");
+        capabilities.putIfAbsent("automationName", "UiAutomator2");
+        String sessionId = "sim-" + sessionCounter.incrementAndGet();
+        sessions.put(sessionId, new SimulatedSession(sessionId, capabilities, models.get()));
+
+        Map<String, Object> value = new HashMap<>();
+        value.put("sessionId", sessionId);
+        value.put("capabilities", capabilities);
+        return value;
+    }
+
+    private List<SimulatedElement> find(SimulatedSession session, Request request, boolean single)
+            throws InterruptedException {
+        String using = String.valueOf(request.body.get("using"));
+        String value = String.valueOf(request.body.get("value"));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(session.getImplicitWaitMillis());
+        while (true) {
+            List<SimulatedElement> found;
+            try {
+                found = UiHierarchy.of(session.getModel().elements()).find(using, value);
+            } catch (IllegalArgumentException e) {
+                throw new WebDriverError(400, "invalid selector", e.getMessage());
+            }
+            if (!found.isEmpty() || System.nanoTime() >= deadline) {
+                if (found.isEmpty() && single) {
+                    throw new WebDriverError(404, "no such element",
+                            "An element could not be located using " + using + "=" + value);
+                }
+                session.remember(found);
+                return found;
+            }
+            TimeUnit.MILLISECONDS.sleep(IMPLICIT_POLL_MILLIS);
+        }
+    }
+
+    private Object elementCommand(SimulatedSession session, Request request) {
+        SimulatedElement element = attachedElement(session, request.path[4]);
+        UiModel model = session.getModel();
+        switch (request.command()) {
+            case "clickElement":
+                model.click(element);
+                return null;
+            case "sendKeysToElement":
+                model.type(element, keysOf(request.body));
+                return null;
+            case "clearElement":
+                model.clear(element);
+                return null;
+            case "getElementText":
+                return element.getText();
+            case "isElementDisplayed":
+                return element.isDisplayed();
+            case "isElementEnabled":
+                return element.isEnabled();
+            case "isElementSelected":
+                return element.isChecked();
+            case "getElementAttribute":
+                return element.getAttribute(request.path[6]);
+            case "getElementRect":
+                return rect(element.getBounds());
+            default:
+                log.debug("Fake Appium server ignores {}", request.command());
+                return null;
+        }
+    }
+
+    private static SimulatedElement attachedElement(SimulatedSession session, String elementId) {
+        SimulatedElement element = session.element(elementId);
+        if (element == null) {
+            throw new WebDriverError(404, "no such element", "Unknown element id " + elementId);
+        }
+        if (!session.isAttached(element)) {
+            throw new WebDriverError(404, "stale element reference", "Element " + element + " is no longer on screen");
+        }
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String keysOf(Map<String, Object> body) {
+        Object text = body.get("text");
+        if (text != null) {
+            return String.valueOf(text);
+        }
+        StringBuilder keys = new StringBuilder();
+        Object value = body.get("value");
+        if (value instanceof List) {
+            for (Object key : (List<Object>) value) {
+                keys.append(key);
+            }
+        }
+        return keys.toString();
+    }
+
+    /**
+     * Replay W3C pointer actions; a pointer that goes down and up without moving taps what is under it.
+     */
+    @SuppressWarnings("unchecked")
+    private static void performActions(SimulatedSession session, Map<String, Object> body) {
+        Object sources = body.get("actions");
+        if (!(sources instanceof List)) {
+            return;
+        }
+        for (Object source : (List<Object>) sources) {
+            if (!(source instanceof Map) || !"pointer".equals(((Map<String, Object>) source).get("type"))) {
+                continue;
+            }
+            int x = 0;
+            int y = 0;
+            int downX = -1;
+            int downY = -1;
+            for (Object item : (List<Object>) ((Map<String, Object>) source).get("actions")) {
+                Map<String, Object> action = (Map<String, Object>) item;
+                String type = String.valueOf(action.get("type"));
+                if ("pointerMove".equals(type)) {
+                    int[] origin = origin(session, action.get("origin"), x, y);
+                    x = origin[0] + intOf(action.get("x"));
+                    y = origin[1] + intOf(action.get("y"));
+                } else if ("pointerDown".equals(type)) {
+                    downX = x;
+                    downY = y;
+                } else if ("pointerUp".equals(type) && downX >= 0) {
+                    if (Math.abs(x - downX) <= TAP_SLOP && Math.abs(y - downY) <= TAP_SLOP) {
+                        tapAt(session, x, y);
+                    }
+                    downX = -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replay legacy touch actions; tap, or press and release without a move, taps what is under the finger.
+     */
+    @SuppressWarnings("unchecked")
+    private static void performTouch(SimulatedSession session, Map<String, Object> body) {
+        Object actions = body.get("actions");
+        if (!(actions instanceof List)) {
+            return;
+        }
+        boolean pressed = false;
+        boolean moved = false;
+        int x = 0;
+        int y = 0;
+        for (Object item : (List<Object>) actions) {
+            Map<String, Object> action = (Map<String, Object>) item;
+            Map<String, Object> options = action.get("options") instanceof Map
+                    ? (Map<String, Object>) action.get("options") : Collections.emptyMap();
+            String name = String.valueOf(action.get("action"));
+            if ("tap".equals(name) || "press".equals(name) || "longPress".equals(name) || "moveTo".equals(name)) {
+                int[] origin = options.containsKey("element")
+                        ? center(attachedElement(session, String.valueOf(options.get("element")))) : new int[]{0, 0};
+                x = origin[0] + intOf(options.get("x"));
+                y = origin[1] + intOf(options.get("y"));
+            }
+            if ("tap".equals(name)) {
+                tapAt(session, x, y);
+            } else if ("press".equals(name) || "longPress".equals(name)) {
+                pressed = true;
+                moved = false;
+            } else if ("moveTo".equals(name)) {
+                moved = true;
+            } else if ("release".equals(name) && pressed) {
+                if (!moved) {
+                    tapAt(session, x, y);
+                }
+                pressed = false;
+            }
+        }
+    }
+
+    private static int[] origin(SimulatedSession session, Object origin, int x, int y) {
+        if (origin instanceof Map) {
+            Object elementId = ((Map<?, ?>) origin).get(ELEMENT_KEY);
+            return center(attachedElement(session, String.valueOf(elementId)));
+        }
+        return "pointer".equals(origin) ? new int[]{x, y} : new int[]{0, 0};
+    }
+
+    private static void tapAt(SimulatedSession session, int x, int y) {
+        List<SimulatedElement> elements = session.getModel().elements();
+        // Later widgets are drawn on top
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            Rectangle bounds = elements.get(i).getBounds();
+            if (x >= bounds.getX() && x < bounds.getX() + bounds.getWidth()
+                    && y >= bounds.getY() && y < bounds.getY() + bounds.getHeight()) {
+                session.getModel().click(elements.get(i));
+                return;
+            }
+        }
+    }
+
+    private static int[] center(SimulatedElement element) {
+        Rectangle bounds = element.getBounds();
+        return new int[]{bounds.getX() + bounds.getWidth() / 2, bounds.getY() + bounds.getHeight() / 2};
+    }
+
+    private static int intOf(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static Map<String, Object> toJson(SimulatedElement element) {
+        Map<String, Object> json = new HashMap<>();
+        json.put(ELEMENT_KEY, element.getId());
+        json.put("ELEMENT", element.getId());
+        return json;
+    }
+
+    private static Map<String, Object> rect(Rectangle bounds) {
+        Map<String, Object> json = new HashMap<>();
+        json.put("x", bounds.getX());
+        json.put("y", bounds.getY());
+        json.put("width", bounds.getWidth());
+        json.put("height", bounds.getHeight());
+        return json;
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = JSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * One parsed request: method, path segments after the base path and JSON body.
+     */
+    private static final class Request {
+        private final String method;
+        private final String[] path;
+        private final Map<String, Object> body;
+
+        Request(String method, String[] path, Map<String, Object> body) {
+            this.method = method;
+            this.path = path;
+            this.body = body;
+        }
+
+        boolean is(String expected) {
+            return expected.equals(method);
+        }
+
+        /**
+         * Name the command like Selenium's DriverCommand does, for latency overrides and logs.
+         */
+        String command() {
+            if (path.length <= 2) {
+                return "newSession";
+            }
+            if (path.length == 3) {
+                return is("DELETE") ? "quit" : "getSession";
+            }
+            String resource = path[3];
+            switch (resource) {
+                case "timeouts":
+                    return "setTimeout";
+                case "element":
+                    return path.length == 4 ? "findElement" : elementCommand();
+                case "elements":
+                    return "findElements";
+                case "source":
+                    return "getPageSource";
+                case "screenshot":
+                    return "screenshot";
+                case "window":
+                    return "getWindowRect";
+                case "orientation":
+                    return is("POST") ? "setScreenOrientation" : "getScreenOrientation";
+                case "actions":
+                    return "actions";
+                case "touch":
+                    return "touchAction";
+                case "execute":
+                    return "executeScript";
+                case "appium":
+                    return appiumCommand();
+                default:
+                    return resource;
+            }
+        }
+
+        private String elementCommand() {
+            String action = path.length > 5 ? path[5] : "";
+            switch (action) {
+                case "element":
+                    return "findChildElement";
+                case "elements":
+                    return "findChildElements";
+                case "click":
+                    return "clickElement";
+                case "value":
+                    return "sendKeysToElement";
+                case "clear":
+                    return "clearElement";
+                case "text":
+                    return "getElementText";
+                case "displayed":
+                    return "isElementDisplayed";
+                case "enabled":
+                    return "isElementEnabled";
+                case "selected":
+                    return "isElementSelected";
+                case "attribute":
+                    return "getElementAttribute";
+                case "rect":
+                    return "getElementRect";
+                case "screenshot":
+                    return "elementScreenshot";
+                default:
+                    return "element/" + action;
+            }
+        }
+
+        private String appiumCommand() {
+            String last = path[path.length - 1];
+            switch (last) {
+                case "get_clipboard":
+                    return "getClipboard";
+                case "set_clipboard":
+                    return "setClipboard";
+                case "activate_app":
+                    return "activateApp";
+                case "terminate_app":
+                    return "terminateApp";
+                case "app_state":
+                    return "queryAppState";
+                case "reset":
+                    return "resetApp";
+                default:
+                    return "appium/" + last;
+            }
+        }
+    }
+
+    /**
+     * W3C error returned to the client.
+     */
+    private static final class WebDriverError extends RuntimeException {
+        private final int status;
+        private final String error;
+
+        WebDriverError(int status, String error, String message) {
+            super(message);
+            this.status = status;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Placeholder screenshot, rendered once.
+     */
+    private static final class Screenshot {
+        static final String BASE64 = Base64.getEncoder().encodeToString(render());
+
+        private static byte[] render() {
+            BufferedImage image = new BufferedImage(SCREEN_WIDTH / 4, SCREEN_HEIGHT / 4, BufferedImage.TYPE_INT_RGB);
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                ImageIO.write(image, "png", out);
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.trustwallet.simulator;
+
+import com.trustwallet.utils.ConfigSnapshot;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and failures injected by the {@link FakeAppiumServer}.
+ * Each command waits for its base latency plus a uniformly random jitter, and fails
+ * with an unknown server error at the given rate.
+ */
+public class LatencyProfile {
+    private final Duration latency;
+    private final Duration jitter;
+    private final double failureRate;
+    private final Map<String, Duration> commandLatencies;
+
+    /**
+     * Constructor for LatencyProfile.
+     *
+     * @param latency          base latency of every command
+     * @param jitter           maximum random latency added on top
+     * @param failureRate      fraction of commands that fail, between 0 and 1
+     * @param commandLatencies base latency overrides by command name, e.g. getPageSource
+     */
+    public LatencyProfile(Duration latency, Duration jitter, double failureRate, Map<String, Duration> commandLatencies) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Failure rate must be between 0 and 1: " + failureRate);
+        }
+        this.latency = latency;
+        this.jitter = jitter;
+        this.failureRate = failureRate;
+        this.commandLatencies = Collections.unmodifiableMap(new HashMap<>(commandLatencies));
+    }
+
+    /**
+     * Profile without latency or failures.
+     *
+     * @return instant profile
+     */
+    public static LatencyProfile none() {
+        return new LatencyProfile(Duration.ZERO, Duration.ZERO, 0, Collections.emptyMap());
+    }
+
+    /**
+     * Build a profile from {@code simulator.latency}, {@code simulator.jitter}, {@code simulator.failure.rate}
+     * and {@code simulator.latency.<command>} properties.
+     *
+     * @param config configuration snapshot
+     * @return latency profile
+     */
+    public static LatencyProfile fromConfig(ConfigSnapshot config) {
+        String prefix = "simulator.latency.";
+        Map<String, Duration> overrides = new HashMap<>();
+        for (String key : config.asMap().keySet()) {
+            if (key.startsWith(prefix)) {
+                overrides.put(key.substring(prefix.length()), config.getDuration(key, Duration.ZERO));
+            }
+        }
+        double failureRate;
+        try {
+            failureRate = Double.parseDouble(config.getString("simulator.failure.rate", "0"));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid simulator.failure.rate: " + config.getString("simulator.failure.rate"), e);
+        }
+        return new LatencyProfile(config.getDuration("simulator.latency", Duration.ZERO),
+                config.getDuration("simulator.jitter", Duration.ZERO), failureRate, overrides);
+    }
+
+    /**
+     * Draw the latency of one command.
+     *
+     * @param command command name
+     * @return latency to inject
+     */
+    public Duration latencyOf(String command) {
+        long base = commandLatencies.getOrDefault(command, latency).toNanos();
+        long maxJitter = jitter.toNanos();
+        long extra = maxJitter > 0 ? ThreadLocalRandom.current().nextLong(maxJitter + 1) : 0;
+        return Duration.ofNanos(base + extra);
+    }
+
+    /**
+     * Decide whether one command fails.
+     *
+     * @return true if the command should fail
+     */
+    public boolean shouldFail() {
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    /**
+     * Sleep for the latency of one command.
+     *
+     * @param command command name
+     * @throws InterruptedException if interrupted while sleeping
+     */
+    void delay(String command) throws InterruptedException {
+        long nanos = latencyOf(command).toNanos();
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.trustwallet.simulator;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One widget of a simulated screen. The id stays the same for the lifetime of the widget,
+ * so a reference found before a screen change becomes stale exactly like on a device.
+ */
+public class SimulatedElement {
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final String id = "el-" + IDS.incrementAndGet();
+    private final String resourceId;
+    private final String className;
+    private final Rectangle bounds;
+    private volatile String text;
+    private volatile String contentDesc = "";
+    private volatile boolean enabled = true;
+    private volatile boolean checked;
+    private volatile boolean displayed = true;
+
+    /**
+     * Constructor for SimulatedElement.
+     *
+     * @param resourceId full resource-id, e.g. com.wallet.crypto.trustapp:id/next_button
+     * @param className  widget class, e.g. android.widget.Button
+     * @param text       initial text
+     * @param bounds     position and size on screen
+     */
+    public SimulatedElement(String resourceId, String className, String text, Rectangle bounds) {
+        this.resourceId = resourceId;
+        this.className = className;
+        this.text = text == null ? "" : text;
+        this.bounds = bounds;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text == null ? "" : text;
+    }
+
+    public String getContentDesc() {
+        return contentDesc;
+    }
+
+    public void setContentDesc(String contentDesc) {
+        this.contentDesc = contentDesc == null ? "" : contentDesc;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isChecked() {
+        return checked;
+    }
+
+    public void setChecked(boolean checked) {
+        this.checked = checked;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public void setDisplayed(boolean displayed) {
+        this.displayed = displayed;
+    }
+
+    /**
+     * Get an attribute by its UiAutomator2 name.
+     *
+     * @param name attribute name, e.g. resource-id, text, checked
+     * @return attribute value, null if unknown
+     */
+    public String getAttribute(String name) {
+        switch (name) {
+            case "resource-id":
+            case "resourceId":
+                return resourceId;
+            case "class":
+            case "className":
+                return className;
+            case "text":
+                return text;
+            case "content-desc":
+            case "contentDescription":
+                return contentDesc;
+            case "enabled":
+                return String.valueOf(enabled);
+            case "checked":
+                return String.valueOf(checked);
+            case "displayed":
+                return String.valueOf(displayed);
+            case "bounds":
+                return String.format("[%d,%d][%d,%d]", bounds.getX(), bounds.getY(),
+                        bounds.getX() + bounds.getWidth(), bounds.getY() + bounds.getHeight());
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[id=%s, text=%s]", className, resourceId, text);
+    }
+}
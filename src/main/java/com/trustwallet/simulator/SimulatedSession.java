@@ -0,0 +1,84 @@
+package com.trustwallet.simulator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * State of one session on the {@link FakeAppiumServer}: the app model, the implicit wait
+ * and the elements handed out to the client.
+ */
+class SimulatedSession {
+    private final String id;
+    private final Map<String, Object> capabilities;
+    private final UiModel model;
+    private final Map<String, SimulatedElement> elements = new ConcurrentHashMap<>();
+    private volatile long implicitWaitMillis;
+    private volatile boolean landscape;
+
+    SimulatedSession(String id, Map<String, Object> capabilities, UiModel model) {
+        this.id = id;
+        this.capabilities = Collections.unmodifiableMap(capabilities);
+        this.model = model;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Map<String, Object> getCapabilities() {
+        return capabilities;
+    }
+
+    UiModel getModel() {
+        return model;
+    }
+
+    long getImplicitWaitMillis() {
+        return implicitWaitMillis;
+    }
+
+    void setImplicitWaitMillis(long implicitWaitMillis) {
+        this.implicitWaitMillis = implicitWaitMillis;
+    }
+
+    boolean isLandscape() {
+        return landscape;
+    }
+
+    void setLandscape(boolean landscape) {
+        this.landscape = landscape;
+    }
+
+    /**
+     * Remember elements returned to the client so later commands can refer to them.
+     *
+     * @param found elements returned by a find command
+     */
+    void remember(List<SimulatedElement> found) {
+        for (SimulatedElement element : found) {
+            elements.put(element.getId(), element);
+        }
+    }
+
+    /**
+     * Resolve an element id sent by the client.
+     *
+     * @param elementId element id
+     * @return element, null if the id was never handed out
+     */
+    SimulatedElement element(String elementId) {
+        return elements.get(elementId);
+    }
+
+    /**
+     * Check whether an element is still part of the current screen.
+     *
+     * @param element element handed out earlier
+     * @return true if the element is on screen
+     */
+    boolean isAttached(SimulatedElement element) {
+        return model.elements().contains(element);
+    }
+}
@@ -0,0 +1,215 @@
+package com.trustwallet.simulator;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders simulated screens as UiAutomator2 page source and resolves locators against them.
+ * Supported strategies: id, accessibility id, class name, xpath and -android uiautomator
+ * (UiSelector chains, also inside UiScrollable.scrollIntoView).
+ */
+final class UiHierarchy {
+    private static final String APP_PACKAGE = "com.wallet.crypto.trustapp";
+    private static final Pattern SELECTOR_CALL = Pattern.compile("\\.(\\w+)\\((\"(?:[^\"\\\\]|\\\\.)*\"|[^()]*)\\)");
+
+    private final List<SimulatedElement> elements;
+    private final Document document;
+    private final Map<Node, SimulatedElement> byNode = new IdentityHashMap<>();
+
+    private UiHierarchy(List<SimulatedElement> elements) {
+        this.elements = elements;
+        try {
+            document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML support is missing", e);
+        }
+        Element root = document.createElement("hierarchy");
+        root.setAttribute("rotation", "0");
+        document.appendChild(root);
+        Element frame = document.createElement("android.widget.FrameLayout");
+        frame.setAttribute("class", "android.widget.FrameLayout");
+        frame.setAttribute("package", APP_PACKAGE);
+        frame.setAttribute("bounds", "[0,0][1080,2340]");
+        root.appendChild(frame);
+        for (int i = 0; i < elements.size(); i++) {
+            SimulatedElement element = elements.get(i);
+            Element node = document.createElement(element.getClassName());
+            node.setAttribute("index", String.valueOf(i));
+            node.setAttribute("package", APP_PACKAGE);
+            for (String name : new String[]{"class", "text", "resource-id", "content-desc", "checked", "enabled",
+                    "displayed", "bounds"}) {
+                node.setAttribute(name, element.getAttribute(name));
+            }
+            frame.appendChild(node);
+            byNode.put(node, element);
+        }
+    }
+
+    /**
+     * Build the hierarchy of a screen.
+     *
+     * @param elements on-screen elements
+     * @return UI hierarchy
+     */
+    static UiHierarchy of(List<SimulatedElement> elements) {
+        return new UiHierarchy(elements);
+    }
+
+    /**
+     * Render the page source.
+     *
+     * @return UiAutomator2-style XML
+     */
+    String toXml() {
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
+            StringWriter writer = new StringWriter();
+            transformer.transform(new DOMSource(document), new StreamResult(writer));
+            return writer.toString();
+        } catch (TransformerException e) {
+            throw new IllegalStateException("Failed to render page source", e);
+        }
+    }
+
+    /**
+     * Find elements with a WebDriver locator.
+     *
+     * @param using locator strategy
+     * @param value locator value
+     * @return matching elements in hierarchy order
+     * @throws IllegalArgumentException if the strategy or selector is not supported
+     */
+    List<SimulatedElement> find(String using, String value) {
+        switch (using) {
+            case "id":
+                String resourceId = value.contains(":id/") ? value : APP_PACKAGE + ":id/" + value;
+                return filter(e -> e.getResourceId().equals(resourceId));
+            case "accessibility id":
+                return filter(e -> e.getContentDesc().equals(value));
+            case "class name":
+                return filter(e -> e.getClassName().equals(value));
+            case "xpath":
+                return xpath(value);
+            case "-android uiautomator":
+                return uiSelector(value);
+            default:
+                throw new IllegalArgumentException("Unsupported locator strategy: " + using);
+        }
+    }
+
+    private List<SimulatedElement> filter(Predicate<SimulatedElement> predicate) {
+        List<SimulatedElement> matches = new ArrayList<>();
+        for (SimulatedElement element : elements) {
+            if (predicate.test(element)) {
+                matches.add(element);
+            }
+        }
+        return matches;
+    }
+
+    private List<SimulatedElement> xpath(String expression) {
+        try {
+            NodeList nodes = (NodeList) XPathFactory.newInstance().newXPath()
+                    .evaluate(expression, document, XPathConstants.NODESET);
+            List<SimulatedElement> matches = new ArrayList<>();
+            for (int i = 0; i < nodes.getLength(); i++) {
+                SimulatedElement element = byNode.get(nodes.item(i));
+                if (element != null) {
+                    matches.add(element);
+                }
+            }
+            return matches;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("Invalid xpath: " + expression, e);
+        }
+    }
+
+    private List<SimulatedElement> uiSelector(String selector) {
+        // Only the innermost UiSelector matters; there is nothing to scroll in a simulated screen
+        int start = selector.lastIndexOf("new UiSelector()");
+        if (start < 0) {
+            throw new IllegalArgumentException("Unsupported UiAutomator selector: " + selector);
+        }
+        Predicate<SimulatedElement> predicate = e -> true;
+        int instance = -1;
+        Matcher matcher = SELECTOR_CALL.matcher(selector.substring(start + "new UiSelector()".length()));
+        while (matcher.find()) {
+            String method = matcher.group(1);
+            String argument = unquote(matcher.group(2).trim());
+            switch (method) {
+                case "resourceId":
+                    predicate = predicate.and(e -> e.getResourceId().equals(argument));
+                    break;
+                case "resourceIdMatches":
+                    predicate = predicate.and(e -> e.getResourceId().matches(argument));
+                    break;
+                case "text":
+                    predicate = predicate.and(e -> e.getText().equals(argument));
+                    break;
+                case "textContains":
+                    predicate = predicate.and(e -> e.getText().contains(argument));
+                    break;
+                case "textStartsWith":
+                    predicate = predicate.and(e -> e.getText().startsWith(argument));
+                    break;
+                case "className":
+                    predicate = predicate.and(e -> e.getClassName().equals(argument));
+                    break;
+                case "description":
+                    predicate = predicate.and(e -> e.getContentDesc().equals(argument));
+                    break;
+                case "enabled":
+                    predicate = predicate.and(e -> e.isEnabled() == Boolean.parseBoolean(argument));
+                    break;
+                case "checked":
+                    predicate = predicate.and(e -> e.isChecked() == Boolean.parseBoolean(argument));
+                    break;
+                case "instance":
+                    instance = Integer.parseInt(argument);
+                    break;
+                case "scrollIntoView":
+                case "scrollable":
+                case "clickable":
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported UiSelector method: " + method);
+            }
+        }
+        List<SimulatedElement> matches = filter(predicate);
+        if (instance >= 0) {
+            return instance < matches.size() ? Collections.singletonList(matches.get(instance)) : Collections.emptyList();
+        }
+        return matches;
+    }
+
+    private static String unquote(String argument) {
+        if (argument.length() >= 2 && argument.startsWith("\"") && argument.endsWith("\"")) {
+            return argument.substring(1, argument.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+        }
+        return argument;
+    }
+}
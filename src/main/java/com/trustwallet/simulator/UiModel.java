@@ -0,0 +1,61 @@
+package com.trustwallet.simulator;
+
+import java.util.List;
+
+/**
+ * Scriptable app behind a simulated session: which widgets are on screen and how they react.
+ * Implementations are used by one session at a time, but requests of that session may arrive
+ * on different server threads, so they must be thread-safe.
+ */
+public interface UiModel {
+
+    /**
+     * Get the widgets currently on screen, in hierarchy order.
+     *
+     * @return on-screen elements, empty while a screen transition is in progress
+     */
+    List<SimulatedElement> elements();
+
+    /**
+     * Tap a widget.
+     *
+     * @param element on-screen element
+     */
+    void click(SimulatedElement element);
+
+    /**
+     * Type into a widget.
+     *
+     * @param element on-screen element
+     * @param text    text to append
+     */
+    void type(SimulatedElement element, String text);
+
+    /**
+     * Clear the text of a widget.
+     *
+     * @param element on-screen element
+     */
+    default void clear(SimulatedElement element) {
+        element.setText("");
+    }
+
+    /**
+     * Get the device clipboard.
+     *
+     * @return clipboard text, empty if nothing was copied
+     */
+    String getClipboard();
+
+    /**
+     * Set the device clipboard.
+     *
+     * @param text clipboard text
+     */
+    void setClipboard(String text);
+
+    /**
+     * Return to the first screen with fresh app data, as after {@code mobile: clearApp}.
+     */
+    void reset();
+}
@@ -0,0 +1,232 @@
+package com.trustwallet.utils;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.FindsByAndroidUIAutomator;
+import io.appium.java_client.MobileBy;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Wait engine that polls fast at first and backs off, instead of Selenium's fixed 500ms poll.
+ * It remembers how long each locator usually takes to appear and sleeps through most of that time
+ * before polling hard, and it records the time spent per call site in {@link WaitStats}.
+ */
+public class AdaptiveWait {
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveWait.class);
+    private static final double BACKOFF_FACTOR = 1.5;
+    private static final double HISTORY_WEIGHT = 0.3;
+    private static final double PRESLEEP_FRACTION = 0.75;
+    private static final Map<String, AtomicLong> APPEARANCE_NANOS = new ConcurrentHashMap<>();
+
+    private final AppiumDriver<MobileElement> driver;
+    private final long initialPollNanos;
+    private final long maxPollNanos;
+
+    /**
+     * Constructor for AdaptiveWait with poll intervals from configuration.
+     *
+     * @param driver AppiumDriver instance
+     */
+    public AdaptiveWait(AppiumDriver<MobileElement> driver) {
+        this(driver,
+                ConfigManager.getInstance().getDurationProperty("wait.poll.initial", Duration.ofMillis(50)),
+                ConfigManager.getInstance().getDurationProperty("wait.poll.max", Duration.ofMillis(500)));
+    }
+
+    /**
+     * Constructor for AdaptiveWait.
+     *
+     * @param driver      AppiumDriver instance
+     * @param initialPoll interval before the second check
+     * @param maxPoll     upper bound the interval backs off to
+     */
+    public AdaptiveWait(AppiumDriver<MobileElement> driver, Duration initialPoll, Duration maxPoll) {
+        this.driver = driver;
+        this.initialPollNanos = initialPoll.toNanos();
+        this.maxPollNanos = Math.max(initialPollNanos, maxPoll.toNanos());
+    }
+
+    /**
+     * Wait until a condition returns a non-null, non-false value.
+     *
+     * @param locator   locator the condition is about, used to learn its appearance latency
+     * @param timeout   maximum time to wait
+     * @param condition condition to evaluate; may throw NoSuchElement or StaleElementReference while unmet
+     * @param <T>       condition result type
+     * @return the condition's result
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(By locator, Duration timeout, Function<AppiumDriver<MobileElement>, T> condition) {
+        String key = locator.toString();
+        String callSite = callSite();
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = initialPollNanos;
+        int polls = 0;
+        boolean presleepDone = false;
+
+        while (true) {
+            polls++;
+            T result = evaluate(condition);
+            long now = System.nanoTime();
+            if (result != null && !Boolean.FALSE.equals(result)) {
+                learn(key, now - start);
+                WaitStats.record(callSite, now - start, polls, true);
+                log.debug("Condition for {} met after {}ms ({} polls)", locator,
+                        TimeUnit.NANOSECONDS.toMillis(now - start), polls);
+                return result;
+            }
+            if (now >= deadline) {
+                WaitStats.record(callSite, now - start, polls, false);
+                throw new TimeoutException(String.format("Condition for %s not met after %dms (%d polls)",
+                        locator, TimeUnit.NANOSECONDS.toMillis(now - start), polls));
+            }
+
+            long sleep = interval;
+            if (!presleepDone) {
+                presleepDone = true;
+                // Skip most of the usual appearance time in one sleep instead of many polls
+                long expected = expectedNanos(key);
+                long presleep = (long) (expected * PRESLEEP_FRACTION) - (now - start);
+                if (presleep > sleep) {
+                    sleep = presleep;
+                }
+            } else {
+                interval = Math.min(maxPollNanos, (long) (interval * BACKOFF_FACTOR));
+            }
+            sleepNanos(Math.min(sleep, deadline - now));
+        }
+    }
+
+    /**
+     * Condition that is met when the located element is displayed and enabled.
+     * On Android, id locators are checked in a single UiAutomator query instead of
+     * separate find, displayed and enabled requests.
+     *
+     * @param locator element locator
+     * @return condition returning the element
+     */
+    public static Function<AppiumDriver<MobileElement>, MobileElement> clickable(By locator) {
+        String resourceId = resourceIdOf(locator);
+        return driver -> {
+            if (resourceId != null && driver instanceof FindsByAndroidUIAutomator) {
+                List<MobileElement> matches = driver.findElements(MobileBy.AndroidUIAutomator(
+                        "new UiSelector().resourceId(\"" + resourceId + "\").enabled(true)"));
+                return matches.isEmpty() ? null : matches.get(0);
+            }
+            MobileElement element = driver.findElement(locator);
+            return element.isDisplayed() && element.isEnabled() ? element : null;
+        };
+    }
+
+    /**
+     * Condition that is met when the located element is displayed.
+     *
+     * @param locator element locator
+     * @return condition returning the element
+     */
+    public static Function<AppiumDriver<MobileElement>, MobileElement> visible(By locator) {
+        return driver -> {
+            MobileElement element = driver.findElement(locator);
+            return element.isDisplayed() ? element : null;
+        };
+    }
+
+    /**
+     * Condition that is met when no displayed element matches the locator.
+     *
+     * @param locator element locator
+     * @return condition returning true once the element is gone
+     */
+    public static Function<AppiumDriver<MobileElement>, Boolean> invisible(By locator) {
+        return driver -> {
+            try {
+                return driver.findElements(locator).stream().noneMatch(MobileElement::isDisplayed);
+            } catch (StaleElementReferenceException e) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the learned appearance latency of a locator.
+     *
+     * @param locator element locator
+     * @return smoothed appearance latency, zero if unknown
+     */
+    public static Duration expectedLatency(By locator) {
+        return Duration.ofNanos(expectedNanos(locator.toString()));
+    }
+
+    private <T> T evaluate(Function<AppiumDriver<MobileElement>, T> condition) {
+        try {
+            return condition.apply(driver);
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return null;
+        }
+    }
+
+    private static long expectedNanos(String key) {
+        AtomicLong value = APPEARANCE_NANOS.get(key);
+        return value == null ? 0 : value.get();
+    }
+
+    private static void learn(String key, long observedNanos) {
+        APPEARANCE_NANOS.computeIfAbsent(key, k -> new AtomicLong(observedNanos))
+                .accumulateAndGet(observedNanos, (old, now) -> (long) (old + HISTORY_WEIGHT * (now - old)));
+    }
+
+    private static String resourceIdOf(By locator) {
+        if (locator instanceof By.ById) {
+            String text = locator.toString();
+            return text.substring(text.indexOf(':') + 1).trim();
+        }
+        return null;
+    }
+
+    private static void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Find the first caller outside the wait utilities, e.g. CreateWalletPage.getSeedPhraseWords:160.
+     *
+     * @return call site description
+     */
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> !f.getClassName().equals(AdaptiveWait.class.getName())
+                        && !f.getClassName().equals(WaitUtils.class.getName())
+                        && !f.getClassName().equals(Presence.class.getName())
+                        && !f.getClassName().equals(ElementUtils.class.getName())
+                        && !f.getClassName().equals("com.trustwallet.pages.BasePage"))
+                .findFirst()
+                .map(f -> {
+                    String className = f.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + f.getMethodName()
+                            + ":" + f.getLineNumber();
+                })
+                .orElse("unknown"));
+    }
+}
@@ -6,25 +6,42 @@ import org.slf4j.LoggerFactory;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Singleton class to manage configuration properties.
+ * Each environment is parsed once into an immutable {@link ConfigSnapshot} and cached;
+ * {@link #loadConfig(String)} only selects the snapshot used by the calling thread.
+ * Values are resolved in the order: default file, environment file, environment variables, system properties.
+ * System properties may also add keys the files do not list, as long as they share the namespace of a
+ * listed key, e.g. {@code -Ddevices.emulator-5554.name=Pixel} next to {@code devices}.
  */
 public class ConfigManager {
     private static final Logger log = LoggerFactory.getLogger(ConfigManager.class);
     private static final String DEFAULT_CONFIG_PATH = "src/main/java/com/trustwallet/config/config.properties";
     private static final String ENV_CONFIG_PATH_TEMPLATE = "src/main/java/com/trustwallet/config/environments/%s.properties";
+    private static final String DEFAULT_ENVIRONMENT = "default";
 
     private static ConfigManager instance;
-    private final Properties properties;
+    private final Map<String, String> defaults;
+    private final Map<String, ConfigSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final ThreadLocal<ConfigSnapshot> current;
 
     /**
      * Private constructor to prevent instantiation.
      */
     private ConfigManager() {
-        properties = new Properties();
-        loadDefaultConfig();
+        defaults = loadDefaultConfig();
+        ConfigSnapshot defaultSnapshot = buildSnapshot(DEFAULT_ENVIRONMENT, new HashMap<>());
+        snapshots.put(DEFAULT_ENVIRONMENT, defaultSnapshot);
+        current = ThreadLocal.withInitial(() -> defaultSnapshot);
     }
 
     /**
@@ -41,34 +58,116 @@ public class ConfigManager {
 
     /**
      * Load default configuration.
+     *
+     * @return default properties
      */
-    private void loadDefaultConfig() {
+    private Map<String, String> loadDefaultConfig() {
+        Map<String, String> values = new HashMap<>();
         try (InputStream input = new FileInputStream(DEFAULT_CONFIG_PATH)) {
-            properties.load(input);
+            readInto(input, values);
             log.info("Loaded default configuration from: {}", DEFAULT_CONFIG_PATH);
         } catch (IOException e) {
             log.error("Failed to load default configuration", e);
         }
+        return values;
     }
 
     /**
-     * Load environment-specific configuration.
+     * Select the environment-specific configuration for the calling thread.
+     * The environment file is read from disk only the first time the environment is requested.
      *
      * @param environment environment name (dev, staging, prod)
      */
     public void loadConfig(String environment) {
+        current.set(forEnvironment(environment));
+    }
+
+    /**
+     * Get the snapshot of an environment, building and caching it on first use.
+     *
+     * @param environment environment name (dev, staging, prod)
+     * @return immutable configuration snapshot
+     */
+    public ConfigSnapshot forEnvironment(String environment) {
+        return snapshots.computeIfAbsent(environment, this::loadEnvironment);
+    }
+
+    /**
+     * Get the snapshot of the default configuration, without any environment file applied.
+     *
+     * @return immutable configuration snapshot
+     */
+    public ConfigSnapshot getDefaultConfig() {
+        return snapshots.get(DEFAULT_ENVIRONMENT);
+    }
+
+    /**
+     * Get the snapshot selected by the calling thread.
+     *
+     * @return immutable configuration snapshot
+     */
+    public ConfigSnapshot getConfig() {
+        return current.get();
+    }
+
+    private ConfigSnapshot loadEnvironment(String environment) {
         String configPath = String.format(ENV_CONFIG_PATH_TEMPLATE, environment);
+        Map<String, String> values = new HashMap<>();
         try (InputStream input = new FileInputStream(configPath)) {
-            // Clear existing properties and load default first
-            properties.clear();
-            loadDefaultConfig();
-
-            // Then load environment-specific properties
-            properties.load(input);
+            readInto(input, values);
             log.info("Loaded {} environment configuration from: {}", environment, configPath);
         } catch (IOException e) {
             log.error("Failed to load {} environment configuration", environment, e);
         }
+        return buildSnapshot(environment, values);
+    }
+
+    private ConfigSnapshot buildSnapshot(String environment, Map<String, String> environmentValues) {
+        Map<String, String> values = new HashMap<>(defaults);
+        values.putAll(environmentValues);
+        return new ConfigSnapshot(environment, applyOverlays(values, System.getenv(), System.getProperties()));
+    }
+
+    /**
+     * Apply environment variables and system properties over file values. Both override every known key,
+     * e.g. APPIUM_SERVER_URL or -Dappium.server.url. System properties may also add keys under the
+     * namespace of a known key, e.g. -Ddevices.emulator-5554.system.port=8200 next to {@code devices}.
+     *
+     * @param values      values read from the configuration files
+     * @param environment environment variables
+     * @param system      system properties
+     * @return the values with the overlays applied
+     */
+    static Map<String, String> applyOverlays(Map<String, String> values, Map<String, String> environment,
+                                             Properties system) {
+        Map<String, String> result = new HashMap<>(values);
+        Set<String> namespaces = new HashSet<>();
+        for (String key : values.keySet()) {
+            String fromEnv = environment.get(key.toUpperCase().replace('.', '_'));
+            if (fromEnv != null) {
+                result.put(key, fromEnv);
+            }
+            namespaces.add(namespace(key));
+        }
+        for (String name : system.stringPropertyNames()) {
+            if (values.containsKey(name) || namespaces.contains(namespace(name))) {
+                result.put(name, system.getProperty(name));
+            }
+        }
+        return result;
+    }
+
+    private static String namespace(String key) {
+        int dot = key.indexOf('.');
+        return dot < 0 ? key : key.substring(0, dot);
+    }
+
+    private static void readInto(InputStream input, Map<String, String> values) throws IOException {
+        Properties properties = new Properties();
+        properties.load(input);
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
     }
 
     /**
@@ -78,7 +177,7 @@ public class ConfigManager {
      * @return property value or null if not found
      */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return current.get().getString(key);
     }
 
     /**
@@ -89,7 +188,7 @@ public class ConfigManager {
      * @return property value or default value if not found
      */
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return current.get().getString(key, defaultValue);
     }
 
     /**
@@ -100,8 +199,8 @@ public class ConfigManager {
      */
     public int getIntProperty(String key) {
         try {
-            return Integer.parseInt(getProperty(key, "0"));
-        } catch (NumberFormatException e) {
+            return current.get().getInt(key, 0);
+        } catch (IllegalStateException e) {
             log.error("Failed to parse integer property: {}", key, e);
             return 0;
         }
@@ -114,6 +213,33 @@ public class ConfigManager {
      * @return boolean property value or false if not found or not a boolean
      */
     public boolean getBooleanProperty(String key) {
-        return Boolean.parseBoolean(getProperty(key, "false"));
+        return current.get().getBoolean(key, false);
+    }
+
+    /**
+     * Get duration property value.
+     *
+     * @param key          property key
+     * @param defaultValue default value if property not found or not a duration
+     * @return duration property value
+     */
+    public Duration getDurationProperty(String key, Duration defaultValue) {
+        try {
+            return current.get().getDuration(key, defaultValue);
+        } catch (IllegalStateException e) {
+            log.error("Failed to parse duration property: {}", key, e);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get URL property value.
+     *
+     * @param key property key
+     * @return URL property value or null if not found
+     * @throws IllegalStateException if the value is not a valid URL
+     */
+    public URL getUrlProperty(String key) {
+        return current.get().getUrl(key);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.trustwallet.utils;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of the configuration of one environment.
+ * Snapshots are built once by {@link ConfigManager} and can be read from any thread without locking.
+ */
+public final class ConfigSnapshot {
+    private final String environment;
+    private final Map<String, String> values;
+
+    /**
+     * Constructor for ConfigSnapshot.
+     *
+     * @param environment environment name
+     * @param values      resolved property values
+     */
+    ConfigSnapshot(String environment, Map<String, String> values) {
+        this.environment = environment;
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+    }
+
+    /**
+     * Get the environment this snapshot was built for.
+     *
+     * @return environment name
+     */
+    public String getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Get all resolved properties.
+     *
+     * @return immutable map of properties
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    /**
+     * Get property value.
+     *
+     * @param key property key
+     * @return property value or null if not found
+     */
+    public String getString(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Get property value with default.
+     *
+     * @param key          property key
+     * @param defaultValue default value if property not found
+     * @return property value or default value if not found
+     */
+    public String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Get integer property value.
+     *
+     * @param key          property key
+     * @param defaultValue default value if property not found
+     * @return integer property value
+     * @throws IllegalStateException if the value is not an integer
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(String.format("Property %s=%s is not an integer", key, value), e);
+        }
+    }
+
+    /**
+     * Get boolean property value.
+     *
+     * @param key          property key
+     * @param defaultValue default value if property not found
+     * @return boolean property value
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Get duration property value. Plain numbers are read as seconds;
+     * "ms", "s" and "m" suffixes and ISO-8601 durations (PT15S) are also accepted.
+     *
+     * @param key          property key
+     * @param defaultValue default value if property not found
+     * @return duration property value
+     * @throws IllegalStateException if the value is not a duration
+     */
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        String trimmed = value.trim().toLowerCase();
+        try {
+            if (trimmed.startsWith("p")) {
+                return Duration.parse(trimmed.toUpperCase());
+            }
+            if (trimmed.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2).trim()));
+            }
+            if (trimmed.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1).trim()));
+            }
+            if (trimmed.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1).trim()));
+            }
+            return Duration.ofSeconds(Long.parseLong(trimmed));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(String.format("Property %s=%s is not a duration", key, value), e);
+        }
+    }
+
+    /**
+     * Get URL property value.
+     *
+     * @param key property key
+     * @return URL property value or null if not found
+     * @throws IllegalStateException if the value is not a valid URL
+     */
+    public URL getUrl(String key) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return new URL(value.trim());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(String.format("Property %s=%s is not a URL", key, value), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConfigSnapshot[%s, %d properties]", environment, values.size());
+    }
+}
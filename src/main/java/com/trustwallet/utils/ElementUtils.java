@@ -1,12 +1,9 @@
 package com.trustwallet.utils;
 
+import com.trustwallet.driver.DriverContext;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileElement;
-import io.appium.java_client.TouchAction;
-import io.appium.java_client.touch.WaitOptions;
-import io.appium.java_client.touch.offset.PointOption;
 import org.openqa.selenium.By;
-import org.openqa.selenium.Dimension;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.slf4j.Logger;
@@ -21,6 +18,16 @@ public class ElementUtils {
     private static final Logger log = LoggerFactory.getLogger(ElementUtils.class);
     private final AppiumDriver<MobileElement> driver;
     private final WaitUtils waitUtils;
+    private final Presence presence;
+    private final Gestures gestures;
+    private final Scroller scroller;
+
+    /**
+     * Constructor for ElementUtils using the driver bound to the current thread.
+     */
+    public ElementUtils() {
+        this(DriverContext.getDriver());
+    }
 
     /**
      * Constructor for ElementUtils.
@@ -30,6 +37,9 @@ public class ElementUtils {
     public ElementUtils(AppiumDriver<MobileElement> driver) {
         this.driver = driver;
         this.waitUtils = new WaitUtils(driver);
+        this.presence = new Presence(driver);
+        this.gestures = new Gestures(driver);
+        this.scroller = new Scroller(driver);
     }
 
     /**
@@ -42,6 +52,7 @@ public class ElementUtils {
             log.debug("Tapping on element: {}", locator);
             MobileElement element = waitUtils.waitForElementToBeClickable(locator);
             element.click();
+            UiSnapshot.invalidate();
         } catch (TimeoutException e) {
             log.error("Failed to tap on element: {}", locator, e);
             throw e;
@@ -57,6 +68,7 @@ public class ElementUtils {
         try {
             log.debug("Tapping on element: {}", element);
             element.click();
+            UiSnapshot.invalidate();
         } catch (Exception e) {
             log.error("Failed to tap on element: {}", element, e);
             throw e;
@@ -73,12 +85,7 @@ public class ElementUtils {
         try {
             log.debug("Long pressing on element: {} for {}ms", locator, durationMs);
             MobileElement element = waitUtils.waitForElementToBeVisible(locator);
-
-            TouchAction<?> touchAction = new TouchAction<>(driver);
-            touchAction.longPress(PointOption.point(element.getCenter().getX(), element.getCenter().getY()))
-                    .waitAction(WaitOptions.waitOptions(Duration.ofMillis(durationMs)))
-                    .release()
-                    .perform();
+            gestures.longPress(Gestures.center(element), Duration.ofMillis(durationMs));
         } catch (TimeoutException e) {
             log.error("Failed to long press on element: {}", locator, e);
             throw e;
@@ -86,7 +93,7 @@ public class ElementUtils {
     }
 
     /**
-     * Swipe from one element to another.
+     * Drag from one element to another.
      *
      * @param fromLocator source element locator
      * @param toLocator   destination element locator
@@ -96,18 +103,7 @@ public class ElementUtils {
             log.debug("Swiping from element {} to element {}", fromLocator, toLocator);
             MobileElement fromElement = waitUtils.waitForElementToBeVisible(fromLocator);
             MobileElement toElement = waitUtils.waitForElementToBeVisible(toLocator);
-
-            int fromX = fromElement.getCenter().getX();
-            int fromY = fromElement.getCenter().getY();
-            int toX = toElement.getCenter().getX();
-            int toY = toElement.getCenter().getY();
-
-            TouchAction<?> touchAction = new TouchAction<>(driver);
-            touchAction.press(PointOption.point(fromX, fromY))
-                    .waitAction(WaitOptions.waitOptions(Duration.ofMillis(500)))
-                    .moveTo(PointOption.point(toX, toY))
-                    .release()
-                    .perform();
+            gestures.drag(Gestures.center(fromElement), Gestures.center(toElement));
         } catch (TimeoutException e) {
             log.error("Failed to swipe between elements", e);
             throw e;
@@ -119,17 +115,7 @@ public class ElementUtils {
      */
     public void swipeUp() {
         log.debug("Swiping up on screen");
-        Dimension size = driver.manage().window().getSize();
-        int startX = size.width / 2;
-        int startY = (int) (size.height * 0.8);
-        int endY = (int) (size.height * 0.2);
-
-        TouchAction<?> touchAction = new TouchAction<>(driver);
-        touchAction.press(PointOption.point(startX, startY))
-                .waitAction(WaitOptions.waitOptions(Duration.ofMillis(500)))
-                .moveTo(PointOption.point(startX, endY))
-                .release()
-                .perform();
+        gestures.swipe(Gestures.Direction.UP);
     }
 
     /**
@@ -137,17 +123,7 @@ public class ElementUtils {
      */
     public void swipeDown() {
         log.debug("Swiping down on screen");
-        Dimension size = driver.manage().window().getSize();
-        int startX = size.width / 2;
-        int startY = (int) (size.height * 0.2);
-        int endY = (int) (size.height * 0.8);
-
-        TouchAction<?> touchAction = new TouchAction<>(driver);
-        touchAction.press(PointOption.point(startX, startY))
-                .waitAction(WaitOptions.waitOptions(Duration.ofMillis(500)))
-                .moveTo(PointOption.point(startX, endY))
-                .release()
-                .perform();
+        gestures.swipe(Gestures.Direction.DOWN);
     }
 
     /**
@@ -155,17 +131,7 @@ public class ElementUtils {
      */
     public void swipeLeft() {
         log.debug("Swiping left on screen");
-        Dimension size = driver.manage().window().getSize();
-        int startY = size.height / 2;
-        int startX = (int) (size.width * 0.8);
-        int endX = (int) (size.width * 0.2);
-
-        TouchAction<?> touchAction = new TouchAction<>(driver);
-        touchAction.press(PointOption.point(startX, startY))
-                .waitAction(WaitOptions.waitOptions(Duration.ofMillis(500)))
-                .moveTo(PointOption.point(endX, startY))
-                .release()
-                .perform();
+        gestures.swipe(Gestures.Direction.LEFT);
     }
 
     /**
@@ -173,34 +139,34 @@ public class ElementUtils {
      */
     public void swipeRight() {
         log.debug("Swiping right on screen");
-        Dimension size = driver.manage().window().getSize();
-        int startY = size.height / 2;
-        int startX = (int) (size.width * 0.2);
-        int endX = (int) (size.width * 0.8);
-
-        TouchAction<?> touchAction = new TouchAction<>(driver);
-        touchAction.press(PointOption.point(startX, startY))
-                .waitAction(WaitOptions.waitOptions(Duration.ofMillis(500)))
-                .moveTo(PointOption.point(endX, startY))
-                .release()
-                .perform();
+        gestures.swipe(Gestures.Direction.RIGHT);
     }
 
     /**
-     * Check if element exists.
+     * Scroll until an element is on screen, letting UiAutomator2 search the list where possible.
      *
      * @param locator element locator
-     * @return true if element exists, false otherwise
+     * @return scroll result with the element and the number of swipes used
      */
-    public boolean elementExists(By locator) {
+    public Scroller.Result scrollTo(By locator) {
         try {
-            driver.findElement(locator);
-            return true;
+            return scroller.scrollTo(locator);
         } catch (NoSuchElementException e) {
-            return false;
+            log.error("Failed to scroll to element: {}", locator, e);
+            throw e;
         }
     }
 
+    /**
+     * Check if element exists, without waiting for it to appear.
+     *
+     * @param locator element locator
+     * @return true if element exists, false otherwise
+     */
+    public boolean elementExists(By locator) {
+        return presence.isPresent(locator);
+    }
+
     /**
      * Get text from element.
      *
@@ -225,10 +191,12 @@ public class ElementUtils {
      */
     public void enterText(By locator, String text) {
         try {
-            log.debug("Entering text '{}' in element: {}", text, locator);
+            // Never log the text itself, it may be a PIN or seed phrase
+            log.debug("Entering {} character(s) in element: {}", text.length(), locator);
             MobileElement element = waitUtils.waitForElementToBeVisible(locator);
             element.clear();
             element.sendKeys(text);
+            UiSnapshot.invalidate();
         } catch (TimeoutException e) {
             log.error("Failed to enter text in element: {}", locator, e);
             throw e;
@@ -244,6 +212,7 @@ public class ElementUtils {
         try {
             log.debug("Clearing text in element: {}", locator);
             waitUtils.waitForElementToBeVisible(locator).clear();
+            UiSnapshot.invalidate();
         } catch (TimeoutException e) {
             log.error("Failed to clear text in element: {}", locator, e);
             throw e;
@@ -0,0 +1,266 @@
+package com.trustwallet.utils;
+
+import com.trustwallet.driver.DriverContext;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.interactions.Interaction;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Touch gestures sent as W3C pointer action sequences, one request per gesture, including
+ * multi-finger and repeated gestures. Swipe durations follow from the distance and a velocity
+ * in pixels per second instead of fixed waits, and the window size is taken from {@link Viewport}.
+ */
+public class Gestures {
+    private static final Logger log = LoggerFactory.getLogger(Gestures.class);
+    private static final Duration FLING_GAP = Duration.ofMillis(100);
+
+    /**
+     * Direction the finger moves in.
+     */
+    public enum Direction {
+        UP, DOWN, LEFT, RIGHT
+    }
+
+    private final AppiumDriver<MobileElement> driver;
+    private final int swipeVelocity;
+    private final int flingVelocity;
+    private final Duration dragHold;
+
+    /**
+     * Constructor for Gestures using the driver bound to the current thread.
+     */
+    public Gestures() {
+        this(DriverContext.getDriver());
+    }
+
+    /**
+     * Constructor for Gestures.
+     *
+     * @param driver AppiumDriver instance
+     */
+    public Gestures(AppiumDriver<MobileElement> driver) {
+        this.driver = driver;
+        ConfigSnapshot config = ConfigManager.getInstance().getConfig();
+        this.swipeVelocity = Math.max(1, config.getInt("gesture.swipe.velocity", 2500));
+        this.flingVelocity = Math.max(1, config.getInt("gesture.fling.velocity", 8000));
+        this.dragHold = config.getDuration("gesture.drag.hold", Duration.ofMillis(500));
+    }
+
+    /**
+     * Get the center of an element with a single rect command.
+     *
+     * @param element element
+     * @return center point
+     */
+    public static Point center(MobileElement element) {
+        Rectangle rect = element.getRect();
+        return new Point(rect.getX() + rect.getWidth() / 2, rect.getY() + rect.getHeight() / 2);
+    }
+
+    /**
+     * Tap a point.
+     *
+     * @param point point to tap
+     */
+    public void tap(Point point) {
+        log.debug("Tapping at {}", point);
+        PointerInput finger = finger(1);
+        perform(press(finger, point, Duration.ZERO).addAction(up(finger)));
+    }
+
+    /**
+     * Press and hold a point.
+     *
+     * @param point    point to press
+     * @param duration how long to hold
+     */
+    public void longPress(Point point, Duration duration) {
+        log.debug("Long pressing at {} for {}", point, duration);
+        PointerInput finger = finger(1);
+        perform(press(finger, point, duration).addAction(up(finger)));
+    }
+
+    /**
+     * Swipe between two points at the configured swipe velocity.
+     *
+     * @param from start point
+     * @param to   end point
+     */
+    public void swipe(Point from, Point to) {
+        swipe(from, to, swipeVelocity);
+    }
+
+    /**
+     * Swipe between two points.
+     *
+     * @param from     start point
+     * @param to       end point
+     * @param velocity finger speed in pixels per second
+     */
+    public void swipe(Point from, Point to, int velocity) {
+        log.debug("Swiping from {} to {} at {}px/s", from, to, velocity);
+        PointerInput finger = finger(1);
+        perform(stroke(finger, new Sequence(finger, 0), from, to, velocity));
+    }
+
+    /**
+     * Swipe across the middle of the screen, from 80% to 20% of its extent in the given direction.
+     *
+     * @param direction direction the finger moves in
+     */
+    public void swipe(Direction direction) {
+        swipe(direction, swipeVelocity);
+    }
+
+    /**
+     * Swipe across the middle of the screen, from 80% to 20% of its extent in the given direction.
+     *
+     * @param direction direction the finger moves in
+     * @param velocity  finger speed in pixels per second
+     */
+    public void swipe(Direction direction, int velocity) {
+        Point[] path = path(direction);
+        swipe(path[0], path[1], velocity);
+    }
+
+    /**
+     * Fling across the screen several times in a single request, e.g. to scroll a long list.
+     *
+     * @param direction direction the finger moves in
+     * @param times     number of flings
+     */
+    public void fling(Direction direction, int times) {
+        log.debug("Flinging {} {} time(s)", direction, times);
+        Point[] path = path(direction);
+        PointerInput finger = finger(1);
+        Sequence sequence = new Sequence(finger, 0);
+        for (int i = 0; i < times; i++) {
+            if (i > 0) {
+                sequence.addAction(new Pause(finger, FLING_GAP));
+            }
+            stroke(finger, sequence, path[0], path[1], flingVelocity);
+        }
+        perform(sequence);
+    }
+
+    /**
+     * Press, hold until the element under the finger can be dragged, and move it to another point.
+     *
+     * @param from start point
+     * @param to   end point
+     */
+    public void drag(Point from, Point to) {
+        drag(from, to, dragHold);
+    }
+
+    /**
+     * Press, hold and move to another point.
+     *
+     * @param from start point
+     * @param to   end point
+     * @param hold how long to hold before moving
+     */
+    public void drag(Point from, Point to, Duration hold) {
+        log.debug("Dragging from {} to {} after holding {}", from, to, hold);
+        PointerInput finger = finger(1);
+        Sequence sequence = press(finger, from, hold);
+        sequence.addAction(moveTo(finger, to, moveDuration(from, to, swipeVelocity)));
+        perform(sequence.addAction(up(finger)));
+    }
+
+    /**
+     * Move two fingers horizontally towards or away from a center point in a single request.
+     * A larger end distance zooms in, a smaller one pinches out.
+     *
+     * @param center       point between the fingers
+     * @param fromDistance distance between the fingers at the start
+     * @param toDistance   distance between the fingers at the end
+     */
+    public void pinch(Point center, int fromDistance, int toDistance) {
+        log.debug("Pinching around {} from {}px to {}px", center, fromDistance, toDistance);
+        PointerInput first = finger(1);
+        PointerInput second = finger(2);
+        Point firstFrom = center.moveBy(-fromDistance / 2, 0);
+        Point firstTo = center.moveBy(-toDistance / 2, 0);
+        Point secondFrom = center.moveBy(fromDistance / 2, 0);
+        Point secondTo = center.moveBy(toDistance / 2, 0);
+        perform(stroke(first, new Sequence(first, 0), firstFrom, firstTo, swipeVelocity),
+                stroke(second, new Sequence(second, 0), secondFrom, secondTo, swipeVelocity));
+    }
+
+    private Point[] path(Direction direction) {
+        Dimension size = Viewport.of(driver);
+        int centerX = size.width / 2;
+        int centerY = size.height / 2;
+        int high = (int) (size.height * 0.2);
+        int low = (int) (size.height * 0.8);
+        int left = (int) (size.width * 0.2);
+        int right = (int) (size.width * 0.8);
+        switch (direction) {
+            case UP:
+                return new Point[]{new Point(centerX, low), new Point(centerX, high)};
+            case DOWN:
+                return new Point[]{new Point(centerX, high), new Point(centerX, low)};
+            case LEFT:
+                return new Point[]{new Point(right, centerY), new Point(left, centerY)};
+            default:
+                return new Point[]{new Point(left, centerY), new Point(right, centerY)};
+        }
+    }
+
+    private static PointerInput finger(int index) {
+        return new PointerInput(PointerInput.Kind.TOUCH, "finger" + index);
+    }
+
+    private static Sequence press(PointerInput finger, Point point, Duration hold) {
+        Sequence sequence = new Sequence(finger, 0)
+                .addAction(moveTo(finger, point, Duration.ZERO))
+                .addAction(down(finger));
+        if (!hold.isZero()) {
+            sequence.addAction(new Pause(finger, hold));
+        }
+        return sequence;
+    }
+
+    private static Sequence stroke(PointerInput finger, Sequence sequence, Point from, Point to, int velocity) {
+        return sequence
+                .addAction(moveTo(finger, from, Duration.ZERO))
+                .addAction(down(finger))
+                .addAction(moveTo(finger, to, moveDuration(from, to, velocity)))
+                .addAction(up(finger));
+    }
+
+    private static Interaction moveTo(PointerInput finger, Point point, Duration duration) {
+        return finger.createPointerMove(duration, PointerInput.Origin.viewport(), point.getX(), point.getY());
+    }
+
+    private static Interaction down(PointerInput finger) {
+        return finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg());
+    }
+
+    private static Interaction up(PointerInput finger) {
+        return finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg());
+    }
+
+    private static Duration moveDuration(Point from, Point to, int velocity) {
+        double distance = Math.hypot(to.getX() - from.getX(), to.getY() - from.getY());
+        return Duration.ofMillis(Math.max(1, Math.round(distance * 1000 / velocity)));
+    }
+
+    private void perform(Sequence... sequences) {
+        driver.perform(sequences.length == 1 ? Collections.singletonList(sequences[0]) : Arrays.asList(sequences));
+        UiSnapshot.invalidate();
+    }
+}
@@ -0,0 +1,128 @@
+package com.trustwallet.utils;
+
+import com.trustwallet.driver.DriverContext;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Presence queries that never block.
+ * Sessions have no implicit wait, so an absent element answers in one round trip;
+ * the time-bounded variants poll with {@link AdaptiveWait} and return as soon as the answer is known.
+ */
+public class Presence {
+    private static final Logger log = LoggerFactory.getLogger(Presence.class);
+    private final AppiumDriver<MobileElement> driver;
+    private final AdaptiveWait wait;
+
+    /**
+     * Constructor for Presence using the driver bound to the current thread.
+     */
+    public Presence() {
+        this(DriverContext.getDriver());
+    }
+
+    /**
+     * Constructor for Presence.
+     *
+     * @param driver AppiumDriver instance
+     */
+    public Presence(AppiumDriver<MobileElement> driver) {
+        this.driver = driver;
+        this.wait = new AdaptiveWait(driver);
+    }
+
+    /**
+     * Count the elements matching a locator right now.
+     *
+     * @param locator element locator
+     * @return number of matching elements
+     */
+    public int count(By locator) {
+        return driver.findElements(locator).size();
+    }
+
+    /**
+     * Check if an element exists right now.
+     *
+     * @param locator element locator
+     * @return true if at least one element matches
+     */
+    public boolean isPresent(By locator) {
+        return count(locator) > 0;
+    }
+
+    /**
+     * Check if an element is displayed right now.
+     *
+     * @param locator element locator
+     * @return true if at least one matching element is displayed
+     */
+    public boolean isDisplayed(By locator) {
+        return anyDisplayed(driver.findElements(locator));
+    }
+
+    /**
+     * Check if an element is displayed within a time window, returning as soon as it is.
+     *
+     * @param locator element locator
+     * @param window  maximum time to wait
+     * @return true if a matching element was displayed before the window ended
+     */
+    public boolean appearsWithin(By locator, Duration window) {
+        try {
+            return wait.until(locator, window, d -> anyDisplayed(d.findElements(locator)));
+        } catch (TimeoutException e) {
+            log.debug("Element {} did not appear within {}ms", locator, window.toMillis());
+            return false;
+        }
+    }
+
+    /**
+     * Check if an element is absent within a time window, returning as soon as it is.
+     *
+     * @param locator element locator
+     * @param window  maximum time to wait
+     * @return true if no matching element was displayed before the window ended
+     */
+    public boolean isAbsentWithin(By locator, Duration window) {
+        try {
+            return wait.until(locator, window, AdaptiveWait.invisible(locator));
+        } catch (TimeoutException e) {
+            log.debug("Element {} still displayed after {}ms", locator, window.toMillis());
+            return false;
+        }
+    }
+
+    /**
+     * Check that an element does not show up for a whole time window,
+     * e.g. to prove that an action did not navigate away.
+     *
+     * @param locator element locator
+     * @param window  time the element must stay absent
+     * @return true if no matching element was displayed during the window
+     */
+    public boolean staysAbsentFor(By locator, Duration window) {
+        return !appearsWithin(locator, window);
+    }
+
+    private static boolean anyDisplayed(List<MobileElement> elements) {
+        for (MobileElement element : elements) {
+            try {
+                if (element.isDisplayed()) {
+                    return true;
+                }
+            } catch (StaleElementReferenceException e) {
+                // Element went away between find and check
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,327 @@
+package com.trustwallet.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content-addressed screenshot store. Every unique image is kept once under {@code blobs/<sha-256>.png}
+ * and each test appends a line to {@code manifests/<test>.manifest} pointing at the blob it captured.
+ * Only byte-identical images share a blob by default. With {@code screenshot.store.max.distance} of 0 or more,
+ * images whose difference hash is within that many bits of a stored one are treated as the same screen,
+ * so a failing screen captured on several devices or runs costs one file; screens that differ only in
+ * text may then be stored as the first one.
+ */
+public class ScreenshotStore {
+    private static final Logger log = LoggerFactory.getLogger(ScreenshotStore.class);
+    private static final String BLOBS = "blobs";
+    private static final String MANIFESTS = "manifests";
+    private static final String INDEX = "index";
+
+    // One store per root, so each environment's screenshot.path keeps its own blobs and index
+    private static final Map<Path, ScreenshotStore> STORES = new ConcurrentHashMap<>();
+
+    private final Path root;
+    private final int maxDistance;
+    private final Duration retention;
+    private final Map<String, Long> perceptualHashes = new LinkedHashMap<>();
+    private boolean indexLoaded;
+
+    /**
+     * Constructor for ScreenshotStore.
+     *
+     * @param root        store directory
+     * @param maxDistance maximum number of differing difference-hash bits for two images to be stored once,
+     *                    negative to deduplicate identical files only
+     * @param retention   age after which manifest entries are dropped by {@link #collectGarbage()}
+     */
+    public ScreenshotStore(Path root, int maxDistance, Duration retention) {
+        this.root = root;
+        this.maxDistance = maxDistance;
+        this.retention = retention;
+    }
+
+    /**
+     * Get the shared store of the configuration selected by the calling thread.
+     *
+     * @return ScreenshotStore instance
+     */
+    public static ScreenshotStore getInstance() {
+        return forConfig(ConfigManager.getInstance().getConfig());
+    }
+
+    /**
+     * Get the shared store in the {@code screenshot.path} of a configuration. Configurations with the
+     * same path share a store.
+     *
+     * @param config configuration snapshot
+     * @return ScreenshotStore instance
+     */
+    public static ScreenshotStore forConfig(ConfigSnapshot config) {
+        Path root = Paths.get(config.getString("screenshot.path", "./screenshots/")).toAbsolutePath().normalize();
+        return STORES.computeIfAbsent(root, r -> new ScreenshotStore(r,
+                config.getInt("screenshot.store.max.distance", -1),
+                config.getDuration("screenshot.store.retention", Duration.ofDays(7))));
+    }
+
+    /**
+     * Get every shared store created so far, e.g. to collect their garbage at the end of a run.
+     *
+     * @return shared stores
+     */
+    public static Collection<ScreenshotStore> getInstances() {
+        return Collections.unmodifiableCollection(new ArrayList<>(STORES.values()));
+    }
+
+    /**
+     * Store a screenshot and reference it from the manifest of a test.
+     *
+     * @param testName    test the screenshot belongs to
+     * @param environment environment the test ran against
+     * @param png         PNG image
+     * @return blob holding the image, which may be an earlier near-identical capture
+     * @throws IOException if the store cannot be written
+     */
+    public Path put(String testName, String environment, byte[] png) throws IOException {
+        String sha = sha256(png);
+        Long dHash = maxDistance >= 0 ? differenceHash(png) : null;
+
+        Path blob;
+        synchronized (this) {
+            loadIndex();
+            String match = perceptualHashes.containsKey(sha) ? sha : similar(dHash);
+            if (match != null) {
+                blob = blobPath(match);
+                log.debug("Screenshot of {} matches stored blob {}", testName, match);
+            } else {
+                blob = blobPath(sha);
+                writeBlob(blob, png);
+                perceptualHashes.put(sha, dHash);
+                Files.write(root.resolve(BLOBS).resolve(INDEX),
+                        (sha + " " + (dHash == null ? "-" : Long.toHexString(dHash)) + System.lineSeparator())
+                                .getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            Path manifest = manifestPath(testName);
+            Files.createDirectories(manifest.getParent());
+            String line = String.join("\t", Instant.now().toString(), root.relativize(blob).toString().replace('\\', '/'),
+                    environment == null ? "unknown" : environment);
+            Files.write(manifest, (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return blob;
+    }
+
+    /**
+     * Get the manifest of a test.
+     *
+     * @param testName test name
+     * @return manifest file, which may not exist yet
+     */
+    public Path manifestPath(String testName) {
+        return root.resolve(MANIFESTS).resolve(testName.replaceAll("[^a-zA-Z0-9.-]", "_") + ".manifest");
+    }
+
+    /**
+     * Drop manifest entries older than the retention period and delete blobs no manifest refers to.
+     *
+     * @return number of deleted blobs
+     */
+    public synchronized int collectGarbage() {
+        Instant cutoff = Instant.now().minus(retention);
+        Set<String> referenced = new HashSet<>();
+        int deleted = 0;
+        try {
+            Path manifests = root.resolve(MANIFESTS);
+            if (Files.isDirectory(manifests)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(manifests, "*.manifest")) {
+                    for (Path manifest : files) {
+                        referenced.addAll(expire(manifest, cutoff));
+                    }
+                }
+            }
+
+            loadIndex();
+            Path blobs = root.resolve(BLOBS);
+            if (Files.isDirectory(blobs)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(blobs, "*.png")) {
+                    for (Path blob : files) {
+                        if (!referenced.contains(BLOBS + "/" + blob.getFileName())) {
+                            Files.deleteIfExists(blob);
+                            String name = blob.getFileName().toString();
+                            perceptualHashes.remove(name.substring(0, name.length() - ".png".length()));
+                            deleted++;
+                        }
+                    }
+                }
+            }
+            if (deleted > 0) {
+                rewriteIndex();
+            }
+            log.info("Screenshot store garbage collection deleted {} unreferenced blob(s)", deleted);
+        } catch (IOException e) {
+            log.error("Failed to collect screenshot store garbage in {}", root, e);
+        }
+        return deleted;
+    }
+
+    /**
+     * Compute the 64-bit difference hash of an image: the brightness gradient of a 9x8 grayscale thumbnail.
+     *
+     * @param png PNG image
+     * @return difference hash
+     * @throws IOException if the image cannot be read
+     */
+    static long differenceHash(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        BufferedImage thumbnail = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, 9, 8, null);
+        } finally {
+            graphics.dispose();
+        }
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = thumbnail.getRaster().getSample(x, y, 0);
+                int right = thumbnail.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    private String similar(Long dHash) {
+        if (dHash == null) {
+            return null;
+        }
+        for (Map.Entry<String, Long> entry : perceptualHashes.entrySet()) {
+            if (entry.getValue() != null && Long.bitCount(entry.getValue() ^ dHash) <= maxDistance) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private Set<String> expire(Path manifest, Instant cutoff) throws IOException {
+        List<String> kept = new ArrayList<>();
+        Set<String> referenced = new HashSet<>();
+        List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            String[] fields = line.split("\t");
+            if (fields.length < 2) {
+                continue;
+            }
+            try {
+                if (Instant.parse(fields[0]).isBefore(cutoff)) {
+                    continue;
+                }
+            } catch (DateTimeParseException e) {
+                log.warn("Dropping malformed line in {}: {}", manifest, line);
+                continue;
+            }
+            kept.add(line);
+            referenced.add(fields[1]);
+        }
+        if (kept.isEmpty()) {
+            Files.deleteIfExists(manifest);
+        } else if (kept.size() < lines.size()) {
+            Files.write(manifest, kept, StandardCharsets.UTF_8);
+        }
+        return referenced;
+    }
+
+    private void loadIndex() throws IOException {
+        if (indexLoaded) {
+            return;
+        }
+        Path index = root.resolve(BLOBS).resolve(INDEX);
+        if (Files.exists(index)) {
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                String[] fields = line.trim().split(" ");
+                if (fields.length == 2 && Files.exists(blobPath(fields[0]))) {
+                    perceptualHashes.put(fields[0], "-".equals(fields[1]) ? null : Long.parseUnsignedLong(fields[1], 16));
+                }
+            }
+        }
+        indexLoaded = true;
+    }
+
+    private void rewriteIndex() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : perceptualHashes.entrySet()) {
+            lines.add(entry.getKey() + " " + (entry.getValue() == null ? "-" : Long.toHexString(entry.getValue())));
+        }
+        Files.write(root.resolve(BLOBS).resolve(INDEX), lines, StandardCharsets.UTF_8);
+    }
+
+    private void writeBlob(Path blob, byte[] png) throws IOException {
+        if (Files.exists(blob)) {
+            return;
+        }
+        Files.createDirectories(blob.getParent());
+        // Write to a temporary file first so a reader never sees a partial blob
+        Path temp = Files.createTempFile(blob.getParent(), "blob", ".tmp");
+        try {
+            Files.write(temp, png);
+            try {
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, blob);
+            }
+        } catch (FileAlreadyExistsException e) {
+            log.debug("Blob {} was stored concurrently", blob);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path blobPath(String sha) {
+        return root.resolve(BLOBS).resolve(sha + ".png");
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,18 +1,14 @@
 package com.trustwallet.utils;
 
+import com.trustwallet.driver.DriverContext;
+import com.trustwallet.driver.TestContext;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileElement;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
 /**
  * Utility class for capturing screenshots.
  */
@@ -20,6 +16,14 @@ public class ScreenshotUtils {
     private static final Logger log = LoggerFactory.getLogger(ScreenshotUtils.class);
     private final AppiumDriver<MobileElement> driver;
     private final ConfigManager configManager;
+    private final ScreenshotWriter writer;
+
+    /**
+     * Constructor for ScreenshotUtils using the driver bound to the current thread.
+     */
+    public ScreenshotUtils() {
+        this(DriverContext.getDriver());
+    }
 
     /**
      * Constructor for ScreenshotUtils.
@@ -29,13 +33,15 @@ public class ScreenshotUtils {
     public ScreenshotUtils(AppiumDriver<MobileElement> driver) {
         this.driver = driver;
         this.configManager = ConfigManager.getInstance();
+        this.writer = ScreenshotWriter.getInstance();
     }
 
     /**
-     * Capture screenshot and save to file.
+     * Capture screenshot once, attach it to Allure report and add it to the test's manifest in the
+     * {@link ScreenshotStore}. Decoding, downscaling and writing happen on the {@link ScreenshotWriter} workers.
      *
      * @param testName name of the test
-     * @return path to the saved screenshot file or null if failed
+     * @return manifest the screenshot is being recorded in or null if the capture failed
      */
     public String captureScreenshotOnFailure(String testName) {
         log.info("Capturing screenshot for failed test: {}", testName);
@@ -46,35 +52,29 @@ public class ScreenshotUtils {
         }
 
         try {
-            // Create screenshot directory if it doesn't exist
-            String screenshotDir = configManager.getProperty("screenshot.path", "./screenshots/");
-            File directory = new File(screenshotDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-
-            // Generate unique filename with timestamp
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String fileName = String.format("%s_%s_%s.png",
-                    testName.replaceAll("[^a-zA-Z0-9.-]", "_"),
-                    timestamp,
-                    configManager.getProperty("environment", "unknown"));
-
-            // Capture screenshot
-            File screenshotFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            String filePath = screenshotDir + fileName;
-
-            // Save screenshot to file
-            FileUtils.copyFile(screenshotFile, new File(filePath));
-            log.info("Screenshot saved to: {}", filePath);
-
-            return filePath;
-        } catch (IOException e) {
+            // The driver already holds the screenshot as Base64, so hand that over without decoding it here
+            String screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+            ConfigSnapshot config = config();
+            ScreenshotStore store = ScreenshotStore.forConfig(config);
+            // Label captures with the configured environment name, e.g. development
+            writer.submit("Screenshot", screenshot, testName, config.getString("environment", config.getEnvironment()),
+                    store);
+            return store.manifestPath(testName).toString();
+        } catch (Exception e) {
             log.error("Failed to capture screenshot", e);
             return null;
         }
     }
 
+    /**
+     * Get the configuration of the current test, else the one selected by the calling thread.
+     *
+     * @return configuration snapshot
+     */
+    private ConfigSnapshot config() {
+        return TestContext.isOpen() ? TestContext.current().getConfig() : configManager.getConfig();
+    }
+
     /**
      * Capture screenshot as byte array for Allure reporting.
      *
@@ -0,0 +1,197 @@
+package com.trustwallet.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes, downscales and writes screenshots on a small worker pool so the test thread only pays
+ * for the capture itself. One capture feeds both the Allure attachment and the {@link ScreenshotStore}.
+ * The queue is bounded; when it is full the submitting thread writes the screenshot itself.
+ * The shared writer stores each screenshot in the {@link ScreenshotStore} of the submitting thread's
+ * configuration, so every environment keeps its own {@code screenshot.path}.
+ */
+public class ScreenshotWriter {
+    private static final Logger log = LoggerFactory.getLogger(ScreenshotWriter.class);
+
+    private static ScreenshotWriter instance;
+
+    private final ThreadPoolExecutor executor;
+    private final int scalePercent;
+    private final AllureLifecycle lifecycle;
+    private final ScreenshotStore store;
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final Object idleLock = new Object();
+    private int pending;
+
+    /**
+     * Constructor for ScreenshotWriter.
+     *
+     * @param threads      number of worker threads
+     * @param queueSize    number of screenshots that may wait for a worker
+     * @param scalePercent size of the stored image relative to the device screen, 1 to 100
+     * @param lifecycle    Allure lifecycle receiving attachments
+     * @param store        store receiving the screenshot files, null for the store of the submitting
+     *                     thread's configuration
+     */
+    public ScreenshotWriter(int threads, int queueSize, int scalePercent, AllureLifecycle lifecycle,
+                            ScreenshotStore store) {
+        this.scalePercent = Math.min(100, Math.max(1, scalePercent));
+        this.lifecycle = lifecycle;
+        this.store = store;
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), r -> {
+            Thread thread = new Thread(r, "screenshot-writer-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the shared writer, configured from {@link ConfigManager}.
+     *
+     * @return ScreenshotWriter instance
+     */
+    public static synchronized ScreenshotWriter getInstance() {
+        if (instance == null) {
+            ConfigSnapshot snapshot = ConfigManager.getInstance().getConfig();
+            instance = new ScreenshotWriter(
+                    snapshot.getInt("screenshot.writer.threads", 2),
+                    snapshot.getInt("screenshot.writer.queue", 16),
+                    snapshot.getInt("screenshot.scale.percent", 50),
+                    Allure.getLifecycle(),
+                    null);
+        }
+        return instance;
+    }
+
+    /**
+     * Attach a screenshot to the running Allure test or fixture and store it in the background.
+     * The attachment is registered immediately, so it belongs to the current test even though
+     * its content is written later.
+     *
+     * @param name        attachment name, null to skip the Allure attachment
+     * @param base64Png   PNG screenshot as returned by the driver, Base64 encoded
+     * @param testName    test whose manifest references the stored image, null to skip the store
+     * @param environment environment the test ran against
+     * @return future completing with the stored blob, or null if nothing was stored, once everything is written
+     */
+    public CompletableFuture<Path> submit(String name, String base64Png, String testName, String environment) {
+        return submit(name, base64Png, testName, environment, store != null ? store : ScreenshotStore.getInstance());
+    }
+
+    /**
+     * Attach a screenshot to the running Allure test or fixture and store it in the background in a given store.
+     *
+     * @param name        attachment name, null to skip the Allure attachment
+     * @param base64Png   PNG screenshot as returned by the driver, Base64 encoded
+     * @param testName    test whose manifest references the stored image, null to skip the store
+     * @param environment environment the test ran against
+     * @param target      store receiving the screenshot file
+     * @return future completing with the stored blob, or null if nothing was stored, once everything is written
+     */
+    public CompletableFuture<Path> submit(String name, String base64Png, String testName, String environment,
+                                          ScreenshotStore target) {
+        String attachmentSource = name == null ? null : lifecycle.prepareAttachment(name, "image/png", "png");
+        synchronized (idleLock) {
+            pending++;
+        }
+        CompletableFuture<Path> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                byte[] png = encode(base64Png);
+                if (attachmentSource != null) {
+                    lifecycle.writeAttachment(attachmentSource, new ByteArrayInputStream(png));
+                }
+                Path blob = null;
+                if (testName != null) {
+                    blob = target.put(testName, environment, png);
+                    log.info("Screenshot of {} saved to: {}", testName, blob);
+                }
+                result.complete(blob);
+            } catch (Exception e) {
+                log.error("Failed to write screenshot of {}", testName, e);
+                result.completeExceptionally(e);
+            } finally {
+                synchronized (idleLock) {
+                    pending--;
+                    idleLock.notifyAll();
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Wait until all submitted screenshots are written.
+     *
+     * @param timeout maximum time to wait
+     * @return true if nothing is left to write
+     */
+    public boolean awaitIdle(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (idleLock) {
+            try {
+                while (pending > 0) {
+                    long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingMs <= 0) {
+                        log.warn("{} screenshot(s) still being written after {}", pending, timeout);
+                        return false;
+                    }
+                    idleLock.wait(remainingMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private byte[] encode(String base64Png) throws IOException {
+        InputStream decoded = Base64.getMimeDecoder()
+                .wrap(new ByteArrayInputStream(base64Png.getBytes(StandardCharsets.US_ASCII)));
+        if (scalePercent == 100) {
+            return decoded.readAllBytes();
+        }
+
+        // Decode straight from the Base64 stream so the full-resolution PNG never exists as one array
+        BufferedImage source = ImageIO.read(decoded);
+        if (source == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        int width = Math.max(1, source.getWidth() * scalePercent / 100);
+        int height = Math.max(1, source.getHeight() * scalePercent / 100);
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(width * height);
+        ImageIO.write(scaled, "png", out);
+        return out.toByteArray();
+    }
+}
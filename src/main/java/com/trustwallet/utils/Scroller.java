@@ -0,0 +1,173 @@
+package com.trustwallet.utils;
+
+import com.trustwallet.driver.DriverContext;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.FindsByAndroidUIAutomator;
+import io.appium.java_client.MobileBy;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Scrolls an off-screen element into view.
+ * On Android, id, accessibility id and class name locators are resolved by UiAutomator2 itself with
+ * {@code UiScrollable.scrollIntoView}, so a long list is searched in a single request. Other locators,
+ * and lists the server cannot scroll, fall back to a bounded loop of client-side swipes.
+ */
+public class Scroller {
+    private static final Logger log = LoggerFactory.getLogger(Scroller.class);
+    private final AppiumDriver<MobileElement> driver;
+    private final Gestures gestures;
+    private final int maxServerSwipes;
+    private final int maxSwipes;
+
+    /**
+     * Outcome of a scroll: the element and how it was reached.
+     */
+    public static final class Result {
+        private final MobileElement element;
+        private final boolean serverSide;
+        private final int swipes;
+
+        Result(MobileElement element, boolean serverSide, int swipes) {
+            this.element = element;
+            this.serverSide = serverSide;
+            this.swipes = swipes;
+        }
+
+        public MobileElement getElement() {
+            return element;
+        }
+
+        /**
+         * Check if the element was found by the server-side scroll.
+         *
+         * @return true if UiAutomator2 scrolled to the element in one request
+         */
+        public boolean isServerSide() {
+            return serverSide;
+        }
+
+        /**
+         * Get the number of client-side swipes used.
+         *
+         * @return swipes sent before the element appeared, 0 if it was found server-side or already on screen
+         */
+        public int getSwipes() {
+            return swipes;
+        }
+
+        @Override
+        public String toString() {
+            return serverSide ? "server-side scroll" : swipes + " client swipe(s)";
+        }
+    }
+
+    /**
+     * Constructor for Scroller using the driver bound to the current thread.
+     */
+    public Scroller() {
+        this(DriverContext.getDriver());
+    }
+
+    /**
+     * Constructor for Scroller.
+     *
+     * @param driver AppiumDriver instance
+     */
+    public Scroller(AppiumDriver<MobileElement> driver) {
+        this.driver = driver;
+        this.gestures = new Gestures(driver);
+        ConfigSnapshot config = ConfigManager.getInstance().getConfig();
+        this.maxServerSwipes = Math.max(1, config.getInt("scroll.server.max.swipes", 30));
+        this.maxSwipes = Math.max(0, config.getInt("scroll.client.max.swipes", 5));
+    }
+
+    /**
+     * Scroll down until an element is on screen.
+     *
+     * @param locator element locator
+     * @return element and number of swipes used
+     * @throws NoSuchElementException if the element is not found within the configured swipes
+     */
+    public Result scrollTo(By locator) {
+        return scrollTo(locator, Gestures.Direction.UP);
+    }
+
+    /**
+     * Scroll until an element is on screen.
+     *
+     * @param locator   element locator
+     * @param direction direction the finger moves in for client-side swipes
+     * @return element and number of swipes used
+     * @throws NoSuchElementException if the element is not found within the configured swipes
+     */
+    public Result scrollTo(By locator, Gestures.Direction direction) {
+        log.debug("Scrolling to element: {}", locator);
+        String selector = selectorOf(locator);
+        if (selector != null && driver instanceof FindsByAndroidUIAutomator) {
+            MobileElement element = scrollIntoView(selector);
+            if (element != null) {
+                UiSnapshot.invalidate();
+                log.debug("Scrolled to element {} server-side", locator);
+                return new Result(element, true, 0);
+            }
+        }
+        for (int swipes = 0; ; swipes++) {
+            List<MobileElement> matches = driver.findElements(locator);
+            if (!matches.isEmpty()) {
+                log.debug("Scrolled to element {} with {} swipe(s)", locator, swipes);
+                return new Result(matches.get(0), false, swipes);
+            }
+            if (swipes == maxSwipes) {
+                log.error("Element {} not found after {} swipe(s)", locator, swipes);
+                throw new NoSuchElementException("Element " + locator + " not found after " + swipes
+                        + " swipe(s)");
+            }
+            gestures.swipe(direction);
+        }
+    }
+
+    private MobileElement scrollIntoView(String selector) {
+        try {
+            List<MobileElement> matches = driver.findElements(MobileBy.AndroidUIAutomator(
+                    "new UiScrollable(new UiSelector().scrollable(true)).setMaxSearchSwipes(" + maxServerSwipes
+                            + ").scrollIntoView(" + selector + ")"));
+            return matches.isEmpty() ? null : matches.get(0);
+        } catch (WebDriverException e) {
+            // Some servers reject UiScrollable when nothing on screen is scrollable
+            log.debug("Server-side scroll failed, falling back to swipes: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Translate a locator to a UiSelector expression.
+     *
+     * @param locator element locator
+     * @return UiSelector expression, null if the strategy has no UiSelector equivalent
+     */
+    static String selectorOf(By locator) {
+        String text = locator.toString();
+        String value = text.substring(text.indexOf(':') + 1).trim();
+        if (locator instanceof By.ById) {
+            return "new UiSelector().resourceId(" + quote(value) + ")";
+        }
+        if (locator instanceof MobileBy.ByAccessibilityId) {
+            return "new UiSelector().description(" + quote(value) + ")";
+        }
+        if (locator instanceof By.ByClassName) {
+            return "new UiSelector().className(" + quote(value) + ")";
+        }
+        return null;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,295 @@
+package com.trustwallet.utils;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.Rectangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the UI hierarchy, fetched with a single page source command.
+ * Nodes are indexed by resource-id, text and class so bulk reads (texts, bounds, flags)
+ * cost one round trip instead of one per element.
+ * The snapshot of the current thread is cached until {@link #invalidate()} is called,
+ * which page objects and utilities do after every action that can change the screen.
+ */
+public final class UiSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(UiSnapshot.class);
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+    private static final ThreadLocal<UiSnapshot> CURRENT = new ThreadLocal<>();
+
+    private final AppiumDriver<MobileElement> driver;
+    private final List<Node> nodes;
+    private final Map<String, List<Node>> byResourceId = new HashMap<>();
+    private final Map<String, List<Node>> byText = new HashMap<>();
+    private final Map<String, List<Node>> byClass = new HashMap<>();
+
+    private UiSnapshot(AppiumDriver<MobileElement> driver, List<Node> nodes) {
+        this.driver = driver;
+        this.nodes = Collections.unmodifiableList(nodes);
+        for (Node node : nodes) {
+            index(byResourceId, node.getResourceId(), node);
+            index(byText, node.getText(), node);
+            index(byClass, node.getClassName(), node);
+        }
+    }
+
+    /**
+     * Get the cached snapshot of the current thread, capturing a new one if there is none
+     * or it belongs to another session.
+     *
+     * @param driver AppiumDriver instance
+     * @return UI snapshot
+     */
+    public static UiSnapshot of(AppiumDriver<MobileElement> driver) {
+        UiSnapshot snapshot = CURRENT.get();
+        if (snapshot == null || snapshot.driver != driver) {
+            snapshot = capture(driver);
+            CURRENT.set(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Capture a fresh snapshot without touching the cache.
+     *
+     * @param driver AppiumDriver instance
+     * @return UI snapshot
+     */
+    public static UiSnapshot capture(AppiumDriver<MobileElement> driver) {
+        log.debug("Capturing UI snapshot");
+        return parse(driver, driver.getPageSource());
+    }
+
+    /**
+     * Drop the cached snapshot of the current thread. Call after any action that may change the screen.
+     */
+    public static void invalidate() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Build a snapshot from page source XML.
+     *
+     * @param driver     driver the source was read from
+     * @param pageSource UiAutomator2 page source
+     * @return UI snapshot
+     */
+    static UiSnapshot parse(AppiumDriver<MobileElement> driver, String pageSource) {
+        List<Node> nodes = new ArrayList<>();
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            SAXParser parser = factory.newSAXParser();
+            parser.parse(new InputSource(new StringReader(pageSource)), new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if (attributes.getLength() > 0) {
+                        nodes.add(new Node(qName, attributes));
+                    }
+                }
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to parse page source", e);
+        }
+        return new UiSnapshot(driver, nodes);
+    }
+
+    private static void index(Map<String, List<Node>> index, String key, Node node) {
+        if (key != null && !key.isEmpty()) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(node);
+        }
+    }
+
+    /**
+     * Get all nodes in document order.
+     *
+     * @return immutable list of nodes
+     */
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Find nodes by resource-id, in document order.
+     *
+     * @param resourceId full resource-id, e.g. com.wallet.crypto.trustapp:id/seed_word
+     * @return matching nodes, empty if none
+     */
+    public List<Node> findById(String resourceId) {
+        return byResourceId.getOrDefault(resourceId, Collections.emptyList());
+    }
+
+    /**
+     * Find nodes by exact text, in document order.
+     *
+     * @param text node text
+     * @return matching nodes, empty if none
+     */
+    public List<Node> findByText(String text) {
+        return byText.getOrDefault(text, Collections.emptyList());
+    }
+
+    /**
+     * Find nodes by class name, in document order.
+     *
+     * @param className class name, e.g. android.widget.TextView
+     * @return matching nodes, empty if none
+     */
+    public List<Node> findByClass(String className) {
+        return byClass.getOrDefault(className, Collections.emptyList());
+    }
+
+    /**
+     * Get the texts of all nodes with a resource-id, in document order.
+     *
+     * @param resourceId full resource-id
+     * @return list of texts
+     */
+    public List<String> textsById(String resourceId) {
+        return findById(resourceId).stream().map(Node::getText).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the bounds of all nodes with a resource-id, in document order.
+     *
+     * @param resourceId full resource-id
+     * @return list of bounds
+     */
+    public List<Rectangle> boundsById(String resourceId) {
+        return findById(resourceId).stream().map(Node::getBounds).collect(Collectors.toList());
+    }
+
+    /**
+     * Check whether a displayed node with a resource-id exists.
+     *
+     * @param resourceId full resource-id
+     * @return true if at least one matching node is displayed
+     */
+    public boolean isDisplayed(String resourceId) {
+        return findById(resourceId).stream().anyMatch(Node::isDisplayed);
+    }
+
+    /**
+     * Check whether the first node with a resource-id is enabled.
+     *
+     * @param resourceId full resource-id
+     * @return true if the node exists and is enabled
+     */
+    public boolean isEnabled(String resourceId) {
+        List<Node> matches = findById(resourceId);
+        return !matches.isEmpty() && matches.get(0).isEnabled();
+    }
+
+    /**
+     * Check whether the first node with a resource-id is checked.
+     *
+     * @param resourceId full resource-id
+     * @return true if the node exists and is checked
+     */
+    public boolean isChecked(String resourceId) {
+        List<Node> matches = findById(resourceId);
+        return !matches.isEmpty() && matches.get(0).isChecked();
+    }
+
+    /**
+     * A single element of the UI hierarchy.
+     */
+    public static final class Node {
+        private final String tag;
+        private final String resourceId;
+        private final String text;
+        private final String className;
+        private final String contentDesc;
+        private final Rectangle bounds;
+        private final boolean enabled;
+        private final boolean checked;
+        private final boolean displayed;
+
+        Node(String tag, Attributes attributes) {
+            this.tag = tag;
+            this.resourceId = value(attributes, "resource-id");
+            this.text = value(attributes, "text");
+            String clazz = value(attributes, "class");
+            this.className = clazz.isEmpty() ? tag : clazz;
+            this.contentDesc = value(attributes, "content-desc");
+            this.bounds = parseBounds(value(attributes, "bounds"));
+            this.enabled = !"false".equals(attributes.getValue("enabled"));
+            this.checked = "true".equals(attributes.getValue("checked"));
+            this.displayed = !"false".equals(attributes.getValue("displayed"));
+        }
+
+        private static String value(Attributes attributes, String name) {
+            String value = attributes.getValue(name);
+            return value == null ? "" : value;
+        }
+
+        private static Rectangle parseBounds(String bounds) {
+            Matcher matcher = BOUNDS.matcher(bounds);
+            if (!matcher.matches()) {
+                return new Rectangle(0, 0, 0, 0);
+            }
+            int left = Integer.parseInt(matcher.group(1));
+            int top = Integer.parseInt(matcher.group(2));
+            int right = Integer.parseInt(matcher.group(3));
+            int bottom = Integer.parseInt(matcher.group(4));
+            return new Rectangle(left, top, bottom - top, right - left);
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public String getResourceId() {
+            return resourceId;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getContentDesc() {
+            return contentDesc;
+        }
+
+        public Rectangle getBounds() {
+            return bounds;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public boolean isChecked() {
+            return checked;
+        }
+
+        public boolean isDisplayed() {
+            return displayed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[id=%s, text=%s]", className, resourceId, text);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.trustwallet.utils;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ScreenOrientation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the window size of each session and orientation, so gestures do not ask the device for it every time.
+ * Each lookup reads the current orientation, so a rotation the device started on its own gets its own entry
+ * instead of a stale size. The entries of a session are dropped when the framework rotates it or it quits;
+ * see {@link com.trustwallet.driver.InstrumentedCommandExecutor}.
+ */
+public final class Viewport {
+    private static final String KEY_SEPARATOR = "/";
+    // Keyed by session id and orientation
+    private static final Map<String, Dimension> SIZES = new ConcurrentHashMap<>();
+
+    private Viewport() {
+    }
+
+    /**
+     * Get the window size of a session in its current orientation.
+     *
+     * @param driver AppiumDriver instance
+     * @return window size
+     */
+    public static Dimension of(AppiumDriver<MobileElement> driver) {
+        if (driver.getSessionId() == null) {
+            return driver.manage().window().getSize();
+        }
+        ScreenOrientation orientation = driver.getOrientation();
+        return SIZES.computeIfAbsent(driver.getSessionId() + KEY_SEPARATOR + orientation,
+                key -> driver.manage().window().getSize());
+    }
+
+    /**
+     * Forget the window sizes of a session, e.g. after its orientation changed.
+     *
+     * @param sessionId session id
+     */
+    public static void invalidate(String sessionId) {
+        SIZES.keySet().removeIf(key -> key.startsWith(sessionId + KEY_SEPARATOR));
+    }
+}
@@ -0,0 +1,72 @@
+package com.trustwallet.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates time spent in explicit waits per call site, so slow or over-polled waits can be found
+ * without enabling debug logging.
+ */
+public final class WaitStats {
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private WaitStats() {
+    }
+
+    /**
+     * Record one finished wait.
+     *
+     * @param callSite    class, method and line that requested the wait
+     * @param waitedNanos time spent waiting
+     * @param polls       number of condition checks
+     * @param satisfied   true if the condition was met before the timeout
+     */
+    static void record(String callSite, long waitedNanos, int polls, boolean satisfied) {
+        Entry entry = ENTRIES.computeIfAbsent(callSite, k -> new Entry());
+        entry.calls.increment();
+        entry.waitedNanos.add(waitedNanos);
+        entry.polls.add(polls);
+        if (!satisfied) {
+            entry.timeouts.increment();
+        }
+    }
+
+    /**
+     * Build a report of all call sites, slowest total wait first.
+     *
+     * @return report lines
+     */
+    public static List<String> report() {
+        List<Map.Entry<String, Entry>> entries = new ArrayList<>(ENTRIES.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().waitedNanos.sum(), a.getValue().waitedNanos.sum()));
+
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : entries) {
+            Entry entry = e.getValue();
+            long calls = entry.calls.sum();
+            long totalMs = TimeUnit.NANOSECONDS.toMillis(entry.waitedNanos.sum());
+            lines.add(String.format("%s: calls=%d, total=%dms, avg=%dms, polls/call=%.1f, timeouts=%d",
+                    e.getKey(), calls, totalMs, calls == 0 ? 0 : totalMs / calls,
+                    calls == 0 ? 0.0 : (double) entry.polls.sum() / calls, entry.timeouts.sum()));
+        }
+        return lines;
+    }
+
+    /**
+     * Clear all recorded waits.
+     */
+    public static void reset() {
+        ENTRIES.clear();
+    }
+
+    private static final class Entry {
+        final LongAdder calls = new LongAdder();
+        final LongAdder waitedNanos = new LongAdder();
+        final LongAdder polls = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+    }
+}
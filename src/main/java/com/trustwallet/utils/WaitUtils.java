@@ -1,25 +1,34 @@
 package com.trustwallet.utils;
 
+import com.trustwallet.driver.DriverContext;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileElement;
 import org.openqa.selenium.By;
-import org.openqa.selenium.NoSuchElementException;
-import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 /**
  * Utility class for handling waits in Appium tests.
+ * Waits run on the {@link AdaptiveWait} engine, which backs off its poll interval and
+ * learns how long each locator usually takes to appear.
  */
 public class WaitUtils {
     private static final Logger log = LoggerFactory.getLogger(WaitUtils.class);
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration SHORT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration LONG_TIMEOUT = Duration.ofSeconds(30);
     private final AppiumDriver<MobileElement> driver;
-    private final WebDriverWait wait;
-    private final WebDriverWait shortWait;
-    private final WebDriverWait longWait;
+    private final AdaptiveWait wait;
+
+    /**
+     * Constructor for WaitUtils using the driver bound to the current thread.
+     */
+    public WaitUtils() {
+        this(DriverContext.getDriver());
+    }
 
     /**
      * Constructor for WaitUtils.
@@ -28,13 +37,7 @@ public class WaitUtils {
      */
     public WaitUtils(AppiumDriver<MobileElement> driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, 15);
-        this.shortWait = new WebDriverWait(driver, 5);
-        this.longWait = new WebDriverWait(driver, 30);
-
-        // Configure wait to ignore specific exceptions
-        this.wait.ignoring(NoSuchElementException.class)
-                .ignoring(StaleElementReferenceException.class);
+        this.wait = new AdaptiveWait(driver);
     }
 
     /**
@@ -46,7 +49,7 @@ public class WaitUtils {
     public MobileElement waitForElementToBeVisible(By locator) {
         try {
             log.debug("Waiting for element to be visible: {}", locator);
-            return (MobileElement) wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return wait.until(locator, DEFAULT_TIMEOUT, AdaptiveWait.visible(locator));
         } catch (TimeoutException e) {
             log.error("Element not visible after waiting: {}", locator);
             throw e;
@@ -54,7 +57,7 @@ public class WaitUtils {
     }
 
     /**
-     * Wait for element to be clickable.
+     * Wait for element to be clickable, checking visibility and enabled state together.
      *
      * @param locator element locator
      * @return MobileElement that is clickable
@@ -62,7 +65,7 @@ public class WaitUtils {
     public MobileElement waitForElementToBeClickable(By locator) {
         try {
             log.debug("Waiting for element to be clickable: {}", locator);
-            return (MobileElement) wait.until(ExpectedConditions.elementToBeClickable(locator));
+            return wait.until(locator, DEFAULT_TIMEOUT, AdaptiveWait.clickable(locator));
         } catch (TimeoutException e) {
             log.error("Element not clickable after waiting: {}", locator);
             throw e;
@@ -78,7 +81,7 @@ public class WaitUtils {
     public boolean waitForElementToBeInvisible(By locator) {
         try {
             log.debug("Waiting for element to be invisible: {}", locator);
-            return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            return wait.until(locator, DEFAULT_TIMEOUT, AdaptiveWait.invisible(locator));
         } catch (TimeoutException e) {
             log.error("Element still visible after waiting: {}", locator);
             throw e;
@@ -94,7 +97,7 @@ public class WaitUtils {
     public MobileElement waitForElementWithShortTimeout(By locator) {
         try {
             log.debug("Waiting for element with short timeout: {}", locator);
-            return (MobileElement) shortWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return wait.until(locator, SHORT_TIMEOUT, AdaptiveWait.visible(locator));
         } catch (TimeoutException e) {
             log.error("Element not visible after short wait: {}", locator);
             throw e;
@@ -110,7 +113,7 @@ public class WaitUtils {
     public MobileElement waitForElementWithLongTimeout(By locator) {
         try {
             log.debug("Waiting for element with long timeout: {}", locator);
-            return (MobileElement) longWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return wait.until(locator, LONG_TIMEOUT, AdaptiveWait.visible(locator));
         } catch (TimeoutException e) {
             log.error("Element not visible after long wait: {}", locator);
             throw e;
@@ -0,0 +1,141 @@
+package com.trustwallet.codegen;
+
+import com.trustwallet.driver.DriverFactory;
+import com.trustwallet.driver.DriverKey;
+import com.trustwallet.pages.CreateWalletPage;
+import com.trustwallet.pages.CreateWalletPageLocators;
+import com.trustwallet.simulator.FakeAppiumServer;
+import com.trustwallet.simulator.LatencyProfile;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Tests that {@link LocatorProcessor} turns annotated page fields into plain locators.
+ */
+public class LocatorProcessorTest {
+
+    @Test
+    public void generatesConstantsAndPlatformAccessors() throws Exception {
+        Path dir = Files.createTempDirectory("locators");
+        CompileResult result = compile(dir, "SamplePage", "package sample;\n"
+                + "import io.appium.java_client.MobileElement;\n"
+                + "import io.appium.java_client.pagefactory.AndroidFindBy;\n"
+                + "import io.appium.java_client.pagefactory.iOSXCUITFindBy;\n"
+                + "public class SamplePage {\n"
+                + "    @AndroidFindBy(id = \"app:id/send_button\")\n"
+                + "    @iOSXCUITFindBy(accessibility = \"Send\")\n"
+                + "    private MobileElement sendButton;\n"
+                + "    @AndroidFindBy(uiAutomator = \"new UiSelector().text(\\\"Max\\\")\", priority = 1)\n"
+                + "    private MobileElement maxAmount;\n"
+                + "}\n");
+
+        Assert.assertTrue(result.success, result.diagnostics);
+        String generated = new String(Files.readAllBytes(dir.resolve("gen/sample/SamplePageLocators.java")),
+                StandardCharsets.UTF_8);
+        Assert.assertTrue(generated.contains("public static final By SEND_BUTTON = By.id(\"app:id/send_button\");"),
+                generated);
+        Assert.assertTrue(generated.contains("public static final By SEND_BUTTON_IOS = MobileBy.AccessibilityId(\"Send\");"),
+                generated);
+        Assert.assertTrue(generated.contains(
+                "public static final By MAX_AMOUNT = MobileBy.AndroidUIAutomator(\"new UiSelector().text(\\\"Max\\\")\");"),
+                generated);
+        Assert.assertTrue(generated.contains("return ios ? SEND_BUTTON_IOS : SEND_BUTTON;"), generated);
+        Assert.assertTrue(generated.contains("import io.appium.java_client.MobileBy;"), generated);
+        Assert.assertTrue(generated.contains(
+                "     * Get the locator of {@code sendButton} for the platform of the driver.\n"
+                        + "     *\n     * @return locator\n     */\n    public By sendButton() {"), generated);
+    }
+
+    @Test
+    public void importsOnlyTheFactoriesInUse() throws Exception {
+        Path dir = Files.createTempDirectory("locators");
+        CompileResult result = compile(dir, "PlainPage", "package sample;\n"
+                + "import io.appium.java_client.MobileElement;\n"
+                + "import io.appium.java_client.pagefactory.AndroidFindBy;\n"
+                + "public class PlainPage {\n"
+                + "    @AndroidFindBy(id = \"app:id/ok\")\n"
+                + "    private MobileElement okButton;\n"
+                + "}\n");
+
+        Assert.assertTrue(result.success, result.diagnostics);
+        String generated = new String(Files.readAllBytes(dir.resolve("gen/sample/PlainPageLocators.java")),
+                StandardCharsets.UTF_8);
+        Assert.assertFalse(generated.contains("MobileBy"), generated);
+        Assert.assertFalse(generated.contains("IOSDriver"), generated);
+        Assert.assertTrue(generated.contains("import org.openqa.selenium.By;"), generated);
+    }
+
+    @Test
+    public void rejectsAmbiguousLocators() throws Exception {
+        CompileResult result = compile(Files.createTempDirectory("locators"), "BrokenPage", "package sample;\n"
+                + "import io.appium.java_client.MobileElement;\n"
+                + "import io.appium.java_client.pagefactory.AndroidFindBy;\n"
+                + "public class BrokenPage {\n"
+                + "    @AndroidFindBy(id = \"app:id/a\", xpath = \"//b\")\n"
+                + "    private MobileElement both;\n"
+                + "}\n");
+
+        Assert.assertFalse(result.success);
+        Assert.assertTrue(result.diagnostics.contains("exactly one strategy"), result.diagnostics);
+    }
+
+    @Test
+    public void pagesAreBuiltWithoutPageFactory() throws Exception {
+        Assert.assertEquals(CreateWalletPageLocators.TERMS_CHECKBOX,
+                By.id("com.wallet.crypto.trustapp:id/terms_checkbox"));
+
+        FakeAppiumServer server = new FakeAppiumServer(LatencyProfile.none(), Duration.ZERO);
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        AppiumDriver<MobileElement> driver = DriverFactory.android().create(new DriverKey(server.getUrl(), capabilities));
+        try {
+            CreateWalletPage page = new CreateWalletPage(driver);
+            page.acceptTerms().clickNext();
+            Assert.assertTrue(page.hasAdvancedToSeedPhrase(Duration.ofSeconds(5)));
+        } finally {
+            driver.quit();
+            server.close();
+        }
+    }
+
+    private static CompileResult compile(Path dir, String className, String source) throws Exception {
+        Path sourceFile = dir.resolve("src/sample/" + className + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.createDirectories(dir.resolve("gen"));
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Iterable<? extends JavaFileObject> units = compiler.getStandardFileManager(diagnostics, null, null)
+                .getJavaFileObjects(sourceFile.toFile());
+        boolean success = compiler.getTask(null, null, diagnostics,
+                Arrays.asList("-proc:only", "-processor", LocatorProcessor.class.getName(),
+                        "-classpath", System.getProperty("java.class.path"), "-s", dir.resolve("gen").toString()),
+                null, units).call();
+        return new CompileResult(success, diagnostics.getDiagnostics().toString());
+    }
+
+    private static final class CompileResult {
+        final boolean success;
+        final String diagnostics;
+
+        CompileResult(boolean success, String diagnostics) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.trustwallet.device;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests that {@link AppResetter} uses the cheapest tier that works, against a fake device shell.
+ */
+public class AppResetterTest {
+    private static final String APP = "com.wallet.crypto.trustapp";
+    private static final String APK = "./apps/trustwallet.apk";
+
+    @Test
+    public void relaunchesWhenThatIsEnough() {
+        FakeDeviceShell shell = new FakeDeviceShell();
+
+        Assert.assertEquals(resetter(shell, APK).reset(AppResetter.Tier.RELAUNCH), AppResetter.Tier.RELAUNCH);
+        Assert.assertEquals(shell.commands, Arrays.asList("terminate", "activate"));
+    }
+
+    @Test
+    public void escalatesToClearDataWhenAWalletExists() {
+        FakeDeviceShell shell = new FakeDeviceShell();
+        shell.walletCreated = true;
+
+        Assert.assertEquals(resetter(shell, APK).reset(AppResetter.Tier.RELAUNCH), AppResetter.Tier.CLEAR_DATA);
+        Assert.assertEquals(shell.commands, Arrays.asList("terminate", "activate", "clear", "activate"));
+    }
+
+    @Test
+    public void reinstallsAsLastResort() {
+        FakeDeviceShell shell = new FakeDeviceShell();
+        shell.walletCreated = true;
+        shell.clearFails = true;
+
+        Assert.assertEquals(resetter(shell, APK).reset(AppResetter.Tier.parse("clear-data")),
+                AppResetter.Tier.REINSTALL);
+        Assert.assertEquals(shell.commands, Arrays.asList("clear", "reinstall", "activate"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void failsWithoutAnApkToReinstall() {
+        FakeDeviceShell shell = new FakeDeviceShell();
+        shell.corrupted = true;
+
+        resetter(shell, "").reset(AppResetter.Tier.RELAUNCH);
+    }
+
+    private static AppResetter resetter(FakeDeviceShell shell, String apk) {
+        return new AppResetter(shell, APP, apk, shell::isOnStartScreen);
+    }
+
+    /**
+     * Device with one app: it shows its start screen when running without a wallet and not corrupted.
+     */
+    private static final class FakeDeviceShell implements DeviceShell {
+        final List<String> commands = new ArrayList<>();
+        boolean running = true;
+        boolean walletCreated;
+        boolean corrupted;
+        boolean clearFails;
+
+        @Override
+        public void terminateApp(String appPackage) {
+            commands.add("terminate");
+            running = false;
+        }
+
+        @Override
+        public void activateApp(String appPackage) {
+            commands.add("activate");
+            running = true;
+        }
+
+        @Override
+        public void clearAppData(String appPackage) {
+            commands.add("clear");
+            if (clearFails) {
+                throw new IllegalStateException("pm clear failed");
+            }
+            running = false;
+            walletCreated = false;
+        }
+
+        @Override
+        public void reinstallApp(String appPackage, String appPath) {
+            commands.add("reinstall");
+            running = false;
+            walletCreated = false;
+            corrupted = false;
+        }
+
+        boolean isOnStartScreen() {
+            return running && !walletCreated && !corrupted;
+        }
+    }
+}
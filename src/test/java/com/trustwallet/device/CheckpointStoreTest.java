@@ -0,0 +1,202 @@
+package com.trustwallet.device;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tests {@link EmulatorConsole} and {@link CheckpointStore} against a fake emulator console.
+ */
+public class CheckpointStoreTest {
+    private static final List<String> SEED = Arrays.asList("abandon", "ability", "able", "about");
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Device device = new Device("emulator-5554", "Pixel", "11.0", 30, 8200);
+    private FakeConsole fake;
+    private Path root;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        fake = new FakeConsole("s3cret");
+        root = Files.createTempDirectory("checkpoints");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws Exception {
+        fake.close();
+    }
+
+    @Test
+    public void sendsSnapshotCommandsAfterAuthenticating() {
+        try (EmulatorConsole console = fake.connect()) {
+            console.saveSnapshot("first");
+            console.saveSnapshot("second");
+            Assert.assertEquals(console.listSnapshots(), Arrays.asList("first", "second"));
+
+            console.deleteSnapshot("first");
+            Assert.assertEquals(console.listSnapshots(), Arrays.asList("second"));
+            Assert.assertThrows(IllegalStateException.class, () -> console.loadSnapshot("first"));
+        }
+        Assert.assertTrue(fake.commands.contains("auth s3cret"));
+    }
+
+    @Test
+    public void rejectsAWrongToken() {
+        Assert.assertThrows(IllegalStateException.class,
+                () -> new EmulatorConsole("localhost", fake.getPort(), "wrong", TIMEOUT));
+    }
+
+    @Test
+    public void restoresTheSeedWordsOfACheckpoint() {
+        CheckpointStore store = new CheckpointStore(root, "aaaaaaaaaaaaaaaa");
+        try (EmulatorConsole console = fake.connect()) {
+            Assert.assertNull(store.restore(console, device, "seed-revealed"));
+
+            store.save(console, device, "seed-revealed", SEED);
+
+            Assert.assertTrue(store.exists(console, device, "seed-revealed"));
+            Assert.assertEquals(store.restore(console, device, "seed-revealed"), SEED);
+        }
+        Assert.assertTrue(fake.commands.contains("avd snapshot load " + store.snapshotName("seed-revealed")));
+    }
+
+    @Test
+    public void invalidatesCheckpointsOfAnotherApk() {
+        CheckpointStore oldBuild = new CheckpointStore(root, "aaaaaaaaaaaaaaaa");
+        CheckpointStore newBuild = new CheckpointStore(root, "bbbbbbbbbbbbbbbb");
+        try (EmulatorConsole console = fake.connect()) {
+            oldBuild.save(console, device, "pin-entry", SEED);
+
+            Assert.assertNull(newBuild.restore(console, device, "pin-entry"));
+            Assert.assertTrue(fake.snapshots.isEmpty(), "Snapshot of the old build was not deleted");
+            Assert.assertFalse(oldBuild.exists(console, device, "pin-entry"));
+        }
+    }
+
+    @Test
+    public void dropsCheckpointsWhoseSnapshotIsGone() {
+        CheckpointStore store = new CheckpointStore(root, "aaaaaaaaaaaaaaaa");
+        try (EmulatorConsole console = fake.connect()) {
+            store.save(console, device, "pin-entry", SEED);
+            fake.snapshots.clear();
+
+            Assert.assertNull(store.restore(console, device, "pin-entry"));
+            Assert.assertFalse(store.exists(console, device, "pin-entry"));
+        }
+    }
+
+    /**
+     * Emulator console on a local port that keeps snapshots in memory and serves one client at a time.
+     */
+    private static final class FakeConsole implements AutoCloseable {
+        final Set<String> snapshots = ConcurrentHashMap.newKeySet();
+        final List<String> commands = new CopyOnWriteArrayList<>();
+        private final ServerSocket server;
+        private final String token;
+
+        FakeConsole(String token) throws IOException {
+            this.token = token;
+            this.server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+            Thread thread = new Thread(this::serve, "fake-emulator-console");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        int getPort() {
+            return server.getLocalPort();
+        }
+
+        EmulatorConsole connect() {
+            return new EmulatorConsole("localhost", getPort(), token, TIMEOUT);
+        }
+
+        private void serve() {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    handle(socket);
+                } catch (IOException e) {
+                    // Closed by the test
+                }
+            }
+        }
+
+        private void handle(Socket socket) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            reply(out, "Android Console: Authentication required\r\nAndroid Console: type 'auth <auth_token>' to authenticate\r\nOK");
+            boolean authenticated = false;
+            String line;
+            while ((line = in.readLine()) != null) {
+                commands.add(line);
+                String[] args = line.trim().split(" ");
+                if (args[0].equals("quit")) {
+                    return;
+                } else if (args[0].equals("auth")) {
+                    authenticated = args.length == 2 && args[1].equals(token);
+                    reply(out, authenticated ? "Android Console: type 'help' for a list of commands\r\nOK"
+                            : "KO: authentication token does not match");
+                } else if (!authenticated) {
+                    reply(out, "KO: unknown command, try 'help'");
+                } else if (line.equals("avd snapshot list")) {
+                    StringBuilder list = new StringBuilder("List of snapshots present on all disks:\r\n"
+                            + "ID        TAG                 VM SIZE                DATE       VM CLOCK\r\n");
+                    snapshots.stream().sorted().forEach(name ->
+                            list.append("--        ").append(name).append("   297M 2024-01-01 10:00:00   00:01:02.000\r\n"));
+                    reply(out, list + "OK");
+                } else if (args.length == 4 && args[0].equals("avd") && args[1].equals("snapshot")) {
+                    reply(out, snapshot(args[2], args[3]));
+                } else {
+                    reply(out, "KO: unknown command, try 'help'");
+                }
+            }
+        }
+
+        private String snapshot(String action, String name) {
+            switch (action) {
+                case "save":
+                    snapshots.add(name);
+                    return "OK";
+                case "load":
+                case "delete":
+                    if (!snapshots.contains(name)) {
+                        return "KO: snapshot '" + name + "' does not exist";
+                    }
+                    if (action.equals("delete")) {
+                        snapshots.remove(name);
+                    }
+                    return "OK";
+                default:
+                    return "KO: bad sub-command";
+            }
+        }
+
+        private static void reply(Writer out, String text) throws IOException {
+            out.write(text + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
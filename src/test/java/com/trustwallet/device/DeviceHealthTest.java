@@ -0,0 +1,128 @@
+package com.trustwallet.device;
+
+import com.trustwallet.driver.DriverFactory;
+import com.trustwallet.driver.DriverKey;
+import com.trustwallet.simulator.FakeAppiumServer;
+import com.trustwallet.simulator.LatencyProfile;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Tests that {@link DeviceHealth} quarantines devices after transport failures and probes them again,
+ * and that {@link DeviceRegistry} routes around quarantined devices.
+ */
+public class DeviceHealthTest {
+    private static final Duration QUARANTINE = Duration.ofMillis(100);
+    private static final Device FIRST = new Device("sim-0", "Simulated", "11.0", 30, 8200);
+    private static final Device SECOND = new Device("sim-1", "Simulated", "11.0", 30, 8201);
+
+    @Test
+    public void recognizesADeadServerButNotAMissingElement() throws IOException {
+        FakeAppiumServer server = new FakeAppiumServer(LatencyProfile.none(), Duration.ZERO);
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        AppiumDriver<MobileElement> driver = DriverFactory.android().create(new DriverKey(server.getUrl(), capabilities));
+
+        WebDriverException missing = Assert.expectThrows(NoSuchElementException.class,
+                () -> driver.findElement(By.id("no_such_element")));
+        Assert.assertFalse(DeviceHealth.isTransportFailure(missing));
+
+        server.close();
+        WebDriverException dead = Assert.expectThrows(WebDriverException.class, driver::getPageSource);
+        Assert.assertTrue(DeviceHealth.isTransportFailure(dead), "Not a transport failure: " + dead);
+        Assert.assertFalse(DeviceHealth.isTransportFailure(new AssertionError("Wallet was not created")));
+    }
+
+    @Test
+    public void quarantinesAfterConsecutiveFailuresAndProbesOnce() throws InterruptedException {
+        DeviceHealth health = new DeviceHealth(3, QUARANTINE);
+        WebDriverException refused = new WebDriverException(new ConnectException("Connection refused"));
+
+        health.recordFailure(FIRST, refused);
+        health.recordFailure(FIRST, refused);
+        health.recordSuccess(FIRST);
+        health.recordFailure(FIRST, refused);
+        health.recordFailure(FIRST, refused);
+        Assert.assertEquals(health.getState(FIRST), DeviceHealth.State.CLOSED, "A success resets the count");
+        Assert.assertFalse(health.recordFailure(FIRST, new AssertionError("Wrong screen")));
+        Assert.assertEquals(health.getState(FIRST), DeviceHealth.State.CLOSED, "Assertions do not count");
+
+        health.recordFailure(FIRST, refused);
+        Assert.assertEquals(health.getState(FIRST), DeviceHealth.State.OPEN);
+        Assert.assertFalse(health.tryAcquire(FIRST));
+        Assert.assertTrue(health.describe(FIRST).contains("Connection refused"), health.describe(FIRST));
+
+        Thread.sleep(QUARANTINE.toMillis() + 20);
+        Assert.assertTrue(health.tryAcquire(FIRST), "The quarantine is over, so one probe may run");
+        Assert.assertFalse(health.tryAcquire(FIRST), "Only one probe runs at a time");
+        health.recordFailure(FIRST, refused);
+        Assert.assertEquals(health.getState(FIRST), DeviceHealth.State.OPEN, "A failed probe quarantines again");
+
+        Thread.sleep(QUARANTINE.toMillis() + 20);
+        Assert.assertTrue(health.tryAcquire(FIRST));
+        health.recordSuccess(FIRST);
+        Assert.assertEquals(health.getState(FIRST), DeviceHealth.State.CLOSED);
+        Assert.assertTrue(health.tryAcquire(FIRST));
+    }
+
+    @Test
+    public void routesAroundQuarantinedDevicesAndFailsFastWhenNoneIsLeft() throws InterruptedException {
+        DeviceHealth health = new DeviceHealth(1, QUARANTINE);
+        DeviceRegistry registry = new DeviceRegistry(Arrays.asList(FIRST, SECOND), health);
+        WebDriverException died = new WebDriverException("The appium server has accidentally died!");
+
+        Device leased = registry.acquire(Duration.ofSeconds(5));
+        health.recordFailure(leased, died);
+        registry.release(leased);
+        Device healthy = leased.equals(FIRST) ? SECOND : FIRST;
+        for (int i = 0; i < 3; i++) {
+            Device next = registry.acquire(Duration.ofSeconds(5));
+            Assert.assertEquals(next, healthy, "Tests must go to the healthy device");
+            registry.release(next);
+        }
+
+        Device last = registry.acquire(Duration.ofSeconds(5));
+        health.recordFailure(last, died);
+        registry.release(last);
+        long start = System.nanoTime();
+        IllegalStateException quarantined = Assert.expectThrows(IllegalStateException.class,
+                () -> registry.acquire(Duration.ofMinutes(10)));
+        Assert.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000, "Should fail at once");
+        Assert.assertTrue(quarantined.getMessage().startsWith("All devices are quarantined"), quarantined.getMessage());
+        Assert.assertTrue(quarantined.getMessage().contains("accidentally died"), quarantined.getMessage());
+
+        Thread.sleep(QUARANTINE.toMillis() + 20);
+        Device probe = registry.acquire(Duration.ofSeconds(5));
+        Assert.assertEquals(health.getState(probe), DeviceHealth.State.HALF_OPEN);
+        health.recordSuccess(probe);
+        registry.release(probe);
+        Assert.assertEquals(health.getState(probe), DeviceHealth.State.CLOSED);
+        Assert.assertEquals(registry.freeCount(), 2, "The recovered device and the one due for its probe are free");
+    }
+
+    @Test
+    public void probesAgainWhenAProbeEndsWithoutVerdict() throws InterruptedException {
+        DeviceHealth health = new DeviceHealth(1, QUARANTINE);
+        DeviceRegistry registry = new DeviceRegistry(Arrays.asList(FIRST), health);
+        health.recordFailure(FIRST, new WebDriverException(new ConnectException("Connection refused")));
+        Thread.sleep(QUARANTINE.toMillis() + 20);
+
+        Device probe = registry.acquire(Duration.ofSeconds(5));
+        // The session failed for a reason unrelated to the device
+        registry.release(probe);
+
+        Assert.assertEquals(registry.acquire(Duration.ofSeconds(5)), FIRST);
+        Assert.assertEquals(health.getState(FIRST), DeviceHealth.State.HALF_OPEN);
+    }
+}
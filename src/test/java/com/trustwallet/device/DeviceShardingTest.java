@@ -0,0 +1,75 @@
+package com.trustwallet.device;
+
+import org.testng.Assert;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a suite of simulated device-bound test methods through TestNG to verify that
+ * methods are spread over all registered devices and that wall time shrinks with device count.
+ */
+public class DeviceShardingTest {
+    static final long METHOD_MILLIS = 150;
+    static volatile DeviceRegistry simulatedRegistry;
+    static final Map<String, AtomicInteger> runsPerDevice = new ConcurrentHashMap<>();
+
+    @Test
+    public void spreadsMethodsOverEveryDevice() {
+        runSuite(4);
+        Assert.assertEquals(runsPerDevice.size(), 4, "Every simulated device should have run methods");
+        Assert.assertEquals(runsPerDevice.values().stream().mapToInt(AtomicInteger::get).sum(), 8);
+        Assert.assertEquals(simulatedRegistry.freeCount(), 4, "All devices should be released");
+    }
+
+    @Test
+    public void wallTimeScalesWithDeviceCount() {
+        long oneDevice = runSuite(1);
+        long fourDevices = runSuite(4);
+        Assert.assertTrue(oneDevice >= 8 * METHOD_MILLIS, "Single device should run methods back to back");
+        Assert.assertTrue(fourDevices < oneDevice / 2.5,
+                String.format("Four devices took %dms vs %dms for one", fourDevices, oneDevice));
+    }
+
+    private static long runSuite(int deviceCount) {
+        List<Device> devices = new ArrayList<>();
+        for (int i = 0; i < deviceCount; i++) {
+            devices.add(new Device("sim-" + i, "Simulated " + i, "11.0", 30, 8200 + i));
+        }
+        simulatedRegistry = new DeviceRegistry(devices);
+        runsPerDevice.clear();
+
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Simulated devices");
+        XmlTest test = new XmlTest(suite);
+        test.setName("Simulated methods");
+        test.setXmlClasses(Collections.singletonList(new XmlClass(SimulatedDeviceSuite.class)));
+
+        TestNG testng = new TestNG(false);
+        testng.setUseDefaultListeners(false);
+        testng.setXmlSuites(Collections.singletonList(suite));
+        testng.addListener(new SimulatedParallelismListener());
+
+        long start = System.nanoTime();
+        testng.run();
+        Assert.assertFalse(testng.hasFailure(), "Simulated suite should pass");
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    public static class SimulatedParallelismListener extends DeviceParallelismListener {
+        @Override
+        protected DeviceRegistry registry() {
+            return simulatedRegistry;
+        }
+    }
+}
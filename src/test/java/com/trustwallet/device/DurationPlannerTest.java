@@ -0,0 +1,139 @@
+package com.trustwallet.device;
+
+import com.trustwallet.metrics.DurationHistory;
+import org.testng.Assert;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tests that {@link DurationPlanner} runs methods longest-first from the history and balances shards.
+ */
+public class DurationPlannerTest {
+    private static final String CLASS = PlannedMethods.class.getName();
+    static final List<String> executed = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void partitionsLongestFirstIntoBalancedBins() {
+        List<Integer> durations = DurationPlanner.longestFirst(Arrays.asList(3, 9, 4, 7, 5, 8, 2, 6),
+                Integer::longValue, String::valueOf);
+        Assert.assertEquals(durations, Arrays.asList(9, 8, 7, 6, 5, 4, 3, 2));
+
+        List<List<Integer>> bins = DurationPlanner.partition(durations, Integer::longValue, 3);
+
+        List<Integer> all = new ArrayList<>();
+        bins.forEach(all::addAll);
+        Assert.assertEquals(new HashSet<>(all), new HashSet<>(durations), "Every item belongs to one bin");
+        Assert.assertEquals(all.size(), durations.size());
+        int largest = bins.stream().mapToInt(bin -> bin.stream().mapToInt(Integer::intValue).sum()).max().orElse(0);
+        // 44 in total over 3 bins: the best split has a largest bin of 15, LPT stays within 4/3 of it
+        Assert.assertEquals(largest, 16);
+        Assert.assertEquals(bins.get(0), Arrays.asList(9, 4, 3), "Bins keep the longest-first order");
+    }
+
+    @Test
+    public void runsMethodsLongestFirstAndRecordsTheirDurations() throws Exception {
+        Path file = Files.createTempFile("durations", ".properties");
+        Files.write(file, String.join("\n",
+                CLASS + ".quick=5000",
+                CLASS + ".medium=1000",
+                CLASS + ".slow=20").getBytes(StandardCharsets.ISO_8859_1));
+
+        run(new OneDevicePlanner(DurationHistory.load(file), 0, 1));
+
+        Assert.assertEquals(executed, Arrays.asList("quick", "medium", "slow"), "Order must follow the history");
+        DurationHistory saved = DurationHistory.load(file);
+        Assert.assertTrue(saved.get(CLASS + ".quick").toMillis() < 5000, "Measured duration was not blended in");
+        Assert.assertTrue(saved.get(CLASS + ".slow").toMillis() > 20, "Measured duration was not blended in");
+    }
+
+    @Test
+    public void shardsSplitTheSuiteWithoutOverlap() throws Exception {
+        Path file = Files.createTempFile("durations", ".properties");
+        Files.write(file, String.join("\n",
+                CLASS + ".quick=100",
+                CLASS + ".medium=300",
+                CLASS + ".slow=350").getBytes(StandardCharsets.ISO_8859_1));
+
+        // Shards start together from the same history, as parallel CI jobs would
+        DurationPlanner firstShard = new OneDevicePlanner(DurationHistory.load(file), 0, 2);
+        DurationPlanner secondShard = new OneDevicePlanner(DurationHistory.load(file), 1, 2);
+        run(firstShard);
+        List<String> first = new ArrayList<>(executed);
+        run(secondShard);
+        List<String> second = new ArrayList<>(executed);
+
+        Assert.assertEquals(first, Collections.singletonList("slow"));
+        Assert.assertEquals(second, Arrays.asList("medium", "quick"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsAShardOutsideTheCount() {
+        new OneDevicePlanner(null, 2, 2);
+    }
+
+    private static void run(DurationPlanner planner) {
+        executed.clear();
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Planned suite");
+        XmlTest test = new XmlTest(suite);
+        test.setName("Planned methods");
+        test.setXmlClasses(Collections.singletonList(new XmlClass(PlannedMethods.class)));
+
+        TestNG testng = new TestNG(false);
+        testng.setUseDefaultListeners(false);
+        testng.setXmlSuites(Collections.singletonList(suite));
+        testng.addListener(planner);
+        testng.run();
+        Assert.assertFalse(testng.hasFailure(), "Planned suite should pass");
+    }
+
+    /**
+     * Planner with a single simulated device.
+     */
+    static class OneDevicePlanner extends DurationPlanner {
+        OneDevicePlanner(DurationHistory history, int shardIndex, int shardCount) {
+            super(history, shardIndex, shardCount);
+        }
+
+        @Override
+        protected DeviceRegistry registry() {
+            return new DeviceRegistry(Collections.singletonList(new Device("sim-0", "Simulated", "11.0", 30, 8200)));
+        }
+    }
+
+    /**
+     * Methods whose real durations disagree with the seeded history.
+     */
+    public static class PlannedMethods {
+        @Test
+        public void quick() throws InterruptedException {
+            Thread.sleep(10);
+            executed.add("quick");
+        }
+
+        @Test
+        public void medium() throws InterruptedException {
+            Thread.sleep(30);
+            executed.add("medium");
+        }
+
+        @Test
+        public void slow() throws InterruptedException {
+            Thread.sleep(60);
+            executed.add("slow");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.trustwallet.device;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests that {@link InstallCache} installs only devices without the build, in parallel.
+ */
+public class InstallCacheTest {
+    private static final String APP = "com.wallet.crypto.trustapp";
+
+    private final Device first = new Device("emulator-5554", "Pixel", "11.0", 30, 8200);
+    private final Device second = new Device("emulator-5556", "Pixel", "11.0", 30, 8201);
+    private final Device third = new Device("emulator-5558", "Pixel", "11.0", 30, 8202);
+    private final List<Device> devices = Arrays.asList(first, second, third);
+    private Path apk;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        apk = Files.createTempFile("trustwallet", ".apk");
+        Files.write(apk, "build 1".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void installsStaleDevicesInParallelAndSkipsCurrentOnes() throws Exception {
+        FakeInstaller installer = new FakeInstaller(2);
+        InstallCache cache = new InstallCache(installer, 4);
+        installer.checksums.put(first, cache.checksum(apk));
+
+        Set<Device> ready = cache.ensureInstalled(devices, apk, APP);
+
+        Assert.assertEquals(ready.size(), 3);
+        Assert.assertEquals(installer.installs.get(), 2);
+        Assert.assertFalse(installer.sequential, "Installs did not overlap");
+
+        int queries = installer.queries.get();
+        cache.ensureInstalled(devices, apk, APP);
+        Assert.assertEquals(installer.queries.get(), queries, "Known devices must not be queried again");
+        Assert.assertEquals(installer.installs.get(), 2);
+    }
+
+    @Test
+    public void reinstallsWhenTheApkChanges() throws Exception {
+        FakeInstaller installer = new FakeInstaller(0);
+        InstallCache cache = new InstallCache(installer, 1);
+        cache.ensureInstalled(devices, apk, APP);
+
+        Files.write(apk, "build 2".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(apk, FileTime.fromMillis(Files.getLastModifiedTime(apk).toMillis() + 1000));
+        cache.ensureInstalled(devices, apk, APP);
+
+        Assert.assertEquals(installer.installs.get(), 6);
+    }
+
+    @Test
+    public void leavesOutDevicesWhoseInstallFailed() {
+        FakeInstaller installer = new FakeInstaller(0);
+        installer.failing = second;
+
+        Set<Device> ready = new InstallCache(installer, 2).ensureInstalled(devices, apk, APP);
+
+        Assert.assertEquals(ready, new LinkedHashSet<>(Arrays.asList(first, third)));
+    }
+
+    /**
+     * Installer that keeps checksums in memory; installs wait for each other to prove they overlap.
+     */
+    private static final class FakeInstaller implements DeviceInstaller {
+        final Map<Device, String> checksums = new ConcurrentHashMap<>();
+        final AtomicInteger queries = new AtomicInteger();
+        final AtomicInteger installs = new AtomicInteger();
+        final CountDownLatch started;
+        volatile boolean sequential;
+        volatile Device failing;
+
+        FakeInstaller(int expectedConcurrentInstalls) {
+            this.started = new CountDownLatch(expectedConcurrentInstalls);
+        }
+
+        @Override
+        public String installedChecksum(Device device, String appPackage) {
+            queries.incrementAndGet();
+            return checksums.get(device);
+        }
+
+        @Override
+        public void install(Device device, String apkPath, String appPackage, String checksum) {
+            if (device.equals(failing)) {
+                throw new IllegalStateException("INSTALL_FAILED_INSUFFICIENT_STORAGE");
+            }
+            installs.incrementAndGet();
+            started.countDown();
+            try {
+                if (!started.await(5, TimeUnit.SECONDS)) {
+                    sequential = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            checksums.put(device, checksum);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.trustwallet.device;
+
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulated device-bound test methods run by {@link DeviceShardingTest}.
+ * Each method holds a device from the simulated registry for a fixed time.
+ */
+public class SimulatedDeviceSuite {
+    private void runOnFreeDevice() throws InterruptedException {
+        Device device = DeviceShardingTest.simulatedRegistry.acquire(Duration.ofSeconds(10));
+        try {
+            DeviceShardingTest.runsPerDevice.computeIfAbsent(device.getUdid(), k -> new AtomicInteger()).incrementAndGet();
+            Thread.sleep(DeviceShardingTest.METHOD_MILLIS);
+        } finally {
+            DeviceShardingTest.simulatedRegistry.release(device);
+        }
+    }
+
+    @Test
+    public void method1() throws InterruptedException {
+        runOnFreeDevice();
+    }
+
+    @Test
+    public void method2() throws InterruptedException {
+        runOnFreeDevice();
+    }
+
+    @Test
+    public void method3() throws InterruptedException {
+        runOnFreeDevice();
+    }
+
+    @Test
+    public void method4() throws InterruptedException {
+        runOnFreeDevice();
+    }
+
+    @Test
+    public void method5() throws InterruptedException {
+        runOnFreeDevice();
+    }
+
+    @Test
+    public void method6() throws InterruptedException {
+        runOnFreeDevice();
+    }
+
+    @Test
+    public void method7() throws InterruptedException {
+        runOnFreeDevice();
+    }
+
+    @Test
+    public void method8() throws InterruptedException {
+        runOnFreeDevice();
+    }
+}
@@ -0,0 +1,114 @@
+package com.trustwallet.driver;
+
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Tests for {@link DriverPool} against a local fake WebDriver endpoint.
+ */
+public class DriverPoolTest {
+    private FakeWebDriverEndpoint endpoint;
+    private DriverPool pool;
+    private DriverKey key;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        endpoint = new FakeWebDriverEndpoint();
+        pool = new DriverPool(DriverFactory.android(), 2, 3, Duration.ZERO);
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("udid", "emulator-5554");
+        key = new DriverKey(endpoint.getUrl(), capabilities);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        pool.shutdown();
+        endpoint.close();
+    }
+
+    @Test
+    public void reusesReturnedSession() {
+        String firstSession;
+        try (DriverLease lease = pool.lease(key)) {
+            firstSession = lease.getDriver().getSessionId().toString();
+            Assert.assertFalse(lease.isReused());
+        }
+        try (DriverLease lease = pool.lease(key)) {
+            Assert.assertEquals(lease.getDriver().getSessionId().toString(), firstSession);
+            Assert.assertTrue(lease.isReused());
+        }
+        Assert.assertEquals(endpoint.getCreatedCount(), 1);
+        Assert.assertEquals(pool.getReusedCount(), 1);
+    }
+
+    @Test
+    public void warmUpOpensSessionsAhead() {
+        pool.warmUp(key, 2);
+        Assert.assertEquals(pool.getIdleCount(key), 2);
+
+        try (DriverLease first = pool.lease(key); DriverLease second = pool.lease(key)) {
+            Assert.assertNotEquals(first.getDriver().getSessionId(), second.getDriver().getSessionId());
+        }
+        Assert.assertEquals(endpoint.getCreatedCount(), 2);
+    }
+
+    @Test
+    public void evictsSessionThatFailsHealthCheckOnReturn() {
+        DriverLease lease = pool.lease(key);
+        endpoint.killAllSessions();
+        lease.close();
+
+        Assert.assertEquals(pool.getIdleCount(key), 0);
+        Assert.assertEquals(pool.getEvictedCount(), 1);
+
+        try (DriverLease fresh = pool.lease(key)) {
+            Assert.assertFalse(fresh.isReused());
+        }
+        Assert.assertEquals(endpoint.getCreatedCount(), 2);
+    }
+
+    @Test
+    public void evictsIdleSessionThatDiedBeforeReuse() {
+        pool.lease(key).close();
+        endpoint.killAllSessions();
+
+        try (DriverLease lease = pool.lease(key)) {
+            Assert.assertFalse(lease.isReused());
+        }
+        Assert.assertEquals(pool.getEvictedCount(), 1);
+    }
+
+    @Test
+    public void evictsBrokenAndWornOutSessions() {
+        DriverLease broken = pool.lease(key);
+        broken.markBroken();
+        broken.close();
+        Assert.assertEquals(endpoint.getDeletedCount(), 1);
+
+        for (int i = 0; i < 3; i++) {
+            pool.lease(key).close();
+        }
+        Assert.assertEquals(pool.getIdleCount(key), 0, "Session should retire after max uses");
+        Assert.assertEquals(endpoint.getLiveSessionCount(), 0);
+    }
+
+    @Test
+    public void keepsSeparatePoolsPerCapabilitySet() throws Exception {
+        DesiredCapabilities other = new DesiredCapabilities(key.getCapabilities());
+        other.setCapability("udid", "emulator-5556");
+        DriverKey otherKey = new DriverKey(endpoint.getUrl(), other);
+
+        pool.lease(key).close();
+        try (DriverLease lease = pool.lease(otherKey)) {
+            Assert.assertFalse(lease.isReused());
+        }
+        Assert.assertEquals(pool.getIdleCount(key), 1);
+        Assert.assertEquals(pool.getIdleCount(otherKey), 1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.trustwallet.driver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal local WebDriver endpoint that creates, answers and deletes sessions.
+ * Sessions can be killed to simulate a crashed device or server-side timeout.
+ */
+public class FakeWebDriverEndpoint implements AutoCloseable {
+    private final HttpServer server;
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+    private final AtomicInteger createdCount = new AtomicInteger();
+    private final AtomicInteger deletedCount = new AtomicInteger();
+
+    public FakeWebDriverEndpoint() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/wd/hub", this::handle);
+        server.start();
+    }
+
+    public URL getUrl() throws MalformedURLException {
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/wd/hub");
+    }
+
+    public int getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public int getDeletedCount() {
+        return deletedCount.get();
+    }
+
+    public int getLiveSessionCount() {
+        return sessions.size();
+    }
+
+    public void killAllSessions() {
+        sessions.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String[] parts = exchange.getRequestURI().getPath().substring("/wd/hub".length()).split("/");
+        String method = exchange.getRequestMethod();
+
+        if (parts.length == 2 && "session".equals(parts[1]) && "POST".equals(method)) {
+            String sessionId = "session-" + sessionCounter.incrementAndGet();
+            sessions.add(sessionId);
+            createdCount.incrementAndGet();
+            respond(exchange, 200, "{\"value\":{\"sessionId\":\"" + sessionId + "\",\"capabilities\":"
+                    + "{\"platformName\":\"Android\",\"automationName\":\"UiAutomator2\"}}}");
+            return;
+        }
+        if (parts.length < 3 || !sessions.contains(parts[2])) {
+            respond(exchange, 404, "{\"value\":{\"error\":\"invalid session id\",\"message\":\"session is gone\"}}");
+            return;
+        }
+        if (parts.length == 3 && "DELETE".equals(method)) {
+            sessions.remove(parts[2]);
+            deletedCount.incrementAndGet();
+            respond(exchange, 200, "{\"value\":null}");
+            return;
+        }
+        if (parts.length == 3) {
+            respond(exchange, 200, "{\"value\":{\"platformName\":\"Android\"}}");
+            return;
+        }
+        respond(exchange, 200, "{\"value\":null}");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
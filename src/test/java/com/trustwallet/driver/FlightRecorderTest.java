@@ -0,0 +1,87 @@
+package com.trustwallet.driver;
+
+import com.trustwallet.simulator.FakeAppiumServer;
+import com.trustwallet.simulator.LatencyProfile;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tests for {@link FlightRecorder} ring buffers, fed by {@link InstrumentedCommandExecutor}.
+ */
+public class FlightRecorderTest {
+    private static final String ID = "com.wallet.crypto.trustapp:id/";
+
+    @Test
+    public void keepsOnlyTheLastCommands() {
+        FlightRecorder recorder = new FlightRecorder(3, 1);
+        for (int i = 1; i <= 5; i++) {
+            recorder.record(0, 1_000_000, "command" + i, null, null, null);
+        }
+
+        List<String> lines = recorder.dump();
+        Assert.assertEquals(lines.get(0), "Last 3 of 5 commands:");
+        Assert.assertEquals(lines.size(), 4);
+        Assert.assertTrue(lines.get(1).startsWith("#3 ") && lines.get(1).contains("command3 -> ok"), lines.get(1));
+        Assert.assertTrue(lines.get(3).contains("command5"), lines.get(3));
+
+        recorder.clear();
+        Assert.assertEquals(recorder.dump().get(0), "Last 0 of 0 commands:");
+    }
+
+    @Test
+    public void recordsSessionCommandsAndPageSourceChanges() throws Exception {
+        try (FakeAppiumServer server = new FakeAppiumServer(LatencyProfile.none(), Duration.ZERO)) {
+            DesiredCapabilities capabilities = new DesiredCapabilities();
+            capabilities.setCapability("platformName", "Android");
+            AppiumDriver<MobileElement> driver =
+                    DriverFactory.android().create(new DriverKey(server.getUrl(), capabilities));
+            try {
+                FlightRecorder recorder = FlightRecorder.of(driver);
+                recorder.clear();
+
+                driver.getPageSource();
+                driver.findElement(By.id(ID + "terms_checkbox")).click();
+                driver.findElement(By.id(ID + "terms_checkbox")).sendKeys("secret");
+                driver.getPageSource();
+                Assert.assertThrows(NoSuchElementException.class, () -> driver.findElement(By.id(ID + "missing")));
+
+                List<String> lines = recorder.dump();
+                String dump = String.join("\n", lines);
+                Assert.assertTrue(dump.contains("findElement id=" + ID + "terms_checkbox -> ok"), dump);
+                Assert.assertTrue(dump.contains("findElement id=" + ID + "missing -> no such element"), dump);
+                Assert.assertTrue(dump.contains("clickElement element="), dump);
+                Assert.assertTrue(lines.stream().filter(line -> line.startsWith("#"))
+                        .noneMatch(line -> line.contains("secret")), dump);
+                Assert.assertTrue(dump.contains("changes:"), dump);
+                Assert.assertTrue(dump.contains("+ <android.widget.CheckBox"), dump);
+                Assert.assertTrue(dump.contains("checked=\"true\""), dump);
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    @Test
+    public void redactsSecretsFromPageSources() {
+        FlightRecorder recorder = new FlightRecorder(1, 2);
+        recorder.recordSource(0, "<hierarchy>"
+                + "<android.widget.TextView text=\"abandon\" resource-id=\"" + ID + "seed_word\" index=\"0\"/>"
+                + "<android.widget.Button resource-id=\"" + ID + "word_option\" text=\"ability\"/>"
+                + "<android.widget.EditText text=\"975310\" resource-id=\"" + ID + "pin_input\"/>"
+                + "<android.widget.Button text=\"Continue\" resource-id=\"" + ID + "continue_button\"/>"
+                + "</hierarchy>");
+
+        String dump = String.join("\n", recorder.dump());
+        Assert.assertFalse(dump.contains("abandon") || dump.contains("ability") || dump.contains("975310"), dump);
+        Assert.assertTrue(dump.contains("text=\"***\" resource-id=\"" + ID + "seed_word\""), dump);
+        Assert.assertTrue(dump.contains("text=\"Continue\""), dump);
+    }
+}
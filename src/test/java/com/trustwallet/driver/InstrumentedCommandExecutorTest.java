@@ -0,0 +1,34 @@
+package com.trustwallet.driver;
+
+import com.trustwallet.metrics.LatencyMetrics;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that {@link InstrumentedCommandExecutor} records every command against a local fake endpoint.
+ */
+public class InstrumentedCommandExecutorTest {
+
+    @Test
+    public void recordsCommandsPerTest() throws Exception {
+        LatencyMetrics.startTest();
+        try (FakeWebDriverEndpoint endpoint = new FakeWebDriverEndpoint()) {
+            DesiredCapabilities capabilities = new DesiredCapabilities();
+            capabilities.setCapability("platformName", "Android");
+            AppiumDriver<MobileElement> driver =
+                    DriverFactory.android().create(new DriverKey(endpoint.getUrl(), capabilities));
+            driver.getSessionDetails();
+            driver.getSessionDetails();
+            driver.quit();
+        }
+
+        LatencyMetrics metrics = LatencyMetrics.currentTest();
+        Assert.assertEquals(metrics.getCommand("newSession").getCount(), 1);
+        Assert.assertEquals(metrics.getCommand("getSession").getCount(), 2);
+        Assert.assertEquals(metrics.getCommand("quit").getCount(), 1);
+        Assert.assertTrue(metrics.report().stream().anyMatch(line -> line.startsWith("[test] command getSession")));
+    }
+}
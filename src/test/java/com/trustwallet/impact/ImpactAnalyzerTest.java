@@ -0,0 +1,194 @@
+package com.trustwallet.impact;
+
+import com.trustwallet.impact.SourceDiff.FileChange;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests that changed lines map to members and that {@link ImpactAnalyzer} selects the tests that exercised them.
+ */
+public class ImpactAnalyzerTest {
+    private static final String PAGE = "com.trustwallet.pages.LoginPage";
+    private static final String PAGE_PATH = "src/main/java/com/trustwallet/pages/LoginPage.java";
+    private static final List<String> BEFORE = Arrays.asList(
+            "package com.trustwallet.pages;",                              // 1
+            "",                                                            // 2
+            "import java.util.List;",                                      // 3
+            "",                                                            // 4
+            "/** Login screen { with a brace in the comment */",           // 5
+            "public class LoginPage {",                                    // 6
+            "    private static final String PREFIX = \"app:id/\";",       // 7
+            "",                                                            // 8
+            "    @AndroidFindBy(id = \"app:id/login\")",                   // 9
+            "    private MobileElement loginButton;",                      // 10
+            "",                                                            // 11
+            "    public LoginPage(Driver driver) {",                       // 12
+            "        super(driver);",                                      // 13
+            "    }",                                                       // 14
+            "",                                                            // 15
+            "    @Step(value = \"Log in as {0}\")",                        // 16
+            "    public LoginPage login(String user) {",                   // 17
+            "        type(\"}\" + user);",                                 // 18
+            "        return this;",                                        // 19
+            "    }",                                                       // 20
+            "",                                                            // 21
+            "    static class Form {",                                     // 22
+            "        void submit() {",                                     // 23
+            "            click();",                                        // 24
+            "        }",                                                   // 25
+            "    }",                                                       // 26
+            "",                                                            // 27
+            "    public void logout() {",                                  // 28
+            "        // tap the menu first",                               // 29
+            "        click();",                                            // 30
+            "    }",                                                       // 31
+            "}");                                                          // 32
+
+    @Test
+    public void mapsLinesToTheMembersStackFramesName() {
+        JavaMembers map = JavaMembers.parse(BEFORE);
+
+        Assert.assertFalse(map.isCode(3), "Imports do not change behavior");
+        Assert.assertFalse(map.isCode(5), "Comments do not change behavior");
+        Assert.assertFalse(map.isCode(29), "Comments do not change behavior");
+        Assert.assertNull(map.memberAt(7), "Fields are class-level");
+        Assert.assertNull(map.memberAt(9), "Locator annotations are class-level");
+        Assert.assertEquals(map.typeAt(9), PAGE);
+        Assert.assertEquals(map.memberAt(13), PAGE + "#<init>");
+        Assert.assertEquals(map.memberAt(16), PAGE + "#login", "Annotations belong to their method");
+        Assert.assertEquals(map.memberAt(19), PAGE + "#login", "Braces in literals are not counted");
+        Assert.assertEquals(map.memberAt(24), PAGE + "$Form#submit");
+        Assert.assertEquals(map.memberAt(30), PAGE + "#logout");
+        Assert.assertEquals(map.primaryType(), PAGE);
+    }
+
+    @Test
+    public void namesFramesAsSourceMembers() {
+        Assert.assertEquals(ImpactRecorder.frameKey(PAGE, "lambda$login$0"), PAGE + "#login");
+        Assert.assertEquals(ImpactRecorder.frameKey(PAGE, "lambda$new$1"), PAGE + "#<init>");
+        Assert.assertEquals(ImpactRecorder.frameKey(PAGE, "login_aroundBody0"), PAGE + "#login");
+        Assert.assertEquals(ImpactRecorder.frameKey(PAGE + "$1", "run"), PAGE + "#<anonymous>");
+        Assert.assertEquals(ImpactRecorder.frameKey("com.trustwallet.pages.BasePage", "click"),
+                "com.trustwallet.pages.BasePage#click");
+        Assert.assertNull(ImpactRecorder.frameKey("com.trustwallet.impact.ImpactRecorder", "recordCommand"));
+        Assert.assertNull(ImpactRecorder.frameKey("org.openqa.selenium.remote.RemoteWebDriver", "execute"));
+    }
+
+    @Test
+    public void selectsTheTestsThatExercisedAChangedMember() throws Exception {
+        List<String> after = edit(BEFORE, 19, "        return this.submit();");
+        List<FileChange> changes = SourceDiff.parse(Arrays.asList(
+                "diff --git a/" + PAGE_PATH + " b/" + PAGE_PATH,
+                "--- a/" + PAGE_PATH,
+                "+++ b/" + PAGE_PATH,
+                "@@ -19 +19 @@ public class LoginPage {",
+                "-        return this;",
+                "+        return this.submit();",
+                "diff --git a/README.md b/README.md",
+                "@@ -1 +1 @@",
+                "-# Old title",
+                "+# New title"));
+
+        ImpactAnalyzer.Selection selection = select(changes, after, "LoginTest.valid", "LoginTest.invalid", "NewTest.fresh");
+
+        Assert.assertFalse(selection.isFullSuite());
+        Assert.assertEquals(selection.getTests(), Set.of("LoginTest.valid", "NewTest.fresh"),
+                "Tests that used login, and tests never recorded, are selected");
+    }
+
+    @Test
+    public void selectsTheTestsThatUsedAChangedLocator() throws Exception {
+        List<String> after = edit(BEFORE, 9, "    @AndroidFindBy(id = \"app:id/sign_in\")");
+        List<FileChange> changes = SourceDiff.parse(Arrays.asList(
+                "diff --git a/" + PAGE_PATH + " b/" + PAGE_PATH,
+                "@@ -9 +9 @@",
+                "-    @AndroidFindBy(id = \"app:id/login\")",
+                "+    @AndroidFindBy(id = \"app:id/sign_in\")"));
+
+        ImpactAnalyzer.Selection selection = select(changes, after, "LoginTest.valid", "LoginTest.invalid");
+
+        Assert.assertFalse(selection.isFullSuite());
+        Assert.assertEquals(selection.getTests(), Set.of("LoginTest.invalid"));
+    }
+
+    @Test
+    public void runsEverythingWhenCoverageCannotVouchForAChange() throws Exception {
+        List<String> after = edit(BEFORE, 24, "            click(); click();");
+        List<FileChange> uncovered = SourceDiff.parse(Arrays.asList(
+                "diff --git a/" + PAGE_PATH + " b/" + PAGE_PATH,
+                "@@ -24 +24 @@",
+                "-            click();",
+                "+            click(); click();"));
+        ImpactAnalyzer.Selection uncoveredMember = select(uncovered, after, "LoginTest.valid");
+        Assert.assertFalse(uncoveredMember.isFullSuite());
+        Assert.assertEquals(uncoveredMember.getTests(), Set.of("LoginTest.valid", "LoginTest.invalid"),
+                "Form#submit is covered by nobody, so the tests of LoginPage run");
+
+        ImpactAnalyzer.Selection unknownClass = new ImpactAnalyzer(new CoverageMap(Path.of("unused")))
+                .select(uncovered, sources(after), List.of("LoginTest.valid"));
+        Assert.assertTrue(unknownClass.isFullSuite(), "A class no test reached runs the whole suite");
+
+        List<FileChange> build = SourceDiff.parse(Arrays.asList(
+                "diff --git a/pom.xml b/pom.xml",
+                "@@ -10 +10 @@",
+                "-    <version>1</version>",
+                "+    <version>2</version>"));
+        Assert.assertTrue(select(build, BEFORE, "LoginTest.valid").isFullSuite());
+    }
+
+    @Test
+    public void keepsCoverageAcrossSaveAndLoad() throws Exception {
+        Path file = Files.createTempFile("coverage", ".txt");
+        CoverageMap coverage = coverage(file);
+        coverage.save();
+
+        CoverageMap loaded = CoverageMap.load(file);
+
+        Assert.assertEquals(loaded.getTests(), Set.of("LoginTest.valid", "LoginTest.invalid"));
+        Assert.assertEquals(loaded.testsCovering(ImpactRecorder.locatorKey("id", "app:id/login")),
+                Set.of("LoginTest.invalid"));
+        Assert.assertEquals(loaded.testsCoveringType(PAGE), Set.of("LoginTest.valid", "LoginTest.invalid"));
+    }
+
+    private static ImpactAnalyzer.Selection select(List<FileChange> changes, List<String> after, String... tests)
+            throws Exception {
+        return new ImpactAnalyzer(coverage(Path.of("unused"))).select(changes, sources(after), Arrays.asList(tests));
+    }
+
+    /**
+     * Coverage where one test logs in and the other taps the login button and logs out.
+     */
+    private static CoverageMap coverage(Path file) {
+        CoverageMap coverage = new CoverageMap(file);
+        coverage.put("LoginTest.valid", List.of(PAGE + "#<init>", PAGE + "#login"));
+        coverage.put("LoginTest.invalid", List.of(PAGE + "#<init>", PAGE + "#logout",
+                ImpactRecorder.locatorKey("id", "app:id/login")));
+        return coverage;
+    }
+
+    private static ImpactAnalyzer.Sources sources(List<String> after) {
+        return new ImpactAnalyzer.Sources() {
+            @Override
+            public List<String> oldLines(FileChange change) {
+                return BEFORE;
+            }
+
+            @Override
+            public List<String> newLines(FileChange change) {
+                return after;
+            }
+        };
+    }
+
+    private static List<String> edit(List<String> lines, int line, String text) {
+        String[] edited = lines.toArray(new String[0]);
+        edited[line - 1] = text;
+        return Arrays.asList(edited);
+    }
+}
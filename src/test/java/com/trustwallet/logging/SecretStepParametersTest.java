@@ -0,0 +1,28 @@
+package com.trustwallet.logging;
+
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.StepResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests that {@link SecretStepParameters} masks secret step parameters and leaves the others alone.
+ */
+public class SecretStepParametersTest {
+
+    @Test
+    public void masksSecretParameters() {
+        StepResult step = new StepResult().setName("Enter PIN").setParameters(Arrays.asList(
+                new Parameter().setName("pin").setValue("975310"),
+                new Parameter().setName("seedWords").setValue("[abandon, ability]"),
+                new Parameter().setName("target").setValue("PIN")));
+
+        new SecretStepParameters().beforeStepStart(step);
+
+        Assert.assertEquals(step.getParameters().get(0).getValue(), SecretStepParameters.MASK);
+        Assert.assertEquals(step.getParameters().get(1).getValue(), SecretStepParameters.MASK);
+        Assert.assertEquals(step.getParameters().get(2).getValue(), "PIN");
+    }
+}
@@ -0,0 +1,88 @@
+package com.trustwallet.logging;
+
+import com.trustwallet.driver.DriverFactory;
+import com.trustwallet.driver.DriverKey;
+import com.trustwallet.pages.BasePage;
+import com.trustwallet.pages.CreateWalletFlow;
+import com.trustwallet.pages.CreateWalletPage;
+import com.trustwallet.simulator.FakeAppiumServer;
+import com.trustwallet.simulator.LatencyProfile;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tests that {@link TestLogs} collects the lines of one test through the asynchronous loggers.
+ */
+public class TestLogsTest {
+    private static final Logger log = LoggerFactory.getLogger(TestLogsTest.class);
+
+    @Test
+    public void loggersAreAsynchronous() {
+        Assert.assertTrue(LogManager.getContext(false) instanceof AsyncLoggerContext);
+    }
+
+    @Test
+    public void collectsOnlyTheLinesOfTheRunningTest() throws Exception {
+        log.info("Before the test");
+        TestLogs.start("TestLogsTest.failing", "emulator-5554");
+        log.info("Tapping on element: next_button");
+        Thread other = new Thread(() -> log.info("Line of another thread"));
+        other.start();
+        other.join();
+        log.info("Entering 6 character(s) in element: pin_input");
+
+        List<String> lines = TestLogs.finish(true, Duration.ofSeconds(5));
+
+        Assert.assertEquals(lines.size(), 2, lines.toString());
+        Assert.assertTrue(lines.get(0).contains("Tapping on element: next_button"));
+        Assert.assertTrue(lines.get(1).contains("pin_input"));
+    }
+
+    @Test
+    public void discardsLinesOfPassingTests() {
+        TestLogs.start("TestLogsTest.passing", "emulator-5554");
+        log.info("Passing test line");
+
+        Assert.assertTrue(TestLogs.finish(false, Duration.ofSeconds(5)).isEmpty());
+        Assert.assertTrue(TestLogs.finish(true, Duration.ofSeconds(5)).isEmpty(), "Context must be cleared");
+    }
+
+    @Test
+    public void neverLogsTheEnteredPin() throws Exception {
+        String pin = "975310";
+        FakeAppiumServer server = new FakeAppiumServer(LatencyProfile.none(), Duration.ZERO);
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        AppiumDriver<MobileElement> driver = DriverFactory.android().create(new DriverKey(server.getUrl(), capabilities));
+        // Typed text was logged at debug level, which the default configuration filters out
+        Level level = LogManager.getLogger(BasePage.class).getLevel();
+        Configurator.setLevel(BasePage.class.getName(), Level.DEBUG);
+        try {
+            CreateWalletPage page = new CreateWalletPage(driver);
+            new CreateWalletFlow(() -> page).navigator().navigateTo(CreateWalletPage.Screen.PIN);
+
+            TestLogs.start("TestLogsTest.pin", "emulator-5554");
+            page.enterPin(pin);
+            List<String> lines = TestLogs.finish(true, Duration.ofSeconds(5));
+
+            Assert.assertTrue(lines.stream().anyMatch(line -> line.contains("Entering 6 character(s)")), lines.toString());
+            Assert.assertTrue(lines.stream().noneMatch(line -> line.contains(pin)), lines.toString());
+        } finally {
+            Configurator.setLevel(BasePage.class.getName(), level);
+            driver.quit();
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.trustwallet.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link LatencyHistogram} bucketing and percentiles.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketUpperBoundsContainTheirValues() {
+        for (long micros = 0; micros < 1_000_000; micros += 7) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            Assert.assertTrue(LatencyHistogram.upperBoundOf(bucket) >= micros, "Upper bound below " + micros);
+            Assert.assertTrue(LatencyHistogram.upperBoundOf(bucket) <= micros * 1.125 + 1, "Bucket too wide at " + micros);
+        }
+    }
+
+    @Test
+    public void percentilesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getMaxMicros(), 100_000);
+        assertNear(histogram.getPercentileMicros(50), 50_000);
+        assertNear(histogram.getPercentileMicros(95), 95_000);
+        assertNear(histogram.getPercentileMicros(99), 99_000);
+        Assert.assertEquals(histogram.getPercentileMicros(100), 100_000);
+    }
+
+    private static void assertNear(long actual, long expected) {
+        Assert.assertTrue(actual >= expected && actual <= expected * 1.125,
+                String.format("Expected about %d but was %d", expected, actual));
+    }
+}
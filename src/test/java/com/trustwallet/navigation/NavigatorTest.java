@@ -0,0 +1,145 @@
+package com.trustwallet.navigation;
+
+import com.trustwallet.driver.DriverFactory;
+import com.trustwallet.driver.DriverKey;
+import com.trustwallet.pages.CreateWalletFlow;
+import com.trustwallet.pages.CreateWalletPage;
+import com.trustwallet.pages.CreateWalletPage.Screen;
+import com.trustwallet.simulator.FakeAppiumServer;
+import com.trustwallet.simulator.LatencyProfile;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests route planning on a {@link ScreenGraph} and {@link Navigator} driving the Create Wallet flow.
+ */
+public class NavigatorTest {
+
+    @Test
+    public void choosesTheCheapestRouteByMeasuredCost() {
+        ScreenGraph<String> graph = new ScreenGraph<>();
+        graph.addTransition("home", "list", "open list", Duration.ofSeconds(1), () -> true);
+        graph.addTransition("list", "detail", "open item", Duration.ofSeconds(1), () -> true);
+        Transition<String> link = graph.addShortcut("detail", "deep link", Duration.ofSeconds(5), () -> true);
+        TransitionCosts costs = new TransitionCosts();
+
+        Assert.assertEquals(names(graph.shortestPath("home", "detail", costs::nanos, Collections.emptySet())),
+                List.of("open list", "open item"));
+
+        costs.record(link, Duration.ofMillis(200));
+        Assert.assertEquals(names(graph.shortestPath("home", "detail", costs::nanos, Collections.emptySet())),
+                List.of("deep link"));
+        Assert.assertTrue(graph.shortestPath("detail", "detail", costs::nanos, Collections.emptySet()).isEmpty());
+        Assert.assertNull(graph.shortestPath("detail", "home", costs::nanos, Collections.emptySet()));
+    }
+
+    @Test
+    public void plansAgainWhenAShortcutIsUnavailable() {
+        FakeApp app = new FakeApp("home");
+        ScreenGraph<String> graph = new ScreenGraph<>();
+        graph.addTransition("home", "list", "open list", Duration.ofSeconds(1), app.goTo("list"));
+        graph.addTransition("list", "detail", "open item", Duration.ofSeconds(1), app.goTo("detail"));
+        graph.addShortcut("detail", "restore", Duration.ofMillis(100), () -> false);
+
+        List<Transition<String>> route = app.navigator(graph).navigateTo("detail");
+
+        Assert.assertEquals(names(route), List.of("open list", "open item"));
+        Assert.assertEquals(app.screen, "detail");
+    }
+
+    @Test
+    public void plansAgainFromWhereAStepLanded() {
+        FakeApp app = new FakeApp("home");
+        ScreenGraph<String> graph = new ScreenGraph<>();
+        // The fast route drops the app on an error screen
+        graph.addTransition("home", "detail", "open item", Duration.ofSeconds(1), app.goTo("error"));
+        graph.addTransition("error", "home", "dismiss", Duration.ofSeconds(1), app.goTo("home"));
+        graph.addTransition("home", "list", "open list", Duration.ofSeconds(2), app.goTo("list"));
+        graph.addTransition("list", "detail", "open list item", Duration.ofSeconds(2), app.goTo("detail"));
+        TransitionCosts costs = new TransitionCosts();
+
+        List<Transition<String>> route = new Navigator<>(graph, app, costs, Duration.ZERO).navigateTo("detail");
+
+        Assert.assertEquals(names(route), List.of("dismiss", "open list", "open list item"));
+        Assert.assertEquals(app.visited, List.of("error", "home", "list", "detail"));
+        Assert.assertNull(costs.getMeasured("open item"), "A failed step must not be measured");
+        Assert.assertNotNull(costs.getMeasured("open list item"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "No route .*")
+    public void failsWhenTheTargetCannotBeReached() {
+        FakeApp app = new FakeApp("home");
+        ScreenGraph<String> graph = new ScreenGraph<>();
+        graph.addTransition("home", "detail", "open item", Duration.ofSeconds(1), () -> {
+            throw new IllegalStateException("Item is gone");
+        });
+
+        app.navigator(graph).navigateTo("detail");
+    }
+
+    @Test
+    public void drivesTheCreateWalletFlowToPinConfirmation() throws Exception {
+        FakeAppiumServer server = new FakeAppiumServer(LatencyProfile.none(), Duration.ZERO);
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        AppiumDriver<MobileElement> driver = DriverFactory.android().create(new DriverKey(server.getUrl(), capabilities));
+        try {
+            CreateWalletPage page = new CreateWalletPage(driver);
+            CreateWalletFlow flow = new CreateWalletFlow(() -> page);
+
+            List<Transition<Screen>> route = flow.navigator().navigateTo(Screen.PIN_CONFIRM);
+
+            Assert.assertEquals(route.stream().map(Transition::getTo).collect(Collectors.toList()),
+                    List.of(Screen.BACKUP, Screen.SEED_REVEALED, Screen.CONFIRM, Screen.PIN, Screen.PIN_CONFIRM));
+            Assert.assertEquals(flow.getSeedWords().size(), 12);
+
+            page.enterPin("000000").clickContinue();
+            Assert.assertTrue(page.getErrorMessage().contains("match"), "Second PIN was not checked");
+        } finally {
+            driver.quit();
+            server.close();
+        }
+    }
+
+    private static List<String> names(List<Transition<String>> route) {
+        return route.stream().map(Transition::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * App that is always on one known screen and moves instantly.
+     */
+    private static final class FakeApp implements ScreenLocator<String> {
+        final List<String> visited = new ArrayList<>();
+        String screen;
+
+        FakeApp(String screen) {
+            this.screen = screen;
+        }
+
+        Transition.Action goTo(String next) {
+            return () -> {
+                screen = next;
+                visited.add(next);
+                return true;
+            };
+        }
+
+        Navigator<String> navigator(ScreenGraph<String> graph) {
+            return new Navigator<>(graph, this, new TransitionCosts(), Duration.ZERO);
+        }
+
+        @Override
+        public String await(String expected, Duration window) {
+            return screen;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.trustwallet.simulator;
+
+import com.trustwallet.driver.DriverFactory;
+import com.trustwallet.driver.DriverKey;
+import com.trustwallet.utils.ElementUtils;
+import com.trustwallet.utils.Presence;
+import com.trustwallet.utils.UiSnapshot;
+import com.trustwallet.utils.WaitUtils;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileBy;
+import io.appium.java_client.MobileElement;
+import io.appium.java_client.clipboard.HasClipboard;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link FakeAppiumServer}, driving the create-wallet model through the real Appium client.
+ */
+public class FakeAppiumServerTest {
+    private static final String ID = "com.wallet.crypto.trustapp:id/";
+
+    private FakeAppiumServer server;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        server = new FakeAppiumServer(LatencyProfile.none(), Duration.ofMillis(100));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        server.close();
+        UiSnapshot.invalidate();
+    }
+
+    @Test
+    public void createsWalletOverTheProtocol() {
+        AppiumDriver<MobileElement> driver = newDriver();
+        try {
+            ElementUtils elementUtils = new ElementUtils(driver);
+            Presence presence = new Presence(driver);
+
+            MobileElement next = new WaitUtils(driver).waitForElementToBeClickable(By.id(ID + "next_button"));
+            next.click();
+            Assert.assertTrue(presence.staysAbsentFor(By.id(ID + "reveal_phrase_button"), Duration.ofMillis(300)),
+                    "Next must not work before the terms are accepted");
+
+            elementUtils.tap(By.id(ID + "terms_checkbox"));
+            next.click();
+            Assert.assertThrows(StaleElementReferenceException.class, next::click);
+
+            elementUtils.tap(By.id(ID + "reveal_phrase_button"));
+            List<String> words = UiSnapshot.capture(driver).textsById(ID + "seed_word");
+            CreateWalletModel model = (CreateWalletModel) server.getModel(driver.getSessionId().toString());
+            Assert.assertEquals(words, model.getSeedPhrase());
+
+            elementUtils.tap(By.id(ID + "copy_button"));
+            Assert.assertEquals(((HasClipboard) driver).getClipboardText(), String.join(" ", words));
+            elementUtils.tap(By.id(ID + "next_button"));
+
+            for (String word : words) {
+                elementUtils.tap(MobileBy.AndroidUIAutomator(
+                        "new UiSelector().resourceId(\"" + ID + "word_option\").text(\"" + word + "\")"));
+            }
+            elementUtils.tap(By.id(ID + "continue_button"));
+
+            elementUtils.enterText(By.id(ID + "pin_input"), "123456");
+            elementUtils.tap(By.id(ID + "continue_button"));
+            elementUtils.enterText(By.id(ID + "pin_input"), "123456");
+            elementUtils.tap(By.id(ID + "continue_button"));
+
+            Assert.assertTrue(presence.appearsWithin(By.id(ID + "welcome_banner"), Duration.ofSeconds(2)));
+        } finally {
+            driver.quit();
+        }
+        Assert.assertEquals(server.getSessionCount(), 0);
+    }
+
+    @Test
+    public void injectsLatencyAndFailures() {
+        AppiumDriver<MobileElement> driver = newDriver();
+        try {
+            server.setProfile(new LatencyProfile(Duration.ZERO, Duration.ZERO, 0,
+                    Collections.singletonMap("getPageSource", Duration.ofMillis(150))));
+            long start = System.nanoTime();
+            driver.getPageSource();
+            Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+
+            server.setProfile(new LatencyProfile(Duration.ZERO, Duration.ZERO, 1, Collections.emptyMap()));
+            Assert.assertThrows(WebDriverException.class, driver::getPageSource);
+            Assert.assertEquals(server.getFailureCount(), 1);
+        } finally {
+            server.setProfile(LatencyProfile.none());
+            driver.quit();
+        }
+    }
+
+    @Test
+    public void servesManyConcurrentSessions() throws Exception {
+        server.setProfile(new LatencyProfile(Duration.ofMillis(5), Duration.ofMillis(10), 0, Collections.emptyMap()));
+        int sessions = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(25);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                results.add(pool.submit(() -> {
+                    AppiumDriver<MobileElement> driver = newDriver();
+                    try {
+                        new WaitUtils(driver).waitForElementToBeClickable(By.id(ID + "terms_checkbox")).click();
+                        return "true".equals(driver.findElement(By.id(ID + "terms_checkbox")).getAttribute("checked"));
+                    } finally {
+                        driver.quit();
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        Assert.assertEquals(server.getSessionCount(), 0);
+    }
+
+    private AppiumDriver<MobileElement> newDriver() {
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appPackage", "com.wallet.crypto.trustapp");
+        return DriverFactory.android().create(new DriverKey(server.getUrl(), capabilities));
+    }
+}
@@ -1,14 +1,31 @@
 package com.trustwallet.tests;
 
+import com.trustwallet.device.AppResetter;
+import com.trustwallet.device.AppiumDeviceShell;
+import com.trustwallet.device.CheckpointStore;
+import com.trustwallet.device.Device;
+import com.trustwallet.device.DeviceRegistry;
+import com.trustwallet.device.EmulatorConsole;
+import com.trustwallet.device.InstallCache;
+import com.trustwallet.driver.DriverKey;
+import com.trustwallet.driver.DriverLease;
+import com.trustwallet.driver.DriverPool;
+import com.trustwallet.driver.FlightRecorder;
+import com.trustwallet.driver.TestContext;
+import com.trustwallet.logging.TestLogs;
+import com.trustwallet.metrics.LatencyMetrics;
+import com.trustwallet.pages.CreateWalletPage;
+import com.trustwallet.simulator.FakeAppiumServer;
 import com.trustwallet.utils.ConfigManager;
+import com.trustwallet.utils.ScreenshotStore;
 import com.trustwallet.utils.ScreenshotUtils;
+import com.trustwallet.utils.ScreenshotWriter;
+import com.trustwallet.utils.WaitStats;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileElement;
-import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.remote.AndroidMobileCapabilityType;
 import io.appium.java_client.remote.MobileCapabilityType;
 import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,95 +33,296 @@ import org.testng.ITestResult;
 import org.testng.annotations.*;
 
 import java.io.File;
+import java.lang.reflect.Method;
 import java.net.URL;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Base class for all test classes.
  * Handles driver setup, configuration loading, and test lifecycle.
+ * Each test method leases its own session from the shared {@link DriverPool} and owns it through a
+ * thread-confined {@link TestContext}, so methods can run in parallel without sharing mutable state.
  */
 public class BaseTest {
     protected static final Logger log = LoggerFactory.getLogger(BaseTest.class);
-    protected AppiumDriver<MobileElement> driver;
+    // Computed once per run: the build is part of the session capabilities, which key the driver pool
+    private static final String RUN_BUILD_NAME = "Build " + System.currentTimeMillis();
     protected ConfigManager configManager;
-    protected ScreenshotUtils screenshotUtils;
 
     /**
      * Setup method that runs before each test class.
-     * Loads configuration and initializes the driver.
+     * Loads configuration.
      * 
      * @param environment test environment to use (dev, staging, prod)
-     * @throws Exception if driver initialization fails
      */
     @Parameters({ "environment" })
     @BeforeClass(alwaysRun = true)
-    public void setUp(@Optional("dev") String environment) throws Exception {
+    public void setUp(@Optional("dev") String environment) {
         log.info("Setting up test environment: {}", environment);
 
         // Load environment-specific configuration
         configManager = ConfigManager.getInstance();
         configManager.loadConfig(environment);
+        DriverPool.getInstance().setResetHook(BaseTest::resetApp);
 
-        // Initialize driver
-        initializeDriver();
+        log.info("Test setup complete");
+    }
 
-        // Initialize screenshot utility
-        screenshotUtils = new ScreenshotUtils(driver);
+    /**
+     * Setup method that runs before each test method.
+     * Leases a free healthy device and a driver for it, routes the thread's log to the device and test,
+     * and opens the test context of the current thread. Whether the session could be created is
+     * reported to the device's circuit breaker; when every device is quarantined the method fails at once.
+     * 
+     * @param method      test method about to run
+     * @param environment test environment to use (dev, staging, prod)
+     * @throws Exception if driver initialization fails
+     */
+    @Parameters({ "environment" })
+    @BeforeMethod(alwaysRun = true)
+    public void setUpDriver(Method method, @Optional("dev") String environment) throws Exception {
+        // Test methods may run on other threads than the class setup, so select the config per method
+        configManager.loadConfig(environment);
+        LatencyMetrics.startTest();
 
-        log.info("Test setup complete");
+        DeviceRegistry registry = DeviceRegistry.getInstance();
+        Device device = registry.acquire(configManager.getDurationProperty("device.acquire.timeout", Duration.ofMinutes(10)));
+        TestLogs.start(getClass().getSimpleName() + "." + method.getName(),
+                !device.getUdid().isEmpty() ? device.getUdid() : device.getName().isEmpty() ? "default" : device.getName());
+        try {
+            TestContext.open(environment, device, initializeDriver(device, false));
+            FlightRecorder.of(getDriver()).clear();
+            registry.getHealth().recordSuccess(device);
+        } catch (Exception e) {
+            registry.getHealth().recordFailure(device, e);
+            registry.release(device);
+            TestLogs.finish(false, Duration.ZERO);
+            throw e;
+        }
+        log.info("Driver ready for test on {} (thread {})", device, Thread.currentThread().getName());
+    }
+
+    /**
+     * Get the driver owned by the current test method.
+     * 
+     * @return AppiumDriver instance
+     */
+    protected AppiumDriver<MobileElement> getDriver() {
+        return TestContext.current().getDriver();
     }
 
     /**
-     * Initialize the Appium driver with capabilities from configuration.
+     * Get the screenshot utility of the current test method.
      * 
+     * @return ScreenshotUtils instance
+     */
+    protected ScreenshotUtils getScreenshotUtils() {
+        return TestContext.current().getScreenshotUtils();
+    }
+
+    /**
+     * Lease an Appium driver for a device, with capabilities from configuration.
+     * 
+     * @param device       device to drive
+     * @param keepAppState true to attach to the app as it is, e.g. after restoring a checkpoint
+     * @return lease of the driver
      * @throws Exception if driver initialization fails
      */
-    private void initializeDriver() throws Exception {
+    private DriverLease initializeDriver(Device device, boolean keepAppState) throws Exception {
         log.info("Initializing Appium driver");
 
         DesiredCapabilities capabilities = new DesiredCapabilities();
 
         // Set common capabilities
         capabilities.setCapability(MobileCapabilityType.PLATFORM_NAME, configManager.getProperty("device.platform"));
-        capabilities.setCapability(MobileCapabilityType.PLATFORM_VERSION, configManager.getProperty("device.version"));
-        capabilities.setCapability(MobileCapabilityType.DEVICE_NAME, configManager.getProperty("device.name"));
+        capabilities.setCapability(MobileCapabilityType.PLATFORM_VERSION, device.getPlatformVersion().isEmpty()
+                ? configManager.getProperty("device.version") : device.getPlatformVersion());
+        capabilities.setCapability(MobileCapabilityType.DEVICE_NAME, device.getName().isEmpty()
+                ? configManager.getProperty("device.name") : device.getName());
         capabilities.setCapability(MobileCapabilityType.AUTOMATION_NAME, "UiAutomator2");
         capabilities.setCapability(MobileCapabilityType.NEW_COMMAND_TIMEOUT, 180);
 
-        // Set application capabilities
-        String appPath = configManager.getProperty("app.path");
-        if (appPath != null && !appPath.isEmpty()) {
-            File app = new File(appPath);
-            if (app.exists()) {
-                capabilities.setCapability(MobileCapabilityType.APP, app.getAbsolutePath());
-            } else {
-                log.warn("App file not found at: {}", appPath);
-            }
+        // Pin the session to the leased device; each device gets its own UiAutomator2 port
+        if (!device.getUdid().isEmpty()) {
+            capabilities.setCapability(MobileCapabilityType.UDID, device.getUdid());
+        }
+        if (device.getSystemPort() > 0) {
+            capabilities.setCapability(AndroidMobileCapabilityType.SYSTEM_PORT, device.getSystemPort());
+        }
+
+        // Set application capabilities; the APK is only handed to Appium if the install cache could not install it
+        String testMode = configManager.getProperty("test.mode");
+        String appPackage = configManager.getProperty("app.package");
+        File app = appFile();
+        if (app != null && !isInstalledFromCache(device, app, appPackage, testMode)) {
+            capabilities.setCapability(MobileCapabilityType.APP, app.getAbsolutePath());
         }
 
-        capabilities.setCapability(AndroidMobileCapabilityType.APP_PACKAGE, configManager.getProperty("app.package"));
+        capabilities.setCapability(AndroidMobileCapabilityType.APP_PACKAGE, appPackage);
         capabilities.setCapability(AndroidMobileCapabilityType.APP_ACTIVITY, configManager.getProperty("app.activity"));
 
         // Set test mode specific capabilities
-        String testMode = configManager.getProperty("test.mode");
         if ("browserstack".equals(testMode)) {
             setupBrowserStackCapabilities(capabilities);
         }
 
-        // Set reset strategy
-        capabilities.setCapability(MobileCapabilityType.NO_RESET, false);
-        capabilities.setCapability(MobileCapabilityType.FULL_RESET, true);
-
-        // Create driver instance
-        String appiumServerUrl = configManager.getProperty("appium.server.url");
-        log.info("Connecting to Appium server at: {}", appiumServerUrl);
-        driver = new AndroidDriver<>(new URL(appiumServerUrl), capabilities);
+        // New sessions clear the app data without reinstalling; reused ones are reset by resetApp
+        capabilities.setCapability(MobileCapabilityType.NO_RESET, keepAppState);
+        capabilities.setCapability(MobileCapabilityType.FULL_RESET, false);
+        if (keepAppState) {
+            capabilities.setCapability(AndroidMobileCapabilityType.DONT_STOP_APP_ON_RESET, true);
+            capabilities.setCapability(AndroidMobileCapabilityType.AUTO_LAUNCH, false);
+        }
 
-        // Set implicit wait
-        int implicitWait = configManager.getIntProperty("implicit.wait");
-        driver.manage().timeouts().implicitlyWait(implicitWait, TimeUnit.SECONDS);
+        // Lease a warm driver from the pool, or create one if none is idle
+        URL appiumServerUrl = "simulator".equals(testMode)
+                ? FakeAppiumServer.getShared().getUrl()
+                : configManager.getUrlProperty("appium.server.url");
+        log.info("Leasing driver from Appium server at: {}", appiumServerUrl);
+        DriverLease driverLease = DriverPool.getInstance().lease(new DriverKey(appiumServerUrl, capabilities));
 
+        // No implicit wait: lookups that may run before their element appears wait explicitly
+        // through AdaptiveWait or Presence
         log.info("Driver initialized successfully");
+        return driverLease;
+    }
+
+    /**
+     * Save the emulator state of the running test as a named checkpoint, with the seed words of its wallet.
+     * Does nothing unless checkpoints are enabled and the test runs on a local emulator.
+     * 
+     * @param name      checkpoint name, e.g. seed-revealed
+     * @param seedWords seed words of the wallet in this state
+     */
+    protected void saveCheckpoint(String name, List<String> seedWords) {
+        Device device = TestContext.current().getDevice();
+        CheckpointStore store = checkpointStore(device);
+        if (store == null) {
+            return;
+        }
+        try (EmulatorConsole console = openConsole(device)) {
+            store.save(console, device, name, seedWords);
+        } catch (RuntimeException e) {
+            log.warn("Failed to save checkpoint {} on {}", name, device, e);
+        }
+    }
+
+    /**
+     * Restore a named checkpoint on the running test's emulator. The session cannot survive the snapshot,
+     * so it is replaced by a new one attached to the restored app; page objects must be created again.
+     * 
+     * @param name checkpoint name
+     * @return seed words saved with the checkpoint, null if no checkpoint of this build exists
+     * @throws Exception if the new session cannot be created
+     */
+    protected List<String> restoreCheckpoint(String name) throws Exception {
+        TestContext context = TestContext.current();
+        Device device = context.getDevice();
+        CheckpointStore store = checkpointStore(device);
+        if (store == null) {
+            return null;
+        }
+        List<String> seedWords = null;
+        boolean quit = false;
+        try (EmulatorConsole console = openConsole(device)) {
+            if (!store.exists(console, device, name)) {
+                return null;
+            }
+            // Quit first: quitting after the load would stop the restored app
+            context.getDriverLease().markBroken();
+            context.getDriverLease().close();
+            quit = true;
+            seedWords = store.restore(console, device, name);
+        } catch (RuntimeException e) {
+            log.warn("Failed to restore checkpoint {} on {}", name, device, e);
+        }
+        if (!quit) {
+            return null;
+        }
+        DriverLease lease = initializeDriver(device, seedWords != null);
+        if (seedWords != null) {
+            // A session attached to restored state must not be pooled: reusing it would reset the app
+            lease.markBroken();
+        }
+        context.replaceDriverLease(lease);
+        return seedWords;
+    }
+
+    /**
+     * Get the checkpoint store for a device.
+     * 
+     * @param device device of the running test
+     * @return checkpoint store, null if checkpoints are disabled or not supported on the device
+     */
+    private CheckpointStore checkpointStore(Device device) {
+        File app = appFile();
+        if (!configManager.getBooleanProperty("checkpoint.enabled") || app == null
+                || !"local".equals(configManager.getProperty("test.mode")) || !EmulatorConsole.isEmulator(device)) {
+            return null;
+        }
+        return CheckpointStore.forApk(app.toPath());
+    }
+
+    private EmulatorConsole openConsole(Device device) {
+        return EmulatorConsole.forDevice(device, EmulatorConsole.defaultTokenFile(),
+                configManager.getDurationProperty("checkpoint.console.timeout", Duration.ofMinutes(2)));
+    }
+
+    /**
+     * Get the APK of the app under test.
+     * 
+     * @return APK file, null if none is configured or it does not exist
+     */
+    private static File appFile() {
+        String appPath = ConfigManager.getInstance().getProperty("app.path");
+        if (appPath == null || appPath.isEmpty()) {
+            return null;
+        }
+        File app = new File(appPath);
+        if (!app.exists()) {
+            log.warn("App file not found at: {}", appPath);
+            return null;
+        }
+        return app;
+    }
+
+    /**
+     * Install the APK on all registered devices that do not have this build yet, in parallel,
+     * and check whether the given device runs it. Only local devices reachable with adb are cached.
+     * 
+     * @param device     device about to be used
+     * @param app        APK of the app under test
+     * @param appPackage package name of the app
+     * @param testMode   configured test mode
+     * @return true if the device already runs the APK
+     */
+    private boolean isInstalledFromCache(Device device, File app, String appPackage, String testMode) {
+        if (!"local".equals(testMode) || !configManager.getBooleanProperty("install.cache.enabled")) {
+            return false;
+        }
+        return InstallCache.getInstance()
+                .ensureInstalled(DeviceRegistry.getInstance().getDevices(), app.toPath(), appPackage)
+                .contains(device);
+    }
+
+    /**
+     * Reset hook of the driver pool: bring the app of a reused session back to its start screen,
+     * starting at the configured tier and escalating up to a reinstall. Sessions that keep the app
+     * state, e.g. attached to a restored checkpoint, are left alone.
+     * 
+     * @param key    pool key of the session
+     * @param driver reused driver
+     */
+    private static void resetApp(DriverKey key, AppiumDriver<MobileElement> driver) {
+        Object appPackage = key.getCapabilities().get(AndroidMobileCapabilityType.APP_PACKAGE);
+        if (appPackage == null || Boolean.TRUE.equals(key.getCapabilities().get(MobileCapabilityType.NO_RESET))) {
+            return;
+        }
+        File app = appFile();
+        AppResetter.Tier first = AppResetter.Tier.parse(ConfigManager.getInstance().getProperty("reset.tier", "clear-data"));
+        new AppResetter(new AppiumDeviceShell(driver), appPackage.toString(), app == null ? null : app.getAbsolutePath(),
+                () -> new CreateWalletPage(driver).isPageLoaded()).reset(first);
     }
 
     /**
@@ -121,53 +339,96 @@ public class BaseTest {
         capabilities.setCapability("device", configManager.getProperty("browserstack.device"));
         capabilities.setCapability("os_version", configManager.getProperty("browserstack.os.version"));
         capabilities.setCapability("project", "Trust Wallet");
-        capabilities.setCapability("build", "Build " + System.currentTimeMillis());
+        String build = configManager.getProperty("browserstack.build", "").trim();
+        capabilities.setCapability("build", build.isEmpty() ? RUN_BUILD_NAME : build);
         capabilities.setCapability("name", "Wallet Creation Tests");
     }
 
     /**
      * Method that runs after each test method.
-     * Takes screenshot on test failure and attaches it to Allure report.
+     * On test failure, takes a screenshot, written to Allure report and the screenshot directory in the
+     * background, and attaches the session's flight recording. Then attaches the test's command latencies
+     * and returns the driver to the pool, which health-checks it before reuse. A transport failure of the
+     * test counts against its device's circuit breaker. The test's log lines are attached only when it failed.
      * 
      * @param result test result
      */
     @AfterMethod(alwaysRun = true)
     public void afterMethod(ITestResult result) {
-        if (result.getStatus() == ITestResult.FAILURE) {
-            log.error("Test failed: {}", result.getName());
-            captureScreenshot(result.getName());
+        if (!TestContext.isOpen()) {
+            TestLogs.finish(false, Duration.ZERO);
+            return;
+        }
+        boolean failed = result.getStatus() == ITestResult.FAILURE;
+        if (result.getStatus() != ITestResult.SUCCESS && result.getThrowable() != null) {
+            DeviceRegistry.getInstance().getHealth().recordFailure(TestContext.current().getDevice(),
+                    result.getThrowable());
+        }
+        try {
+            if (failed) {
+                log.error("Test failed: {}", result.getName());
+                getScreenshotUtils().captureScreenshotOnFailure(result.getName());
+                attachFlightRecording(result.getName());
+            }
+            attachCommandLatency(result.getName());
+        } finally {
+            TestContext.close();
+            log.info("Driver returned to pool");
+            List<String> lines = TestLogs.finish(failed, Duration.ofSeconds(5));
+            if (failed) {
+                attachTestLog(lines);
+            }
         }
     }
 
     /**
-     * Teardown method that runs after each test class.
-     * Quits the driver and releases resources.
+     * Teardown method that runs once after the suite.
+     * Quits all pooled sessions, waits for pending screenshots to be written, drops expired screenshots
+     * and logs the time spent waiting per call site.
      */
-    @AfterClass(alwaysRun = true)
-    public void tearDown() {
-        log.info("Tearing down test environment");
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        DriverPool.getInstance().shutdown();
+        ScreenshotWriter.getInstance().awaitIdle(Duration.ofSeconds(30));
+        ScreenshotStore.getInstances().forEach(ScreenshotStore::collectGarbage);
+        WaitStats.report().forEach(line -> log.info("Wait time by call site - {}", line));
+        LatencyMetrics.suite().report().forEach(line -> log.info("Latency - {}", line));
+    }
 
-        if (driver != null) {
-            driver.quit();
-            log.info("Driver quit successfully");
-        }
+    /**
+     * Attach the log lines of the failed test to Allure report.
+     * 
+     * @param lines formatted log lines
+     * @return test log
+     */
+    @Attachment(value = "Test log", type = "text/plain")
+    private String attachTestLog(List<String> lines) {
+        return String.join("", lines);
     }
 
     /**
-     * Capture screenshot and attach it to Allure report.
+     * Attach the last commands and page source changes of the failed test to Allure report.
      * 
      * @param testName name of the test
-     * @return screenshot as byte array
+     * @return flight recording
      */
-    @Attachment(value = "Screenshot", type = "image/png")
-    private byte[] captureScreenshot(String testName) {
-        log.info("Capturing screenshot for failed test: {}", testName);
+    @Attachment(value = "Flight recording", type = "text/plain")
+    private String attachFlightRecording(String testName) {
+        List<String> lines = FlightRecorder.of(getDriver()).dump();
+        log.info("Attaching flight recording of {} ({} lines)", testName, lines.size());
+        return String.join(System.lineSeparator(), lines);
+    }
 
-        try {
-            return driver.getScreenshotAs(OutputType.BYTES);
-        } catch (Exception e) {
-            log.error("Failed to capture screenshot", e);
-            return null;
-        }
+    /**
+     * Log the command, locator and step latencies of the finished test and attach them to Allure report.
+     * 
+     * @param testName name of the test
+     * @return latency report
+     */
+    @Attachment(value = "Command latency", type = "text/plain")
+    private String attachCommandLatency(String testName) {
+        List<String> lines = LatencyMetrics.currentTest().report();
+        lines.forEach(line -> log.debug("Latency of {} - {}", testName, line));
+        return String.join(System.lineSeparator(), lines);
     }
-}
\ No newline at end of file
+}
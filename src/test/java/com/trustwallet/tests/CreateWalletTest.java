@@ -1,6 +1,11 @@
 package com.trustwallet.tests;
 
+import com.trustwallet.driver.DriverLease;
+import com.trustwallet.driver.TestContext;
+import com.trustwallet.navigation.Transition;
+import com.trustwallet.pages.CreateWalletFlow;
 import com.trustwallet.pages.CreateWalletPage;
+import com.trustwallet.pages.CreateWalletPage.Screen;
 import io.qameta.allure.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,6 +13,7 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -17,17 +23,73 @@ import java.util.List;
 @Feature("Wallet Creation")
 public class CreateWalletTest extends BaseTest {
         private static final Logger log = LoggerFactory.getLogger(CreateWalletTest.class);
-        private CreateWalletPage createWalletPage;
+        private static final String SEED_REVEALED = "seed-revealed";
+        private static final String PIN_ENTRY = "pin-entry";
+        private static final Duration CHECKPOINT_RESTORE_ESTIMATE = Duration.ofSeconds(4);
 
         /**
          * Set up method that runs before each test method.
-         * Initializes the CreateWalletPage object.
+         * Initializes the CreateWalletPage object in the current test context.
          */
         @BeforeMethod
         public void setUpTest() {
                 log.info("Setting up Create Wallet test");
-                createWalletPage = new CreateWalletPage(driver);
-                Assert.assertTrue(createWalletPage.isPageLoaded(), "Create Wallet page is not loaded");
+                CreateWalletPage page = new CreateWalletPage();
+                TestContext.current().put(CreateWalletPage.class, page);
+                Assert.assertTrue(page.isPageLoaded(), "Create Wallet page is not loaded");
+        }
+
+        /**
+         * Get the CreateWalletPage of the current test method.
+         *
+         * @return CreateWalletPage instance
+         */
+        private CreateWalletPage createWalletPage() {
+                return TestContext.current().get(CreateWalletPage.class);
+        }
+
+        /**
+         * Navigate to a screen of the flow. Checkpoints are shortcuts of the route and the target
+         * is saved as a checkpoint when it was reached through the UI.
+         *
+         * @param target     screen to reach
+         * @param checkpoint checkpoint of the target screen
+         * @return flow with the seed words of the wallet
+         */
+        private CreateWalletFlow navigateTo(Screen target, String checkpoint) {
+                CreateWalletFlow flow = new CreateWalletFlow(this::createWalletPage);
+                flow.getGraph().addShortcut(Screen.SEED_REVEALED, "create-wallet: restore " + SEED_REVEALED,
+                                CHECKPOINT_RESTORE_ESTIMATE, () -> restore(flow, SEED_REVEALED));
+                flow.getGraph().addShortcut(Screen.PIN, "create-wallet: restore " + PIN_ENTRY,
+                                CHECKPOINT_RESTORE_ESTIMATE, () -> restore(flow, PIN_ENTRY));
+
+                List<Transition<Screen>> route = flow.navigator().navigateTo(target);
+                if (route.stream().noneMatch(Transition::isShortcut)) {
+                        saveCheckpoint(checkpoint, flow.getSeedWords());
+                }
+                return flow;
+        }
+
+        /**
+         * Restore a checkpoint and create the page object for the new session.
+         *
+         * @param flow       flow to hand the restored seed words to
+         * @param checkpoint checkpoint name
+         * @return true if the checkpoint was restored
+         * @throws Exception if the session cannot be replaced
+         */
+        private boolean restore(CreateWalletFlow flow, String checkpoint) throws Exception {
+                DriverLease lease = TestContext.current().getDriverLease();
+                List<String> seedWords = restoreCheckpoint(checkpoint);
+                if (TestContext.current().getDriverLease() != lease) {
+                        // A new session replaced the one the page was bound to
+                        TestContext.current().put(CreateWalletPage.class, new CreateWalletPage());
+                }
+                if (seedWords == null) {
+                        return false;
+                }
+                flow.restored(seedWords);
+                return true;
         }
 
         /**
@@ -41,31 +103,31 @@ public class CreateWalletTest extends BaseTest {
                 log.info("Starting wallet creation happy path test");
 
                 // Accept terms and continue
-                createWalletPage.acceptTerms()
+                createWalletPage().acceptTerms()
                                 .clickNext();
 
                 // Reveal and copy seed phrase
-                createWalletPage.revealSeedPhrase();
-                List<String> seedWords = createWalletPage.getSeedPhraseWords();
+                createWalletPage().revealSeedPhrase();
+                List<String> seedWords = createWalletPage().getSeedPhraseWords();
                 Assert.assertEquals(seedWords.size(), 12, "Seed phrase should contain 12 words");
 
-                createWalletPage.copySeedPhrase()
+                createWalletPage().copySeedPhrase()
                                 .clickNext();
 
                 // Confirm seed phrase
-                createWalletPage.confirmSeedPhrase(seedWords)
+                createWalletPage().confirmSeedPhrase(seedWords)
                                 .clickContinue();
 
                 // Set PIN
-                createWalletPage.enterPin("123456")
+                createWalletPage().enterPin("123456")
                                 .clickContinue();
 
                 // Confirm PIN
-                createWalletPage.enterPin("123456")
+                createWalletPage().enterPin("123456")
                                 .clickContinue();
 
                 // Verify wallet creation success
-                Assert.assertTrue(createWalletPage.isWalletCreationSuccessful(),
+                Assert.assertTrue(createWalletPage().isWalletCreationSuccessful(),
                                 "Wallet creation was not successful");
 
                 log.info("Wallet creation happy path test completed successfully");
@@ -82,19 +144,21 @@ public class CreateWalletTest extends BaseTest {
                 log.info("Starting Terms and Conditions requirement test");
 
                 // Try to proceed without accepting terms
-                createWalletPage.clickNext();
+                createWalletPage().clickNext();
 
-                // Verify we're still on the same page
-                Assert.assertTrue(createWalletPage.isPageLoaded(),
+                // Verify we're still on the same page; the next screen only gets a short window to show up
+                Assert.assertFalse(createWalletPage().hasAdvancedToSeedPhrase(Duration.ofSeconds(2)),
+                                "User was able to proceed without accepting Terms and Conditions");
+                Assert.assertTrue(createWalletPage().isPageLoaded(),
                                 "User was able to proceed without accepting Terms and Conditions");
 
                 // Now accept terms and verify we can proceed
-                createWalletPage.acceptTerms()
+                createWalletPage().acceptTerms()
                                 .clickNext();
 
                 // Verify we've moved to the seed phrase screen
-                createWalletPage.revealSeedPhrase();
-                Assert.assertTrue(createWalletPage.getSeedPhraseWords().size() > 0,
+                createWalletPage().revealSeedPhrase();
+                Assert.assertTrue(createWalletPage().getSeedPhraseWords().size() > 0,
                                 "Failed to proceed to seed phrase screen after accepting terms");
 
                 log.info("Terms and Conditions requirement test completed successfully");
@@ -110,24 +174,19 @@ public class CreateWalletTest extends BaseTest {
         public void testInvalidSeedPhraseConfirmation() {
                 log.info("Starting invalid seed phrase confirmation test");
 
-                // Accept terms and continue to seed phrase
-                createWalletPage.acceptTerms()
-                                .clickNext();
-
-                // Reveal seed phrase
-                createWalletPage.revealSeedPhrase();
-                List<String> seedWords = createWalletPage.getSeedPhraseWords();
+                // Start from the revealed seed phrase
+                List<String> seedWords = navigateTo(Screen.SEED_REVEALED, SEED_REVEALED).getSeedWords();
 
                 // Continue to confirmation
-                createWalletPage.clickNext();
+                createWalletPage().clickNext();
 
                 // Deliberately use incorrect order for confirmation (reverse the list)
                 List<String> reversedWords = seedWords.reversed();
-                createWalletPage.confirmSeedPhrase(reversedWords)
+                createWalletPage().confirmSeedPhrase(reversedWords)
                                 .clickContinue();
 
                 // Verify error message is displayed
-                String errorMessage = createWalletPage.getErrorMessage();
+                String errorMessage = createWalletPage().getErrorMessage();
                 Assert.assertTrue(errorMessage.contains("incorrect"),
                                 "Expected error message for incorrect seed phrase confirmation");
 
@@ -144,28 +203,19 @@ public class CreateWalletTest extends BaseTest {
         public void testPinMismatch() {
                 log.info("Starting PIN mismatch test");
 
-                // Complete steps up to PIN entry
-                createWalletPage.acceptTerms()
-                                .clickNext();
-
-                createWalletPage.revealSeedPhrase();
-                List<String> seedWords = createWalletPage.getSeedPhraseWords();
-
-                createWalletPage.clickNext();
-
-                createWalletPage.confirmSeedPhrase(seedWords)
-                                .clickContinue();
+                // Get to PIN entry by the cheapest route
+                navigateTo(Screen.PIN, PIN_ENTRY);
 
                 // Enter initial PIN
-                createWalletPage.enterPin("123456")
+                createWalletPage().enterPin("123456")
                                 .clickContinue();
 
                 // Enter different PIN for confirmation
-                createWalletPage.enterPin("654321")
+                createWalletPage().enterPin("654321")
                                 .clickContinue();
 
                 // Verify error message is displayed
-                String errorMessage = createWalletPage.getErrorMessage();
+                String errorMessage = createWalletPage().getErrorMessage();
                 Assert.assertTrue(errorMessage.contains("match"),
                                 "Expected error message for PIN mismatch");
 
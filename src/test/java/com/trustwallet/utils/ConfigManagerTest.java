@@ -0,0 +1,50 @@
+package com.trustwallet.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Tests that {@link ConfigManager} applies environment variables and system properties over file values.
+ */
+public class ConfigManagerTest {
+
+    @Test
+    public void systemPropertiesAddKeysUnderKnownNamespaces() {
+        Map<String, String> values = new HashMap<>();
+        values.put("devices", "");
+        values.put("appium.server.url", "http://localhost:4723/wd/hub");
+        Properties system = new Properties();
+        system.setProperty("devices", "emulator-5554");
+        system.setProperty("devices.emulator-5554.name", "Pixel 4");
+        system.setProperty("devices.emulator-5554.system.port", "8300");
+        system.setProperty("java.version", "21");
+
+        Map<String, String> result = ConfigManager.applyOverlays(values, Collections.emptyMap(), system);
+
+        Assert.assertEquals(result.get("devices"), "emulator-5554");
+        Assert.assertEquals(result.get("devices.emulator-5554.name"), "Pixel 4");
+        Assert.assertEquals(result.get("devices.emulator-5554.system.port"), "8300");
+        Assert.assertFalse(result.containsKey("java.version"), "Unrelated system properties stay out");
+        Assert.assertEquals(values.get("devices"), "", "The file values are not modified");
+    }
+
+    @Test
+    public void systemPropertiesOverrideEnvironmentVariables() {
+        Map<String, String> values = Collections.singletonMap("appium.server.url", "http://localhost:4723/wd/hub");
+        Properties system = new Properties();
+
+        Map<String, String> fromEnv = ConfigManager.applyOverlays(values,
+                Collections.singletonMap("APPIUM_SERVER_URL", "http://ci:4723/wd/hub"), system);
+        Assert.assertEquals(fromEnv.get("appium.server.url"), "http://ci:4723/wd/hub");
+
+        system.setProperty("appium.server.url", "http://grid:4723/wd/hub");
+        Map<String, String> fromBoth = ConfigManager.applyOverlays(values,
+                Collections.singletonMap("APPIUM_SERVER_URL", "http://ci:4723/wd/hub"), system);
+        Assert.assertEquals(fromBoth.get("appium.server.url"), "http://grid:4723/wd/hub");
+    }
+}
@@ -0,0 +1,105 @@
+package com.trustwallet.utils;
+
+import com.trustwallet.driver.DriverFactory;
+import com.trustwallet.driver.DriverKey;
+import com.trustwallet.driver.FlightRecorder;
+import com.trustwallet.simulator.FakeAppiumServer;
+import com.trustwallet.simulator.LatencyProfile;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Tests that {@link Gestures} sends one W3C actions request per gesture and reuses the cached viewport.
+ */
+public class GesturesTest {
+    private static final By TERMS_CHECKBOX = By.id("com.wallet.crypto.trustapp:id/terms_checkbox");
+
+    private FakeAppiumServer server;
+    private AppiumDriver<MobileElement> driver;
+    private FlightRecorder recorder;
+    private Gestures gestures;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        server = new FakeAppiumServer(LatencyProfile.none(), Duration.ZERO);
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        driver = DriverFactory.android().create(new DriverKey(server.getUrl(), capabilities));
+        recorder = FlightRecorder.of(driver);
+        gestures = new Gestures(driver);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        driver.quit();
+        server.close();
+    }
+
+    @Test
+    public void tapsThroughPointerActions() {
+        Point center = Gestures.center(driver.findElement(TERMS_CHECKBOX));
+        gestures.tap(center);
+
+        Assert.assertEquals(driver.findElement(TERMS_CHECKBOX).getAttribute("checked"), "true");
+    }
+
+    @Test
+    public void sendsOneRequestPerGestureAndCachesViewport() {
+        recorder.clear();
+        gestures.swipe(Gestures.Direction.UP);
+        gestures.swipe(Gestures.Direction.LEFT);
+        gestures.fling(Gestures.Direction.UP, 5);
+        gestures.pinch(new Point(540, 1170), 200, 800);
+
+        Assert.assertEquals(count("actions"), 4, String.join("\n", recorder.dump()));
+        Assert.assertEquals(count("getCurrentWindowSize"), 1, String.join("\n", recorder.dump()));
+    }
+
+    @Test
+    public void rotationDropsCachedViewport() {
+        Dimension portrait = Viewport.of(driver);
+        ((AndroidDriver<MobileElement>) driver).rotate(ScreenOrientation.LANDSCAPE);
+        Dimension landscape = Viewport.of(driver);
+
+        Assert.assertEquals(landscape.getWidth(), portrait.getHeight());
+        Assert.assertEquals(landscape.getHeight(), portrait.getWidth());
+    }
+
+    @Test
+    public void rotationByTheDeviceGetsItsOwnViewport() throws Exception {
+        Dimension portrait = Viewport.of(driver);
+        // Rotate behind the framework's back, as the device would on its own
+        HttpURLConnection rotate = (HttpURLConnection) new URL(server.getUrl() + "/session/" + driver.getSessionId()
+                + "/orientation").openConnection();
+        rotate.setRequestMethod("POST");
+        rotate.setDoOutput(true);
+        rotate.setRequestProperty("Content-Type", "application/json");
+        rotate.getOutputStream().write("{\"orientation\":\"LANDSCAPE\"}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(rotate.getResponseCode(), 200);
+
+        Dimension landscape = Viewport.of(driver);
+
+        Assert.assertEquals(landscape.getWidth(), portrait.getHeight());
+        Assert.assertEquals(landscape.getHeight(), portrait.getWidth());
+    }
+
+    private long count(String command) {
+        return recorder.dump().stream().filter(line -> line.startsWith("#") && line.contains("ms " + command + " "))
+                .count();
+    }
+}
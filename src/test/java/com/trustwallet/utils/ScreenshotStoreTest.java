@@ -0,0 +1,114 @@
+package com.trustwallet.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+/**
+ * Tests for {@link ScreenshotStore} deduplication, manifests and garbage collection.
+ */
+public class ScreenshotStoreTest {
+
+    @Test
+    public void storesNearIdenticalScreensOnce() throws Exception {
+        Path root = Files.createTempDirectory("screenshots");
+        ScreenshotStore store = new ScreenshotStore(root, 3, Duration.ofDays(1));
+
+        Path first = store.put("testA", "dev", screen(Color.BLUE, 0));
+        Path sameAgain = store.put("testB", "staging", screen(Color.BLUE, 0));
+        Path clockChanged = store.put("testA", "dev", screen(Color.BLUE, 1));
+        Path otherScreen = store.put("testC", "dev", screen(Color.ORANGE, 0));
+
+        Assert.assertEquals(sameAgain, first);
+        Assert.assertEquals(clockChanged, first);
+        Assert.assertNotEquals(otherScreen, first);
+        Assert.assertEquals(blobCount(root), 2);
+        Assert.assertEquals(Files.readAllLines(store.manifestPath("testA")).size(), 2);
+    }
+
+    @Test
+    public void exactModeKeepsEveryDistinctImage() throws Exception {
+        Path root = Files.createTempDirectory("screenshots");
+        ScreenshotStore store = new ScreenshotStore(root, -1, Duration.ofDays(1));
+
+        store.put("testA", "dev", screen(Color.BLUE, 0));
+        store.put("testA", "dev", screen(Color.BLUE, 0));
+        store.put("testA", "dev", screen(Color.BLUE, 1));
+
+        Assert.assertEquals(blobCount(root), 2);
+    }
+
+    @Test
+    public void collectsBlobsOfExpiredManifests() throws Exception {
+        Path root = Files.createTempDirectory("screenshots");
+        ScreenshotStore store = new ScreenshotStore(root, 3, Duration.ofDays(1));
+        Path kept = store.put("recent", "dev", screen(Color.BLUE, 0));
+        Path expired = store.put("old", "dev", screen(Color.ORANGE, 0));
+        Files.write(store.manifestPath("old"), Collections.singletonList(
+                Instant.now().minus(Duration.ofDays(2)) + "\tblobs/" + expired.getFileName() + "\tdev"),
+                StandardCharsets.UTF_8);
+
+        Assert.assertEquals(store.collectGarbage(), 1);
+        Assert.assertTrue(Files.exists(kept));
+        Assert.assertFalse(Files.exists(expired));
+        Assert.assertFalse(Files.exists(store.manifestPath("old")));
+
+        // A new store instance reads the rewritten index and still deduplicates against the kept blob
+        Assert.assertEquals(new ScreenshotStore(root, 3, Duration.ofDays(1)).put("next", "dev", screen(Color.BLUE, 0)), kept);
+    }
+
+    @Test
+    public void keepsOneSharedStorePerScreenshotPath() throws Exception {
+        Path root = Files.createTempDirectory("screenshots");
+        ConfigSnapshot dev = new ConfigSnapshot("dev",
+                Collections.singletonMap("screenshot.path", root.resolve("dev").toString()));
+        ConfigSnapshot staging = new ConfigSnapshot("staging",
+                Collections.singletonMap("screenshot.path", root.resolve("staging").toString()));
+
+        ScreenshotStore stagingStore = ScreenshotStore.forConfig(staging);
+        stagingStore.put("failingTest", "staging", screen(Color.BLUE, 0));
+
+        Assert.assertNotSame(ScreenshotStore.forConfig(dev), stagingStore);
+        Assert.assertSame(ScreenshotStore.forConfig(staging), stagingStore);
+        Assert.assertTrue(ScreenshotStore.getInstances().contains(stagingStore));
+        Assert.assertTrue(Files.exists(root.resolve("staging").resolve("manifests").resolve("failingTest.manifest")));
+        Assert.assertFalse(Files.exists(root.resolve("dev")));
+    }
+
+    private static long blobCount(Path root) throws Exception {
+        try (Stream<Path> files = Files.list(root.resolve("blobs"))) {
+            return files.filter(p -> p.toString().endsWith(".png")).count();
+        }
+    }
+
+    /**
+     * Render a screen with a header, a content block and a status bar clock that changes with the minute.
+     */
+    private static byte[] screen(Color accent, int minute) throws Exception {
+        BufferedImage image = new BufferedImage(270, 585, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 270, 585);
+        graphics.setColor(accent);
+        graphics.fillRect(0, 40, 270, 120);
+        graphics.fillRect(accent == Color.BLUE ? 20 : 150, 250, 100, 200);
+        graphics.setColor(Color.BLACK);
+        graphics.drawString("12:0" + minute, 230, 14);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.trustwallet.utils;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.FileSystemResultsWriter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tests for {@link ScreenshotWriter} downscaling and writing one capture to Allure and the screenshot store.
+ */
+public class ScreenshotWriterTest {
+
+    @Test
+    public void writesOneCaptureToAllureAndStore() throws Exception {
+        Path results = Files.createTempDirectory("allure-results");
+        ScreenshotStore store = new ScreenshotStore(Files.createTempDirectory("screenshots"), 3, Duration.ofDays(1));
+        ScreenshotWriter writer = new ScreenshotWriter(1, 1, 50,
+                new AllureLifecycle(new FileSystemResultsWriter(results)), store);
+
+        Path blob = writer.submit("Screenshot", screenshot(400, 800), "failingTest", "dev").get(10, TimeUnit.SECONDS);
+
+        BufferedImage written = ImageIO.read(blob.toFile());
+        Assert.assertEquals(written.getWidth(), 200);
+        Assert.assertEquals(written.getHeight(), 400);
+        Assert.assertEquals(Files.readAllLines(store.manifestPath("failingTest")).size(), 1);
+        try (Stream<Path> attachments = Files.list(results)) {
+            Assert.assertEquals(attachments.filter(p -> p.toString().endsWith("-attachment.png")).count(), 1);
+        }
+    }
+
+    @Test
+    public void waitsForQueuedScreenshots() throws Exception {
+        ScreenshotStore store = new ScreenshotStore(Files.createTempDirectory("screenshots"), -1, Duration.ofDays(1));
+        ScreenshotWriter writer = new ScreenshotWriter(1, 1, 100,
+                new AllureLifecycle(new FileSystemResultsWriter(Files.createTempDirectory("allure-results"))), store);
+
+        // More submissions than the queue holds, so some are written by the submitting thread
+        for (int i = 0; i < 5; i++) {
+            writer.submit(null, screenshot(100, 200 + i), "test" + i, "dev");
+        }
+
+        Assert.assertTrue(writer.awaitIdle(Duration.ofSeconds(10)));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(Files.exists(store.manifestPath("test" + i)));
+        }
+    }
+
+    private static String screenshot(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+}
@@ -0,0 +1,91 @@
+package com.trustwallet.utils;
+
+import com.trustwallet.driver.DriverFactory;
+import com.trustwallet.driver.DriverKey;
+import com.trustwallet.driver.FlightRecorder;
+import com.trustwallet.simulator.FakeAppiumServer;
+import com.trustwallet.simulator.LatencyProfile;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileBy;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Tests that {@link Scroller} resolves translatable locators in one server-side request and bounds client swipes.
+ */
+public class ScrollerTest {
+    private static final By TERMS_TEXT = By.id("com.wallet.crypto.trustapp:id/terms_text");
+
+    private FakeAppiumServer server;
+    private AppiumDriver<MobileElement> driver;
+    private FlightRecorder recorder;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        server = new FakeAppiumServer(LatencyProfile.none(), Duration.ZERO);
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        driver = DriverFactory.android().create(new DriverKey(server.getUrl(), capabilities));
+        recorder = FlightRecorder.of(driver);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        driver.quit();
+        server.close();
+    }
+
+    @Test
+    public void translatesLocatorsToUiSelectors() {
+        Assert.assertEquals(Scroller.selectorOf(TERMS_TEXT),
+                "new UiSelector().resourceId(\"com.wallet.crypto.trustapp:id/terms_text\")");
+        Assert.assertEquals(Scroller.selectorOf(MobileBy.AccessibilityId("Say \"hi\"")),
+                "new UiSelector().description(\"Say \\\"hi\\\"\")");
+        Assert.assertNull(Scroller.selectorOf(By.xpath("//*[@text='Next']")));
+    }
+
+    @Test
+    public void scrollsServerSideInOneRequest() {
+        recorder.clear();
+        Scroller.Result result = new Scroller(driver).scrollTo(TERMS_TEXT);
+
+        Assert.assertTrue(result.isServerSide());
+        Assert.assertEquals(result.getSwipes(), 0);
+        Assert.assertEquals(result.getElement().getText(), "I agree to the Terms of Service");
+        Assert.assertEquals(count("findElements"), 1, String.join("\n", recorder.dump()));
+        Assert.assertTrue(String.join("\n", recorder.dump()).contains("UiScrollable"));
+    }
+
+    @Test
+    public void fallsBackToBoundedSwipes() {
+        recorder.clear();
+        try {
+            new Scroller(driver).scrollTo(By.xpath("//*[@text='Not in the list']"));
+            Assert.fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            Assert.assertTrue(e.getMessage().contains("5 swipe(s)"), e.getMessage());
+        }
+        Assert.assertEquals(count("actions"), 5, String.join("\n", recorder.dump()));
+    }
+
+    @Test
+    public void reportsNoSwipesWhenAlreadyOnScreen() {
+        Scroller.Result result = new Scroller(driver).scrollTo(By.xpath("//*[@text='Next']"));
+
+        Assert.assertFalse(result.isServerSide());
+        Assert.assertEquals(result.getSwipes(), 0);
+    }
+
+    private long count(String command) {
+        return recorder.dump().stream().filter(line -> line.startsWith("#") && line.contains("ms " + command + " "))
+                .count();
+    }
+}
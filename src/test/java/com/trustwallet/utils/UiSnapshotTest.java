@@ -0,0 +1,43 @@
+package com.trustwallet.utils;
+
+import org.openqa.selenium.Rectangle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests for {@link UiSnapshot} page source parsing and indexing.
+ */
+public class UiSnapshotTest {
+    private static final String SEED_WORD = "com.wallet.crypto.trustapp:id/seed_word";
+    private static final String SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<hierarchy rotation=\"0\">"
+            + "<android.widget.FrameLayout class=\"android.widget.FrameLayout\" bounds=\"[0,0][1080,2340]\">"
+            + "<android.widget.TextView class=\"android.widget.TextView\" resource-id=\"" + SEED_WORD + "\""
+            + " text=\"abandon\" bounds=\"[40,300][520,400]\" enabled=\"true\" displayed=\"true\"/>"
+            + "<android.widget.TextView class=\"android.widget.TextView\" resource-id=\"" + SEED_WORD + "\""
+            + " text=\"ability\" bounds=\"[560,300][1040,400]\" enabled=\"true\" displayed=\"true\"/>"
+            + "<android.widget.CheckBox class=\"android.widget.CheckBox\""
+            + " resource-id=\"com.wallet.crypto.trustapp:id/terms_checkbox\" checked=\"true\" enabled=\"false\"/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+
+    @Test
+    public void readsTextsInDocumentOrder() {
+        UiSnapshot snapshot = UiSnapshot.parse(null, SOURCE);
+        Assert.assertEquals(snapshot.textsById(SEED_WORD), Arrays.asList("abandon", "ability"));
+        Assert.assertEquals(snapshot.findByText("ability").size(), 1);
+        Assert.assertEquals(snapshot.findByClass("android.widget.TextView").size(), 2);
+    }
+
+    @Test
+    public void parsesBoundsAndFlags() {
+        UiSnapshot snapshot = UiSnapshot.parse(null, SOURCE);
+        Assert.assertEquals(snapshot.boundsById(SEED_WORD).get(1), new Rectangle(560, 300, 100, 480));
+        Assert.assertTrue(snapshot.isChecked("com.wallet.crypto.trustapp:id/terms_checkbox"));
+        Assert.assertFalse(snapshot.isEnabled("com.wallet.crypto.trustapp:id/terms_checkbox"));
+        Assert.assertTrue(snapshot.isDisplayed(SEED_WORD));
+        Assert.assertTrue(snapshot.findById("com.wallet.crypto.trustapp:id/missing").isEmpty());
+    }
+}